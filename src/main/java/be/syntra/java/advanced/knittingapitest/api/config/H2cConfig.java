@@ -0,0 +1,34 @@
+package be.syntra.java.advanced.knittingapitest.api.config;
+
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cleartext HTTP/2 (h2c) on the embedded Tomcat, switched on with {@code knitting.api.h2c=true}.
+ * Clients that ask for it, with an {@code Upgrade: h2c} header, get HTTP/2 on the same port;
+ * all other clients keep being served HTTP/1.1.
+ *
+ * Tomcat executes only a few streams of a connection at a time by default,
+ * which would serialize the requests multiplexed over a connection;
+ * both limits are raised to {@code knitting.api.h2c.max-concurrent-streams}.
+ */
+@Configuration
+@ConditionalOnProperty("knitting.api.h2c")
+public class H2cConfig {
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> h2cCustomizer(
+            @Value("${knitting.api.h2c.max-concurrent-streams:200}") int maxConcurrentStreams) {
+        return factory -> factory.addConnectorCustomizers(connector -> {
+            Http2Protocol http2 = new Http2Protocol();
+            http2.setMaxConcurrentStreams(maxConcurrentStreams);
+            http2.setMaxConcurrentStreamExecution(maxConcurrentStreams);
+            connector.addUpgradeProtocol(http2);
+        });
+    }
+}
@@ -0,0 +1,72 @@
+package be.syntra.java.advanced.knittingapitest.api.controller;
+
+import be.syntra.java.advanced.knittingapitest.api.model.Member;
+import be.syntra.java.advanced.knittingapitest.api.model.MemberList;
+import be.syntra.java.advanced.knittingapitest.api.model.MemberListItem;
+import be.syntra.java.advanced.knittingapitest.api.repository.MemberRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import javax.validation.Valid;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory reference implementation of the knitting API members resource.
+ * Authorization per role is configured in {@link be.syntra.java.advanced.knittingapitest.api.security.SecurityConfig}.
+ */
+@RestController
+@RequestMapping("/members")
+@RequiredArgsConstructor
+public class MemberController {
+    private final MemberRepository memberRepository;
+
+    @GetMapping
+    public MemberList getMembers() {
+        return new MemberList(
+                memberRepository.findAll().stream()
+                        .map(MemberListItem::of)
+                        .collect(Collectors.toList())
+        );
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Member> getMember(@PathVariable long id) {
+        return ResponseEntity.of(memberRepository.findById(id));
+    }
+
+    @PostMapping
+    public ResponseEntity<Void> createMember(@Valid @RequestBody Member member, UriComponentsBuilder uriBuilder) {
+        long id = memberRepository.create(member);
+        return ResponseEntity
+                .created(uriBuilder.path("/members/{id}").buildAndExpand(id).toUri())
+                .build();
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<Void> updateMember(@PathVariable long id, @Valid @RequestBody Member member) {
+        if (member.getId() != null && member.getId() != id) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!memberRepository.update(id, member)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteMember(@PathVariable long id) {
+        if (!memberRepository.delete(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
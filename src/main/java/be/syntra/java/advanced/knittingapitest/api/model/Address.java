@@ -0,0 +1,28 @@
+package be.syntra.java.advanced.knittingapitest.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Positive;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Address {
+    @NotBlank
+    private String street;
+    @Positive
+    private int number;
+    private String poBox;
+    @Min(1)
+    @Max(9999)
+    private int zipCode;
+    @NotBlank
+    private String city;
+}
@@ -0,0 +1,10 @@
+package be.syntra.java.advanced.knittingapitest.api.model;
+
+public enum KnittingStitch {
+    GARTER,
+    STOCKINETTE,
+    RIB,
+    SEED,
+    BEGINNER_LACE,
+    CABLE
+}
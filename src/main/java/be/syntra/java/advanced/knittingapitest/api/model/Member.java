@@ -0,0 +1,46 @@
+package be.syntra.java.advanced.knittingapitest.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Email;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Past;
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * A member of the knitting club, as stored by the API and returned by {@code GET /members/{id}}.
+ * Instances are never modified once stored: updates replace the stored instance.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Member {
+    private Long id;
+    @NotBlank
+    private String firstName;
+    @NotBlank
+    private String lastName;
+    @NotBlank
+    @Email
+    private String email;
+    @NotBlank
+    private String phoneNumber;
+    @NotNull
+    @Past
+    private LocalDate birthDate;
+    @NotNull
+    private Role role;
+    @NotEmpty
+    private Set<KnittingStitch> knownStitches;
+    @NotNull
+    @Valid
+    private Address address;
+}
@@ -0,0 +1,12 @@
+package be.syntra.java.advanced.knittingapitest.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class MemberList {
+    private List<MemberListItem> members;
+}
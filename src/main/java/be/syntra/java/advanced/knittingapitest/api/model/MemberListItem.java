@@ -0,0 +1,29 @@
+package be.syntra.java.advanced.knittingapitest.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Summary of a member, as returned by {@code GET /members}.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+public class MemberListItem {
+    private Long id;
+    private String name;
+    private String email;
+    private int knownStitches;
+    private Role role;
+
+    public static MemberListItem of(Member member) {
+        return MemberListItem.builder()
+                .id(member.getId())
+                .name(member.getFirstName() + " " + member.getLastName())
+                .email(member.getEmail())
+                .knownStitches(member.getKnownStitches().size())
+                .role(member.getRole())
+                .build();
+    }
+}
@@ -0,0 +1,9 @@
+package be.syntra.java.advanced.knittingapitest.api.model;
+
+public enum Role {
+    PRESIDENT,
+    VICE_PRESIDENT,
+    SECRETARY,
+    TREASURER,
+    MEMBER
+}
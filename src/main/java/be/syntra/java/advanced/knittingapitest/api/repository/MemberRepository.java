@@ -0,0 +1,70 @@
+package be.syntra.java.advanced.knittingapitest.api.repository;
+
+import be.syntra.java.advanced.knittingapitest.api.model.Member;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory member store, indexed by id.
+ *
+ * Backed by a {@link ConcurrentSkipListMap} so reads and writes never block each other
+ * and members are always listed in ascending id order.
+ * Stored members are never mutated: updates swap in a new instance.
+ */
+@Repository
+public class MemberRepository {
+    private final ConcurrentNavigableMap<Long, Member> members = new ConcurrentSkipListMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public Collection<Member> findAll() {
+        return members.values();
+    }
+
+    public Optional<Member> findById(long id) {
+        return Optional.ofNullable(members.get(id));
+    }
+
+    /**
+     * Stores a new member under a freshly generated id.
+     *
+     * @param member the member to store, its id is overwritten
+     * @return the generated id
+     */
+    public long create(Member member) {
+        long id = sequence.incrementAndGet();
+        member.setId(id);
+        members.put(id, member);
+        return id;
+    }
+
+    /**
+     * Replaces an existing member.
+     *
+     * @param id     the id of the member to replace
+     * @param member the new details, its id is overwritten
+     * @return false when no member exists with the given id
+     */
+    public boolean update(long id, Member member) {
+        member.setId(id);
+        return members.replace(id, member) != null;
+    }
+
+    /**
+     * Deletes an existing member.
+     *
+     * @param id the id of the member to delete
+     * @return false when no member exists with the given id
+     */
+    public boolean delete(long id) {
+        return members.remove(id) != null;
+    }
+
+    public int count() {
+        return members.size();
+    }
+}
@@ -0,0 +1,57 @@
+package be.syntra.java.advanced.knittingapitest.api.security;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+
+/**
+ * Basic authentication with the accounts the test suite uses:
+ * <ul>
+ *     <li>{@code user}: may read members</li>
+ *     <li>{@code admin}: may also create and update members</li>
+ *     <li>{@code super-admin}: may also delete members</li>
+ * </ul>
+ * Passwords are stored in plain text so authentication adds no hashing cost to each request.
+ * The encoder is set explicitly: with the default delegating encoder,
+ * {@code {noop}} passwords are upgraded to bcrypt on first login, which makes every later request hash.
+ */
+@Configuration
+@EnableWebSecurity
+public class SecurityConfig extends WebSecurityConfigurerAdapter {
+    private static final String USER = "USER";
+    private static final String ADMIN = "ADMIN";
+    private static final String SUPER_ADMIN = "SUPER_ADMIN";
+
+    @Override
+    @SuppressWarnings("deprecation")
+    protected void configure(AuthenticationManagerBuilder auth) throws Exception {
+        auth.inMemoryAuthentication()
+                .passwordEncoder(NoOpPasswordEncoder.getInstance())
+                .withUser("user").password("password").roles(USER)
+                .and()
+                .withUser("admin").password("admin").roles(USER, ADMIN)
+                .and()
+                .withUser("super-admin").password("super-admin").roles(USER, ADMIN, SUPER_ADMIN);
+    }
+
+    @Override
+    protected void configure(HttpSecurity http) throws Exception {
+        http
+                .csrf().disable()
+                .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                .and()
+                .httpBasic()
+                .and()
+                .authorizeRequests()
+                .antMatchers(HttpMethod.GET, "/members/**").hasRole(USER)
+                .antMatchers(HttpMethod.POST, "/members").hasRole(ADMIN)
+                .antMatchers(HttpMethod.PUT, "/members/*").hasRole(ADMIN)
+                .antMatchers(HttpMethod.DELETE, "/members/*").hasRole(SUPER_ADMIN)
+                .anyRequest().authenticated();
+    }
+}
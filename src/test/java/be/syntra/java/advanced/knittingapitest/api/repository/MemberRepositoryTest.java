@@ -0,0 +1,79 @@
+package be.syntra.java.advanced.knittingapitest.api.repository;
+
+import be.syntra.java.advanced.knittingapitest.api.model.Member;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MemberRepositoryTest {
+    private final MemberRepository memberRepository = new MemberRepository();
+
+    /**
+     * Test that concurrently created members all get a distinct id
+     */
+    @Test
+    void givenConcurrentWriters_whenCreateMembers_thenIdsShouldBeUnique() throws Exception {
+        // given
+        int writers = 8;
+        int membersPerWriter = 1_000;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+
+        // when
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < writers; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < membersPerWriter; j++) {
+                    ids.add(memberRepository.create(new Member()));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // then
+        assertEquals(writers * membersPerWriter, ids.size());
+        assertEquals(writers * membersPerWriter, memberRepository.count());
+    }
+
+    /**
+     * Test that members are listed in ascending id order
+     */
+    @Test
+    void givenMembers_whenFindAll_thenShouldReturnMembersInIdOrder() {
+        // given
+        memberRepository.create(new Member());
+        memberRepository.create(new Member());
+        memberRepository.create(new Member());
+
+        // when
+        List<Member> members = new ArrayList<>(memberRepository.findAll());
+
+        // then
+        assertEquals(List.of(1L, 2L, 3L), List.of(members.get(0).getId(), members.get(1).getId(), members.get(2).getId()));
+    }
+
+    /**
+     * Test that update and delete report a missing member
+     */
+    @Test
+    void givenNoMember_whenUpdateOrDelete_thenShouldReturnFalse() {
+        // given
+        long id = Long.MAX_VALUE;
+
+        // when - then
+        assertFalse(memberRepository.update(id, new Member()));
+        assertFalse(memberRepository.delete(id));
+        assertTrue(memberRepository.findById(id).isEmpty());
+    }
+}
@@ -0,0 +1,88 @@
+package be.syntra.java.advanced.knittingapitest.benchmark;
+
+import be.syntra.java.advanced.knittingapitest.dto.Member;
+import be.syntra.java.advanced.knittingapitest.dto.MemberList;
+import be.syntra.java.advanced.knittingapitest.util.MemberJsonCodec;
+import be.syntra.java.advanced.knittingapitest.util.ObjectMappers;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+
+import java.io.IOException;
+
+/**
+ * The ways of mapping the dto's to and from JSON that the benchmarks compare.
+ */
+public enum JsonCodec {
+    /**
+     * The object mapper the tests use
+     */
+    DEFAULT(ObjectMappers.create()),
+    /**
+     * The object mapper with generated (bytecode) accessors instead of reflection
+     */
+    AFTERBURNER(ObjectMappers.create().registerModule(new AfterburnerModule())),
+    /**
+     * The hand-written streaming codec
+     */
+    STREAMING(null) {
+        private final JsonFactory factory = new JsonFactory();
+
+        @Override
+        byte[] writeMember(Member member) throws IOException {
+            ByteArrayBuilder bytes = new ByteArrayBuilder();
+            try (JsonGenerator generator = factory.createGenerator(bytes)) {
+                MemberJsonCodec.writeMember(generator, member);
+            }
+            return bytes.toByteArray();
+        }
+
+        @Override
+        Member readMember(byte[] json) throws IOException {
+            try (JsonParser parser = factory.createParser(json)) {
+                return MemberJsonCodec.readMember(parser);
+            }
+        }
+
+        @Override
+        byte[] writeMemberList(MemberList memberList) throws IOException {
+            ByteArrayBuilder bytes = new ByteArrayBuilder();
+            try (JsonGenerator generator = factory.createGenerator(bytes)) {
+                MemberJsonCodec.writeMemberList(generator, memberList);
+            }
+            return bytes.toByteArray();
+        }
+
+        @Override
+        MemberList readMemberList(byte[] json) throws IOException {
+            try (JsonParser parser = factory.createParser(json)) {
+                return MemberJsonCodec.readMemberList(parser);
+            }
+        }
+    };
+
+    private final ObjectMapper objectMapper;
+
+    JsonCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    byte[] writeMember(Member member) throws IOException {
+        return objectMapper.writeValueAsBytes(member);
+    }
+
+    Member readMember(byte[] json) throws IOException {
+        return objectMapper.readValue(json, Member.class);
+    }
+
+    byte[] writeMemberList(MemberList memberList) throws IOException {
+        return objectMapper.writeValueAsBytes(memberList);
+    }
+
+    MemberList readMemberList(byte[] json) throws IOException {
+        return objectMapper.readValue(json, MemberList.class);
+    }
+}
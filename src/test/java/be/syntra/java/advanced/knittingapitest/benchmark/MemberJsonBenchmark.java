@@ -0,0 +1,51 @@
+package be.syntra.java.advanced.knittingapitest.benchmark;
+
+import be.syntra.java.advanced.knittingapitest.dto.Member;
+import be.syntra.java.advanced.knittingapitest.util.MemberGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * (De)serialization of a single member, as in the member detail and create/update calls.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MemberJsonBenchmark {
+    @Param({"DEFAULT", "AFTERBURNER", "STREAMING"})
+    private JsonCodec codec;
+
+    private Member member;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        member = new MemberGenerator(1).member(1);
+        json = codec.writeMember(member);
+    }
+
+    @Benchmark
+    public byte[] serializeMember() throws IOException {
+        return codec.writeMember(member);
+    }
+
+    @Benchmark
+    public Member deserializeMember() throws IOException {
+        return codec.readMember(json);
+    }
+}
@@ -0,0 +1,66 @@
+package be.syntra.java.advanced.knittingapitest.benchmark;
+
+import be.syntra.java.advanced.knittingapitest.dto.Member;
+import be.syntra.java.advanced.knittingapitest.dto.MemberList;
+import be.syntra.java.advanced.knittingapitest.dto.MemberListItem;
+import be.syntra.java.advanced.knittingapitest.util.MemberGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * (De)serialization of the member list, as in the list calls, at several list sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MemberListJsonBenchmark {
+    @Param({"DEFAULT", "AFTERBURNER", "STREAMING"})
+    private JsonCodec codec;
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private MemberList memberList;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        MemberGenerator generator = new MemberGenerator(1);
+        List<MemberListItem> members = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Member member = generator.member(i);
+            members.add(new MemberListItem((long) i + 1, member.getFirstName() + " " + member.getLastName(),
+                    member.getEmail(), member.getKnownStitches().size()));
+        }
+        memberList = new MemberList();
+        memberList.setMembers(members);
+        json = codec.writeMemberList(memberList);
+    }
+
+    @Benchmark
+    public byte[] serializeMemberList() throws IOException {
+        return codec.writeMemberList(memberList);
+    }
+
+    @Benchmark
+    public MemberList deserializeMemberList() throws IOException {
+        return codec.readMemberList(json);
+    }
+}
@@ -0,0 +1,91 @@
+package be.syntra.java.advanced.knittingapitest.benchmark;
+
+import be.syntra.java.advanced.knittingapitest.dto.Member;
+import be.syntra.java.advanced.knittingapitest.dto.MemberList;
+import be.syntra.java.advanced.knittingapitest.util.MemberGenerator;
+import be.syntra.java.advanced.knittingapitest.util.MemberSchemas;
+import be.syntra.java.advanced.knittingapitest.util.ObjectMappers;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schema validation of the member list response, against binding it with the object mapper the clients use
+ * and against only tokenizing it, the lower bound of any single pass over the bytes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MemberListSchemaBenchmark {
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private final ObjectMapper objectMapper = ObjectMappers.create();
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        MemberGenerator generator = new MemberGenerator(1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.writeStartObject();
+            json.writeArrayFieldStart("members");
+            for (int i = 0; i < size; i++) {
+                Member member = generator.member(i);
+                json.writeStartObject();
+                json.writeNumberField("id", i + 1);
+                json.writeStringField("name", member.getFirstName() + " " + member.getLastName());
+                json.writeStringField("email", member.getEmail());
+                json.writeNumberField("knownStitches", member.getKnownStitches().size());
+                json.writeStringField("role", member.getRole().name());
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        this.json = out.toByteArray();
+        if (!MemberSchemas.MEMBER_LIST.validate(this.json).isEmpty()) {
+            throw new IllegalStateException("The generated member list is not valid");
+        }
+    }
+
+    @Benchmark
+    public List<String> validate() {
+        return MemberSchemas.MEMBER_LIST.validate(json);
+    }
+
+    @Benchmark
+    public int tokenize() throws IOException {
+        int tokens = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            while (parser.nextToken() != null) {
+                tokens++;
+            }
+        }
+        return tokens;
+    }
+
+    @Benchmark
+    public MemberList deserialize() throws IOException {
+        return objectMapper.readValue(json, MemberList.class);
+    }
+}
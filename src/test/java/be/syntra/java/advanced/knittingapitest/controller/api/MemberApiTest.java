@@ -1,19 +1,16 @@
 package be.syntra.java.advanced.knittingapitest.controller.api;
 
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.context.SpringBootTest;
+import be.syntra.java.advanced.knittingapitest.util.ApiClients;
+import be.syntra.java.advanced.knittingapitest.util.ApiUser;
+import be.syntra.java.advanced.knittingapitest.util.MemberNamespace;
 import org.springframework.boot.test.web.client.TestRestTemplate;
-import org.springframework.test.context.junit.jupiter.SpringExtension;
 
-@ExtendWith(SpringExtension.class)
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@MemberNamespace
 public abstract class MemberApiTest {
 
-    @Autowired
-    protected TestRestTemplate restTemplate;
+    protected TestRestTemplate restTemplate = ApiClients.restTemplate();
 
-    protected void initRestTemplate(String user, String password) {
-        restTemplate = restTemplate.withBasicAuth(user, password);
+    protected void initRestTemplate(ApiUser user) {
+        restTemplate = ApiClients.restTemplate(user);
     }
 }
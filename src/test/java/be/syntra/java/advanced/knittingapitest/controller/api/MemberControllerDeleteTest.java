@@ -1,15 +1,12 @@
 package be.syntra.java.advanced.knittingapitest.controller.api;
 
+import be.syntra.java.advanced.knittingapitest.util.ApiUser;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import static be.syntra.java.advanced.knittingapitest.util.TestHelper.*;
 
@@ -44,7 +41,7 @@ public class MemberControllerDeleteTest extends MemberApiTest {
     void givenAuthenticatedAsUser_whenDeleteMember_thenShouldReturnForbidden() {
         // given
         givenAtLeastOneMemberExists();
-        initRestTemplate("user", "password");
+        initRestTemplate(ApiUser.USER);
 
         // when
         ResponseEntity<String> response = restTemplate.exchange(
@@ -66,11 +63,11 @@ public class MemberControllerDeleteTest extends MemberApiTest {
     void givenAuthenticatedAsSuperAdmin_whenDeleteExistingMember_thenShouldReturnNoContent() {
         // given
         givenAtLeastOneMemberExists();
-        initRestTemplate("super-admin", "super-admin");
+        initRestTemplate(ApiUser.SUPER_ADMIN);
 
         // when
         ResponseEntity<String> response = restTemplate.exchange(
-                RESOURCE_URL + "/" + anExistingId(),
+                RESOURCE_URL + "/" + anExclusiveId(),
                 HttpMethod.DELETE,
                 null,
                 String.class
@@ -88,7 +85,7 @@ public class MemberControllerDeleteTest extends MemberApiTest {
     void givenAuthenticatedAsSuperAdmin_whenDeleteNonExistingMember_thenShouldReturn404() {
         // given
         final long nonExistingId = Long.MAX_VALUE;
-        initRestTemplate("super-admin", "super-admin");
+        initRestTemplate(ApiUser.SUPER_ADMIN);
 
         // when
         ResponseEntity<String> response = restTemplate.exchange(
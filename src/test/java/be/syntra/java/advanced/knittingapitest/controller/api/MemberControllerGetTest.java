@@ -3,6 +3,8 @@ package be.syntra.java.advanced.knittingapitest.controller.api;
 import be.syntra.java.advanced.knittingapitest.dto.Address;
 import be.syntra.java.advanced.knittingapitest.dto.Member;
 import be.syntra.java.advanced.knittingapitest.dto.MemberList;
+import be.syntra.java.advanced.knittingapitest.util.ApiUser;
+import be.syntra.java.advanced.knittingapitest.util.LatencyBudget;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -31,13 +33,14 @@ public class MemberControllerGetTest extends MemberApiTest {
 
     /**
      * Test that the backend returns a MemberList with at least one member
-     * when we are authenticated as user
+     * when we are authenticated as user, fast enough
      */
     @Test
+    @LatencyBudget(percentile = 90, maxMillis = 250, repetitions = 50)
     void givenAuthenticatedAsUser_whenGetMembers_thenShouldReturnMembers() {
         // given
         givenAtLeastOneMemberExists();
-        initRestTemplate("user", "password");
+        initRestTemplate(ApiUser.USER);
 
         // when
         ResponseEntity<MemberList> response = restTemplate.getForEntity(RESOURCE_URL, MemberList.class);
@@ -55,7 +58,7 @@ public class MemberControllerGetTest extends MemberApiTest {
     void givenAuthenticatedAsAdmin_whenGetMembers_thenShouldReturnMembers() {
         // given
         givenAtLeastOneMemberExists();
-        initRestTemplate("admin", "admin");
+        initRestTemplate(ApiUser.ADMIN);
 
         // when
         ResponseEntity<MemberList> response = restTemplate.getForEntity(RESOURCE_URL, MemberList.class);
@@ -73,7 +76,7 @@ public class MemberControllerGetTest extends MemberApiTest {
     void givenAuthenticatedAsSuperAdmin_whenGetMembers_thenShouldReturnMembers() {
         // given
         givenAtLeastOneMemberExists();
-        initRestTemplate("super-admin", "super-admin");
+        initRestTemplate(ApiUser.SUPER_ADMIN);
 
         // when
         ResponseEntity<MemberList> response = restTemplate.getForEntity(RESOURCE_URL, MemberList.class);
@@ -108,7 +111,7 @@ public class MemberControllerGetTest extends MemberApiTest {
         // given
         givenAtLeastOneMemberExists();
         long id = anExistingId();
-        initRestTemplate("user", "password");
+        initRestTemplate(ApiUser.USER);
 
         // when
         ResponseEntity<Member> response = restTemplate.getForEntity(RESOURCE_URL + "/" + id, Member.class);
@@ -126,7 +129,7 @@ public class MemberControllerGetTest extends MemberApiTest {
         // given
         givenAtLeastOneMemberExists();
         long id = anExistingId();
-        initRestTemplate("admin", "admin");
+        initRestTemplate(ApiUser.ADMIN);
 
         // when
         ResponseEntity<Member> response = restTemplate.getForEntity(RESOURCE_URL + "/" + id, Member.class);
@@ -144,7 +147,7 @@ public class MemberControllerGetTest extends MemberApiTest {
         // given
         givenAtLeastOneMemberExists();
         long id = anExistingId();
-        initRestTemplate("super-admin", "super-admin");
+        initRestTemplate(ApiUser.SUPER_ADMIN);
 
         // when
         ResponseEntity<Member> response = restTemplate.getForEntity(RESOURCE_URL + "/" + id, Member.class);
@@ -162,7 +165,7 @@ public class MemberControllerGetTest extends MemberApiTest {
     void givenAuthenticatedAsUser_whenGetNonExistingMember_thenShouldReturn404() {
         // given
         long id = Long.MAX_VALUE;
-        initRestTemplate("user", "password");
+        initRestTemplate(ApiUser.USER);
 
         // when
         ResponseEntity<Member> response = restTemplate.getForEntity(RESOURCE_URL + "/" + id, Member.class);
@@ -1,6 +1,7 @@
 package be.syntra.java.advanced.knittingapitest.controller.api;
 
 import be.syntra.java.advanced.knittingapitest.dto.Member;
+import be.syntra.java.advanced.knittingapitest.util.ApiUser;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
@@ -33,7 +34,7 @@ public class MemberControllerPostTest extends MemberApiTest {
     @Test
     void givenAuthenticatedAsUser_whenPostMember_thenShouldReturnForbidden() {
         // given
-        initRestTemplate("user", "password");
+        initRestTemplate(ApiUser.USER);
         Member member = aMember();
 
         // when
@@ -51,7 +52,7 @@ public class MemberControllerPostTest extends MemberApiTest {
     @Test
     void givenAuthenticatedAsAdmin_whenPostMember_thenShouldReturnCreated() {
         // given
-        initRestTemplate("admin", "admin");
+        initRestTemplate(ApiUser.ADMIN);
         Member member = aMember();
 
         // when
@@ -72,7 +73,7 @@ public class MemberControllerPostTest extends MemberApiTest {
     @Test
     void givenAuthenticatedAsAdmin_whenPostInvalidMember_thenShouldReturnBadRequest() {
         // given
-        initRestTemplate("admin", "admin");
+        initRestTemplate(ApiUser.ADMIN);
         Member member = anInvalidMember();
 
         // when
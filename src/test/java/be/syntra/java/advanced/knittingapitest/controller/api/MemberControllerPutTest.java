@@ -1,26 +1,21 @@
 package be.syntra.java.advanced.knittingapitest.controller.api;
 
 import be.syntra.java.advanced.knittingapitest.dto.Member;
+import be.syntra.java.advanced.knittingapitest.util.ApiClients;
+import be.syntra.java.advanced.knittingapitest.util.ApiUser;
+import be.syntra.java.advanced.knittingapitest.util.MemberNamespace;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.*;
-import org.springframework.test.context.junit.jupiter.SpringExtension;
-
-import java.util.Base64;
 
 import static be.syntra.java.advanced.knittingapitest.util.TestHelper.*;
 
-@ExtendWith(SpringExtension.class)
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@MemberNamespace
 public class MemberControllerPutTest {
 
-    @Autowired
-    private TestRestTemplate restTemplate;
+    private final TestRestTemplate restTemplate = ApiClients.restTemplate();
     private long existingMemberId;
 
     @BeforeEach
@@ -66,7 +61,7 @@ public class MemberControllerPutTest {
                 HttpMethod.PUT,
                 new HttpEntity<>(
                         member,
-                        createBasicAuthHeader("user", "password")
+                        ApiUser.USER.getHeaders()
                 ),
                 String.class);
 
@@ -90,7 +85,7 @@ public class MemberControllerPutTest {
                 HttpMethod.PUT,
                 new HttpEntity<>(
                         member,
-                        createBasicAuthHeader("admin", "admin")
+                        ApiUser.ADMIN.getHeaders()
                 ),
                 String.class);
 
@@ -118,7 +113,7 @@ public class MemberControllerPutTest {
                 HttpMethod.PUT,
                 new HttpEntity<>(
                         member,
-                        createBasicAuthHeader("admin", "admin")
+                        ApiUser.ADMIN.getHeaders()
                 ),
                 String.class);
 
@@ -142,7 +137,7 @@ public class MemberControllerPutTest {
                 HttpMethod.PUT,
                 new HttpEntity<>(
                         member,
-                        createBasicAuthHeader("admin", "admin")
+                        ApiUser.ADMIN.getHeaders()
                 ),
                 String.class);
 
@@ -167,7 +162,7 @@ public class MemberControllerPutTest {
                 HttpMethod.PUT,
                 new HttpEntity<>(
                         member,
-                        createBasicAuthHeader("admin", "admin")
+                        ApiUser.ADMIN.getHeaders()
                 ),
                 String.class);
 
@@ -175,13 +170,4 @@ public class MemberControllerPutTest {
         Assertions.assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
     }
 
-    private HttpHeaders createBasicAuthHeader(String username, String password) {
-        return new HttpHeaders() {{
-            String auth = username + ":" + password;
-            String encoded = Base64.getEncoder().encodeToString(auth.getBytes());
-            String authHeader = "Basic " + encoded;
-            set("Authorization", authHeader);
-        }};
-    }
-
 }
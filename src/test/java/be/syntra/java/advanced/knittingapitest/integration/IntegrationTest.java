@@ -1,36 +1,26 @@
 package be.syntra.java.advanced.knittingapitest.integration;
 
 import be.syntra.java.advanced.knittingapitest.dto.Member;
-import be.syntra.java.advanced.knittingapitest.dto.MemberList;
 import be.syntra.java.advanced.knittingapitest.dto.MemberListItem;
+import be.syntra.java.advanced.knittingapitest.util.ApiClients;
+import be.syntra.java.advanced.knittingapitest.util.ApiUser;
+import be.syntra.java.advanced.knittingapitest.util.MemberListReader;
+import be.syntra.java.advanced.knittingapitest.util.MemberNamespace;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
-import org.springframework.test.context.junit.jupiter.SpringExtension;
-
-import javax.annotation.PostConstruct;
-import java.util.List;
 
+import static be.syntra.java.advanced.knittingapitest.util.TestHelper.RESOURCE_URL;
+import static be.syntra.java.advanced.knittingapitest.util.TestHelper.anExistingId;
 import static be.syntra.java.advanced.knittingapitest.util.TestHelper.givenAtLeastOneMemberExists;
 import static org.junit.jupiter.api.Assertions.*;
 
-@ExtendWith(SpringExtension.class)
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@MemberNamespace
 public class IntegrationTest {
-    private static final String RESOURCE_URL = "http://localhost:8080/members";
 
-    @Autowired
-    private TestRestTemplate restTemplate;
+    private TestRestTemplate restTemplate = ApiClients.restTemplate(ApiUser.ADMIN);
     private Member memberDetail;
     private MemberListItem member;
 
-    @PostConstruct
-    void init() {
-        restTemplate = restTemplate.withBasicAuth("admin", "admin");
-    }
-
     @Test
     void testIntegration() {
         givenAtLeastOneMemberExists();
@@ -44,20 +34,20 @@ public class IntegrationTest {
 
     private void testDeleteMember() {
         // given -- authenticate as admin
-        restTemplate = restTemplate.withBasicAuth("super-admin", "super-admin");
+        restTemplate = ApiClients.restTemplate(ApiUser.SUPER_ADMIN);
 
         // when -- delete member
         restTemplate.delete(RESOURCE_URL + "/" + member.getId());
-        List<MemberListItem> membersAfterDelete = getMembers();
+        boolean memberListedAfterDelete = memberList().anyMatch(item -> member.getId().equals(item.getId()));
 
         // then -- assert member deleted
-        assertFalse(membersAfterDelete.contains(member));
+        assertFalse(memberListedAfterDelete);
     }
 
     private void testGetMember() {
-        // given -- at least one member
-        List<MemberListItem> memberListItems = getMembers();
-        member = memberListItems.get(0);
+        // given -- at least one member, owned by this test
+        long id = anExistingId();
+        member = memberList().findFirst(item -> item.getId() == id).orElseThrow();
 
         // when -- get full member detail
         memberDetail = restTemplate.getForObject(RESOURCE_URL + "/" + member.getId(), Member.class);
@@ -72,7 +62,7 @@ public class IntegrationTest {
 
     private void testUpdateMemberDetails() {
         // given -- authenticated as super admin
-        restTemplate = restTemplate.withBasicAuth("admin", "admin");
+        restTemplate = ApiClients.restTemplate(ApiUser.ADMIN);
 
         // when -- update member details
         memberDetail.setFirstName("New first name");
@@ -89,8 +79,8 @@ public class IntegrationTest {
 
     // Helper methods
 
-    private List<MemberListItem> getMembers() {
-        return restTemplate.getForObject(RESOURCE_URL, MemberList.class).getMembers();
+    private MemberListReader memberList() {
+        return MemberListReader.of(RESOURCE_URL, ApiUser.USER);
     }
 
     private Member getMember(long id) {
@@ -0,0 +1,49 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import be.syntra.java.advanced.knittingapitest.dto.Member;
+import be.syntra.java.advanced.knittingapitest.dto.MemberList;
+import be.syntra.java.advanced.knittingapitest.util.ApiUser;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking client for the members endpoints that records the latency and status of every call,
+ * the asynchronous counterpart of {@link MemberApiClient}.
+ *
+ * Calls are lazy: nothing is sent until the returned {@link Mono} is subscribed to.
+ * A call that gets no response completes empty.
+ */
+public interface AsyncMemberApiClient extends AutoCloseable {
+
+    Mono<ResponseEntity<MemberList>> getMembers(ApiUser user);
+
+    Mono<ResponseEntity<Member>> getMember(ApiUser user, long id);
+
+    /**
+     * Post a member.
+     *
+     * @return the response, empty when no response was received
+     */
+    Mono<ResponseEntity<Void>> postMember(ApiUser user, Member member);
+
+    /**
+     * Create a member.
+     *
+     * @return the id of the created member, empty when the member could not be created
+     */
+    default Mono<Long> createMember(ApiUser user, Member member) {
+        return postMember(user, member)
+                .flatMap(response -> Mono.justOrEmpty(response.getHeaders().getLocation()))
+                .map(location -> {
+                    String path = location.getPath();
+                    return Long.parseLong(path.substring(path.lastIndexOf('/') + 1));
+                });
+    }
+
+    Mono<ResponseEntity<Void>> updateMember(ApiUser user, long id, Member member);
+
+    Mono<ResponseEntity<Void>> deleteMember(ApiUser user, long id);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,105 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import lombok.Getter;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The differences per endpoint between a run and a baseline run.
+ *
+ * The latencies of an endpoint regressed when they are significantly higher than in the baseline
+ * (one-sided {@link MannWhitney} test at the configured alpha) and its median or p99 latency is higher
+ * by at least the configured minimal increase. Its errors regressed when its error rate increased by more than allowed.
+ * Throughput is reported but not judged, as it depends on how the run was driven.
+ */
+@Getter
+public class BaselineComparison {
+    private final RunResult baseline;
+    private final RunResult current;
+    private final List<Difference> differences;
+
+    private BaselineComparison(RunResult baseline, RunResult current, List<Difference> differences) {
+        this.baseline = baseline;
+        this.current = current;
+        this.differences = differences;
+    }
+
+    /**
+     * Compare the endpoints that were called at least {@link BaselineConfig#getMinCalls()} times in both runs.
+     *
+     * @param baseline the run to compare with
+     * @param current  the run to compare
+     * @param config   the thresholds of a regression
+     * @return the comparison
+     */
+    public static BaselineComparison compare(RunResult baseline, RunResult current, BaselineConfig config) {
+        List<Difference> differences = new ArrayList<>();
+        for (Endpoint endpoint : Endpoint.values()) {
+            RunResult.RowResult baselineRow = baseline.row(endpoint.getTemplate());
+            RunResult.RowResult currentRow = current.row(endpoint.getTemplate());
+            if (baselineRow == null || currentRow == null
+                    || baselineRow.getCount() < config.getMinCalls() || currentRow.getCount() < config.getMinCalls()) {
+                continue;
+            }
+            double pValue = MannWhitney.pValueGreater(baselineRow.decodeHistogram(), currentRow.decodeHistogram());
+            boolean slower = currentRow.getP50() > baselineRow.getP50() * (1 + config.getMinIncrease())
+                    || currentRow.getP99() > baselineRow.getP99() * (1 + config.getMinIncrease());
+            boolean latencyRegression = pValue < config.getAlpha() && slower;
+            boolean errorRegression = currentRow.errorRate() - baselineRow.errorRate() > config.getMaxErrorRateIncrease();
+            differences.add(new Difference(endpoint.getTemplate(), baselineRow, currentRow, pValue, latencyRegression, errorRegression));
+        }
+        return new BaselineComparison(baseline, current, differences);
+    }
+
+    /**
+     * @return the differences of the endpoints that regressed
+     */
+    public List<Difference> getRegressions() {
+        return differences.stream().filter(Difference::isRegression).collect(Collectors.toList());
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder comparison = new StringBuilder()
+                .append(String.format("baseline: %s (%s)%n", baseline.getId(), baseline.getDescription()))
+                .append(String.format("current:  %s (%s)%n", current.getId(), current.getDescription()))
+                .append(String.format("%-24s %9s %9s %7s %9s %9s %7s %7s %7s %9s %9s %s%n",
+                        "endpoint", "p50 ms", "was", "change", "p99 ms", "was", "change", "err %", "was", "req/s", "p-value", ""));
+        differences.forEach(difference -> comparison.append(difference).append('\n'));
+        return comparison.toString();
+    }
+
+    @Value
+    public static class Difference {
+        String name;
+        RunResult.RowResult baseline;
+        RunResult.RowResult current;
+        /**
+         * One-sided p-value of the latencies being higher than in the baseline
+         */
+        double pValue;
+        boolean latencyRegression;
+        boolean errorRegression;
+
+        public boolean isRegression() {
+            return latencyRegression || errorRegression;
+        }
+
+        @Override
+        public String toString() {
+            String verdict = latencyRegression && errorRegression ? "SLOWER, MORE ERRORS"
+                    : latencyRegression ? "SLOWER" : errorRegression ? "MORE ERRORS" : "";
+            return String.format("%-24s %9.3f %9.3f %+6.1f%% %9.3f %9.3f %+6.1f%% %7.2f %7.2f %9.1f %9.2g %s",
+                    name, current.getP50(), baseline.getP50(), change(current.getP50(), baseline.getP50()),
+                    current.getP99(), baseline.getP99(), change(current.getP99(), baseline.getP99()),
+                    current.errorRate() * 100, baseline.errorRate() * 100, current.getThroughput(), pValue, verdict);
+        }
+
+        private static double change(double current, double baseline) {
+            return baseline == 0 ? 0 : (current / baseline - 1) * 100;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import be.syntra.java.advanced.knittingapitest.util.ApiUser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BaselineComparisonTest {
+
+    /**
+     * Test that a stored run reads back with its latencies, and is found by label, commit and as the latest run
+     */
+    @Test
+    void givenSavedRuns_whenFind_thenShouldReadThemBack(@TempDir Path directory) throws IOException {
+        // given
+        ResultStore store = new ResultStore(directory);
+        RunResult older = RunResult.of(report(1, 0), config("1111111", "1.3.0"));
+        older.setId("20260101-120000-1111111-1.3.0");
+        RunResult newer = RunResult.of(report(1, 0), config("2222222", "1.4.0"));
+        store.save(older);
+        store.save(newer);
+
+        // when
+        RunResult byLabel = store.find("1.3.0");
+        RunResult byCommit = store.find("2222");
+        RunResult latest = store.find(ResultStore.LATEST);
+
+        // then
+        assertEquals(older.getId(), byLabel.getId());
+        assertEquals(newer.getId(), byCommit.getId());
+        assertEquals(newer.getId(), latest.getId());
+        RunResult.RowResult row = byLabel.row(Endpoint.GET_MEMBER.getTemplate());
+        assertEquals(1000, row.getCount());
+        assertEquals(1000, row.decodeHistogram().getTotalCount());
+        assertThrows(IllegalArgumentException.class, () -> store.find("0.9.0"));
+    }
+
+    /**
+     * Test that only the endpoint that got slower is a regression
+     */
+    @Test
+    void givenSlowerGetMember_whenCompare_thenShouldOnlyReportGetMember() {
+        // given
+        BaselineConfig config = config("1111111", null);
+        RunResult baseline = RunResult.of(report(1, 0), config);
+        RunResult current = RunResult.of(report(1.3, 0), config);
+
+        // when
+        BaselineComparison comparison = BaselineComparison.compare(baseline, current, config);
+
+        // then
+        assertEquals(List.of(Endpoint.GET_MEMBER.getTemplate()), names(comparison.getRegressions()));
+        assertEquals(2, comparison.getDifferences().size());
+        assertTrue(comparison.toString().contains("SLOWER"), comparison.toString());
+    }
+
+    /**
+     * Test that more errors are a regression, and that the same latencies are not
+     */
+    @Test
+    void givenMoreErrors_whenCompare_thenShouldReportErrorsOnly() {
+        // given
+        BaselineConfig config = config("1111111", null);
+        RunResult baseline = RunResult.of(report(1, 0), config);
+        RunResult current = RunResult.of(report(1, 50), config);
+
+        // when
+        BaselineComparison comparison = BaselineComparison.compare(baseline, current, config);
+
+        // then
+        List<BaselineComparison.Difference> regressions = comparison.getRegressions();
+        assertEquals(List.of(Endpoint.GET_MEMBER.getTemplate()), names(regressions));
+        assertTrue(regressions.get(0).isErrorRegression());
+        assertFalse(regressions.get(0).isLatencyRegression());
+    }
+
+    /**
+     * A run of 1000 calls to GET /members/{id} and 1000 to GET /members; only GET /members/{id} is slowed down and fails
+     */
+    private static LoadReport report(double getMemberFactor, int getMemberErrors) {
+        Random random = new Random(21);
+        LatencyStats stats = new LatencyStats();
+        for (int i = 0; i < 1000; i++) {
+            int status = i < getMemberErrors ? 500 : 200;
+            stats.record(Endpoint.GET_MEMBER, ApiUser.USER, status, (long) (getMemberFactor * latencyNanos(random)));
+            stats.record(Endpoint.GET_MEMBERS, ApiUser.USER, 200, latencyNanos(random));
+        }
+        return new LoadReport("test run", stats, 10_000_000_000L, 0);
+    }
+
+    private static long latencyNanos(Random random) {
+        return (long) (2_000_000 * Math.exp(0.5 * random.nextGaussian()));
+    }
+
+    private static BaselineConfig config(String commit, String label) {
+        return BaselineConfig.builder().commit(commit).label(label).build();
+    }
+
+    private static List<String> names(List<BaselineComparison.Difference> differences) {
+        return differences.stream().map(BaselineComparison.Difference::getName).collect(Collectors.toList());
+    }
+}
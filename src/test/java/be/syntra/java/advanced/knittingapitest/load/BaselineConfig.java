@@ -0,0 +1,128 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration of keeping the results of load runs in a {@link ResultStore} and comparing them with a baseline,
+ * see {@link BaselineComparison}.
+ */
+@Getter
+@Builder
+public class BaselineConfig {
+    @Builder.Default
+    private final Path directory = Paths.get("perf-results");
+    /**
+     * Whether to keep the results of the run
+     */
+    @Builder.Default
+    private final boolean save = true;
+    /**
+     * The commit of the harness, the commit of the working directory by default
+     */
+    @Builder.Default
+    private final String commit = "unknown";
+    /**
+     * Label to keep with the results, e.g. the release of the API under test
+     */
+    private final String label;
+    /**
+     * The run to compare with, see {@link ResultStore#find(String)}; null to not compare
+     */
+    private final String baseline;
+    /**
+     * The stored run to compare with the baseline without running, see {@link ResultStore#find(String)}
+     */
+    @Builder.Default
+    private final String current = ResultStore.LATEST;
+    /**
+     * Significance level of the test that latencies are higher than in the baseline
+     */
+    @Builder.Default
+    private final double alpha = 0.01;
+    /**
+     * Minimal relative increase of the median or p99 latency for a significant difference to count as a regression,
+     * so that differences too small to matter do not fail a run with many calls
+     */
+    @Builder.Default
+    private final double minIncrease = 0.05;
+    /**
+     * Maximal increase of the error rate, e.g. 0.01 for one percentage point
+     */
+    @Builder.Default
+    private final double maxErrorRateIncrease = 0.01;
+    /**
+     * Minimal number of calls of an endpoint in both runs to compare it
+     */
+    @Builder.Default
+    private final long minCalls = 20;
+
+    /**
+     * Read the configuration from system properties:
+     * {@code results.dir}, {@code results.save}, {@code results.commit}, {@code results.label}, {@code results.baseline},
+     * {@code results.current}, {@code results.alpha}, {@code results.minIncrease} and {@code results.maxErrorRateIncrease}.
+     *
+     * @return the configuration, with defaults for missing properties
+     */
+    public static BaselineConfig fromSystemProperties() {
+        BaselineConfigBuilder builder = BaselineConfig.builder()
+                .label(System.getProperty("results.label"))
+                .baseline(System.getProperty("results.baseline"));
+        String directory = System.getProperty("results.dir");
+        if (directory != null) {
+            builder.directory(Paths.get(directory));
+        }
+        String save = System.getProperty("results.save");
+        if (save != null) {
+            builder.save(Boolean.parseBoolean(save));
+        }
+        String commit = System.getProperty("results.commit");
+        builder.commit(commit != null ? commit : gitCommit());
+        String current = System.getProperty("results.current");
+        if (current != null) {
+            builder.current(current);
+        }
+        String alpha = System.getProperty("results.alpha");
+        if (alpha != null) {
+            builder.alpha(Double.parseDouble(alpha));
+        }
+        String minIncrease = System.getProperty("results.minIncrease");
+        if (minIncrease != null) {
+            builder.minIncrease(Double.parseDouble(minIncrease));
+        }
+        String maxErrorRateIncrease = System.getProperty("results.maxErrorRateIncrease");
+        if (maxErrorRateIncrease != null) {
+            builder.maxErrorRateIncrease(Double.parseDouble(maxErrorRateIncrease));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Get the abbreviated commit of the working directory.
+     *
+     * @return the commit, or {@code unknown} when it is not a git working directory
+     */
+    private static String gitCommit() {
+        try {
+            Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            String commit;
+            try (InputStream output = git.getInputStream()) {
+                commit = new String(output.readAllBytes(), StandardCharsets.UTF_8).trim();
+            }
+            boolean done = git.waitFor(10, TimeUnit.SECONDS);
+            return done && git.exitValue() == 0 && !commit.isEmpty() ? commit : "unknown";
+        } catch (IOException e) {
+            return "unknown";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import static be.syntra.java.advanced.knittingapitest.util.TestHelper.RESOURCE_URL;
+
+/**
+ * Configuration of a search for the capacity of the API, see {@link CapacitySearch}.
+ */
+@Getter
+@Builder
+public class CapacityConfig {
+    @Builder.Default
+    private final String resourceUrl = RESOURCE_URL;
+    @Builder.Default
+    private final Mode mode = Mode.RATE;
+    @Builder.Default
+    private final Scenario scenario = Scenario.GET_MEMBER;
+    /**
+     * Client of the closed-loop steps
+     */
+    @Builder.Default
+    private final ClientKind client = ClientKind.BLOCKING;
+    /**
+     * Load of the first step: iterations per second, or workers
+     */
+    @Builder.Default
+    private final double startLoad = 50;
+    /**
+     * Factor the load grows by per step, until a step misses the target
+     */
+    @Builder.Default
+    private final double growth = 1.5;
+    /**
+     * Number of steps that narrow down the knee, between the highest load that met the target and the lowest that did not
+     */
+    @Builder.Default
+    private final int refineSteps = 3;
+    @Builder.Default
+    private final int maxSteps = 20;
+    @Builder.Default
+    private final Duration p99Target = Duration.ofMillis(100);
+    /**
+     * Maximal fraction of failed calls of a step that meets the target
+     */
+    @Builder.Default
+    private final double maxErrorRate = 0.01;
+    /**
+     * Duration of a measurement window; a step is measured in windows until two consecutive windows agree
+     */
+    @Builder.Default
+    private final Duration window = Duration.ofSeconds(10);
+    @Builder.Default
+    private final int maxWindows = 5;
+    /**
+     * Maximal relative difference of the p99 latency and throughput of two consecutive windows of a stable step
+     */
+    @Builder.Default
+    private final double stability = 0.2;
+    /**
+     * Maximum number of iterations in flight of the open-loop steps
+     */
+    @Builder.Default
+    private final int maxInFlight = 500;
+    @Builder.Default
+    private final Path csv = Paths.get("target", "capacity.csv");
+
+    /**
+     * Read the configuration from system properties:
+     * {@code capacity.mode} ({@code rate} or {@code concurrency}), {@code capacity.scenario}, {@code capacity.client},
+     * {@code capacity.startLoad}, {@code capacity.growth}, {@code capacity.refineSteps}, {@code capacity.maxSteps},
+     * {@code capacity.p99Target} (e.g. {@code 50ms}), {@code capacity.maxErrorRate}, {@code capacity.window},
+     * {@code capacity.maxWindows}, {@code capacity.stability}, {@code capacity.maxInFlight} and {@code capacity.csv}.
+     *
+     * @return the configuration, with defaults for missing properties
+     */
+    public static CapacityConfig fromSystemProperties() {
+        CapacityConfigBuilder builder = CapacityConfig.builder();
+        String mode = System.getProperty("capacity.mode");
+        if (mode != null) {
+            builder.mode(Mode.valueOf(mode.toUpperCase()));
+        }
+        String scenario = System.getProperty("capacity.scenario");
+        if (scenario != null) {
+            builder.scenario(Scenario.valueOf(scenario.toUpperCase()));
+        }
+        String client = System.getProperty("capacity.client");
+        if (client != null) {
+            builder.client(ClientKind.valueOf(client.toUpperCase()));
+        }
+        String startLoad = System.getProperty("capacity.startLoad");
+        if (startLoad != null) {
+            builder.startLoad(Double.parseDouble(startLoad));
+        }
+        String growth = System.getProperty("capacity.growth");
+        if (growth != null) {
+            builder.growth(Double.parseDouble(growth));
+        }
+        String refineSteps = System.getProperty("capacity.refineSteps");
+        if (refineSteps != null) {
+            builder.refineSteps(Integer.parseInt(refineSteps));
+        }
+        String maxSteps = System.getProperty("capacity.maxSteps");
+        if (maxSteps != null) {
+            builder.maxSteps(Integer.parseInt(maxSteps));
+        }
+        String p99Target = System.getProperty("capacity.p99Target");
+        if (p99Target != null) {
+            builder.p99Target(DurationStyle.detectAndParse(p99Target));
+        }
+        String maxErrorRate = System.getProperty("capacity.maxErrorRate");
+        if (maxErrorRate != null) {
+            builder.maxErrorRate(Double.parseDouble(maxErrorRate));
+        }
+        String window = System.getProperty("capacity.window");
+        if (window != null) {
+            builder.window(DurationStyle.detectAndParse(window));
+        }
+        String maxWindows = System.getProperty("capacity.maxWindows");
+        if (maxWindows != null) {
+            builder.maxWindows(Integer.parseInt(maxWindows));
+        }
+        String stability = System.getProperty("capacity.stability");
+        if (stability != null) {
+            builder.stability(Double.parseDouble(stability));
+        }
+        String maxInFlight = System.getProperty("capacity.maxInFlight");
+        if (maxInFlight != null) {
+            builder.maxInFlight(Integer.parseInt(maxInFlight));
+        }
+        String csv = System.getProperty("capacity.csv");
+        if (csv != null) {
+            builder.csv(Paths.get(csv));
+        }
+        return builder.build();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("mode=%s scenario=%s%s p99Target=%dms maxErrorRate=%s window=%s",
+                mode, scenario, mode == Mode.CONCURRENCY ? " client=" + client : "", p99Target.toMillis(), maxErrorRate, window);
+    }
+
+    /**
+     * What the search steps up.
+     */
+    public enum Mode {
+        /**
+         * The rate of an open-loop run, judged on the latencies from the intended send time
+         */
+        RATE,
+        /**
+         * The number of workers of a closed-loop run
+         */
+        CONCURRENCY
+    }
+}
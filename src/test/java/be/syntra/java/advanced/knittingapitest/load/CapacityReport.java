@@ -0,0 +1,110 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import lombok.Getter;
+import lombok.Value;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The throughput versus latency curve of a {@link CapacitySearch}, a point per step in the order the steps ran,
+ * and its knee: the step of the highest throughput that met the p99 target.
+ */
+@Getter
+public class CapacityReport {
+    private final CapacityConfig config;
+    private final List<Step> steps;
+
+    public CapacityReport(CapacityConfig config, List<Step> steps) {
+        this.config = config;
+        this.steps = List.copyOf(steps);
+    }
+
+    /**
+     * Get the step of the highest throughput that met the target.
+     *
+     * @return the step, or null when no step met the target
+     */
+    public Step getKnee() {
+        return steps.stream().filter(Step::isMeetsTarget).max(Comparator.comparingDouble(Step::getThroughput)).orElse(null);
+    }
+
+    /**
+     * Write the curve as CSV, a line per step ordered by load.
+     *
+     * @throws IOException when the file can not be written
+     */
+    public void writeCsv(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(file))) {
+            csv.println("step,load,windows,stable,requests,errors,error_rate,throughput,p50_ms,p90_ms,p99_ms,p999_ms,max_ms,meets_target");
+            steps.stream().sorted(Comparator.comparingDouble(Step::getLoad)).forEach(step -> csv.println(String.format(Locale.ROOT,
+                    "%d,%s,%d,%b,%d,%d,%.5f,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f,%b",
+                    step.getNumber(), loadValue(step.getLoad()), step.getWindows(), step.isStable(), step.getCount(), step.getErrors(),
+                    step.errorRate(), step.getThroughput(), step.getP50(), step.getP90(), step.getP99(), step.getP999(), step.getMax(),
+                    step.isMeetsTarget())));
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder()
+                .append(String.format("capacity search %s%n", config))
+                .append(String.format("%4s %10s %7s %10s %7s %9s %9s %9s %s%n",
+                        "step", loadName(), "windows", "req/s", "err %", "p50 ms", "p90 ms", "p99 ms", ""));
+        steps.forEach(step -> report.append(String.format("%4d %10s %7s %10.1f %7.2f %9.3f %9.3f %9.3f %s%n",
+                step.getNumber(), loadValue(step.getLoad()), step.getWindows() + (step.isStable() ? "" : "!"), step.getThroughput(),
+                step.errorRate() * 100, step.getP50(), step.getP90(), step.getP99(), step.isMeetsTarget() ? "" : "MISSED")));
+        Step knee = getKnee();
+        if (knee == null) {
+            report.append(String.format("knee: none, the first step of %s %s already missed the target%n",
+                    loadValue(config.getStartLoad()), loadName()));
+        } else {
+            report.append(String.format("knee: %.1f req/s at %s %s, p99 %.3f ms of %d ms%n", knee.getThroughput(),
+                    loadValue(knee.getLoad()), loadName(), knee.getP99(), config.getP99Target().toMillis()));
+        }
+        return report.append("(a ! marks a step that did not stabilise within its windows)").toString();
+    }
+
+    private String loadName() {
+        return config.getMode() == CapacityConfig.Mode.RATE ? "it/s" : "workers";
+    }
+
+    private static String loadValue(double load) {
+        return load == Math.rint(load) ? String.valueOf((long) load) : String.format(Locale.ROOT, "%.1f", load);
+    }
+
+    /**
+     * A point of the curve: the last window of a step, after the step stabilised or ran out of windows.
+     */
+    @Value
+    public static class Step {
+        int number;
+        /**
+         * Iterations per second, or workers
+         */
+        double load;
+        int windows;
+        boolean stable;
+        long count;
+        long errors;
+        double throughput;
+        double p50;
+        double p90;
+        double p99;
+        double p999;
+        double max;
+        boolean meetsTarget;
+
+        public double errorRate() {
+            return count == 0 ? 0 : errors / (double) count;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Searches for the knee of the latency curve of a scenario: the highest throughput at which the p99 latency
+ * still meets the target.
+ *
+ * The search steps up the rate of an open-loop run, judged on the latencies from the intended send time,
+ * or the workers of a closed-loop run, by the configured growth factor until a step misses the target,
+ * then halves the interval between the highest load that met the target and the lowest that did not.
+ * A step is measured in windows of the same load until the p99 latency and throughput of two consecutive windows agree,
+ * the last window is its point of the curve.
+ */
+public class CapacitySearch {
+    private final CapacityConfig config;
+    private final WindowRunner runner;
+
+    public CapacitySearch(CapacityConfig config) {
+        this(config, driverOf(config));
+    }
+
+    CapacitySearch(CapacityConfig config, WindowRunner runner) {
+        this.config = config;
+        this.runner = runner;
+    }
+
+    public CapacityReport run() throws InterruptedException {
+        List<CapacityReport.Step> steps = new ArrayList<>();
+        CapacityReport.Step highestMet = null;
+        CapacityReport.Step lowestMissed = null;
+        double load = normalise(config.getStartLoad());
+        int refinements = 0;
+        while (steps.size() < config.getMaxSteps()) {
+            CapacityReport.Step step = measure(steps.size() + 1, load);
+            steps.add(step);
+            if (step.isMeetsTarget() && (highestMet == null || load > highestMet.getLoad())) {
+                highestMet = step;
+            } else if (!step.isMeetsTarget() && (lowestMissed == null || load < lowestMissed.getLoad())) {
+                lowestMissed = step;
+            }
+
+            if (lowestMissed == null) {
+                load = grow(load);
+                continue;
+            }
+            if (highestMet == null || refinements++ >= config.getRefineSteps()) {
+                break;
+            }
+            double between = normalise((highestMet.getLoad() + lowestMissed.getLoad()) / 2);
+            if (between <= highestMet.getLoad() || between >= lowestMissed.getLoad()) {
+                break;
+            }
+            load = between;
+        }
+        return new CapacityReport(config, steps);
+    }
+
+    private CapacityReport.Step measure(int number, double load) throws InterruptedException {
+        Window previous;
+        Window current = null;
+        int windows = 0;
+        boolean stable = false;
+        while (windows < config.getMaxWindows() && !stable) {
+            previous = current;
+            current = Window.of(runner.run(load, config.getWindow()), config.getMode() == CapacityConfig.Mode.RATE);
+            windows++;
+            stable = previous != null && current.agreesWith(previous, config.getStability());
+        }
+        double p99 = millis(current.histogram.getValueAtPercentile(99));
+        boolean meetsTarget = current.count > 0
+                && p99 <= config.getP99Target().toNanos() / (double) TimeUnit.MILLISECONDS.toNanos(1)
+                && current.errors <= config.getMaxErrorRate() * current.count;
+        return new CapacityReport.Step(number, load, windows, stable, current.count, current.errors, current.throughput,
+                millis(current.histogram.getValueAtPercentile(50)), millis(current.histogram.getValueAtPercentile(90)), p99,
+                millis(current.histogram.getValueAtPercentile(99.9)), millis(current.histogram.getMaxValue()), meetsTarget);
+    }
+
+    private double grow(double load) {
+        double grown = normalise(load * config.getGrowth());
+        return config.getMode() == CapacityConfig.Mode.CONCURRENCY ? Math.max(grown, load + 1) : grown;
+    }
+
+    /**
+     * Round a load to whole workers, or to a tenth of an iteration per second
+     */
+    private double normalise(double load) {
+        return config.getMode() == CapacityConfig.Mode.CONCURRENCY
+                ? Math.max(1, Math.round(load))
+                : Math.max(0.1, Math.round(load * 10) / 10.0);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static WindowRunner driverOf(CapacityConfig config) {
+        return (load, duration) -> {
+            if (config.getMode() == CapacityConfig.Mode.RATE) {
+                return new OpenLoopLoadDriver(OpenLoopConfig.builder()
+                        .resourceUrl(config.getResourceUrl())
+                        .scenario(config.getScenario())
+                        .rateProfile(RateProfile.constant(load))
+                        .duration(duration)
+                        .maxInFlight(config.getMaxInFlight())
+                        .build()).run();
+            }
+            LoadConfig loadConfig = LoadConfig.builder()
+                    .resourceUrl(config.getResourceUrl())
+                    .scenario(config.getScenario())
+                    .client(config.getClient())
+                    .workers((int) load)
+                    .duration(duration)
+                    .build();
+            return config.getClient() == ClientKind.BLOCKING
+                    ? new ClosedLoopLoadDriver(loadConfig).run()
+                    : new ReactiveLoadDriver(loadConfig).run();
+        };
+    }
+
+    /**
+     * Runs a window of a step.
+     */
+    @FunctionalInterface
+    interface WindowRunner {
+        /**
+         * @param load     iterations per second, or workers
+         * @param duration the duration of the window
+         * @return the report of the window
+         */
+        LoadReport run(double load, Duration duration) throws InterruptedException;
+    }
+
+    /**
+     * The calls of a window over every endpoint.
+     */
+    private static class Window {
+        private final Histogram histogram = new Histogram(3);
+        private long count;
+        private long errors;
+        private double throughput;
+
+        static Window of(LoadReport report, boolean corrected) {
+            Window window = new Window();
+            List<LoadReport.Row> rows = corrected ? report.getCorrectedRows() : report.getRows();
+            for (Endpoint endpoint : Endpoint.values()) {
+                rows.stream().filter(row -> row.getName().equals(endpoint.getTemplate())).findFirst().ifPresent(row -> {
+                    window.histogram.add(row.getHistogram());
+                    window.count += row.getCount();
+                    window.errors += row.getErrors();
+                });
+            }
+            window.throughput = window.count / (report.getElapsedNanos() / 1e9);
+            return window;
+        }
+
+        boolean agreesWith(Window other, double stability) {
+            return within(histogram.getValueAtPercentile(99), other.histogram.getValueAtPercentile(99), stability)
+                    && within(throughput, other.throughput, stability);
+        }
+
+        private static boolean within(double a, double b, double stability) {
+            double largest = Math.max(a, b);
+            return largest == 0 || Math.abs(a - b) / largest <= stability;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import be.syntra.java.advanced.knittingapitest.util.ApiUser;
+import be.syntra.java.advanced.knittingapitest.util.LatencyBudget;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CapacitySearchTest {
+
+    /**
+     * Test that the search steps up until the target is missed, narrows down the knee in between,
+     * and writes the curve ordered by load
+     */
+    @Test
+    void givenSaturatingApi_whenRun_thenShouldFindKnee(@TempDir Path directory) throws InterruptedException, IOException {
+        // given: 10 ms at no load, going up to 40 ms at 750 it/s
+        CapacityConfig config = CapacityConfig.builder()
+                .startLoad(100)
+                .growth(2)
+                .refineSteps(2)
+                .p99Target(Duration.ofMillis(40))
+                .build();
+        CapacitySearch search = new CapacitySearch(config, (load, duration) -> window(load, 10 / (1 - load / 1000)));
+
+        // when
+        CapacityReport report = search.run();
+        report.writeCsv(directory.resolve("capacity.csv"));
+
+        // then
+        assertEquals(List.of(100.0, 200.0, 400.0, 800.0, 600.0, 700.0), loads(report.getSteps()));
+        assertTrue(report.getSteps().stream().allMatch(step -> step.isStable() && step.getWindows() == 2));
+        assertEquals(700, report.getKnee().getLoad());
+        assertEquals(700, report.getKnee().getThroughput(), 0.1);
+        assertTrue(report.toString().contains("knee: 700.0 req/s at 700 it/s"), report.toString());
+        List<String> csv = Files.readAllLines(directory.resolve("capacity.csv"));
+        assertEquals(7, csv.size());
+        assertTrue(csv.get(4).startsWith("5,600,2,true,600,0,"), csv.get(4));
+        assertTrue(csv.get(6).endsWith(",false"), csv.get(6));
+    }
+
+    /**
+     * Test that a step is measured until its windows agree, and that errors miss the target
+     */
+    @Test
+    void givenSettlingLatencyAndErrors_whenRun_thenShouldMeasureUntilStableAndFindNoKnee() throws InterruptedException {
+        // given: the latency halves per window down to 10 ms
+        CapacityConfig config = CapacityConfig.builder()
+                .mode(CapacityConfig.Mode.CONCURRENCY)
+                .startLoad(4)
+                .maxErrorRate(0.01)
+                .build();
+        int[] windows = {0};
+        CapacitySearch search = new CapacitySearch(config, (load, duration) -> {
+            LatencyStats stats = new LatencyStats();
+            long latencyNanos = Math.max(10, 640 >> windows[0]++) * 1_000_000L;
+            for (int i = 0; i < 100; i++) {
+                stats.record(Endpoint.GET_MEMBER, ApiUser.USER, i < 2 ? 500 : 200, latencyNanos);
+            }
+            return new LoadReport("window", stats, 1_000_000_000L, 0);
+        });
+
+        // when
+        CapacityReport report = search.run();
+
+        // then: 640, 320, 160, 80, 40 ms windows; 5 windows is the maximum
+        assertEquals(1, report.getSteps().size());
+        CapacityReport.Step step = report.getSteps().get(0);
+        assertEquals(5, step.getWindows());
+        assertFalse(step.isStable());
+        assertEquals(40, step.getP99(), 0.1);
+        assertEquals(0.02, step.errorRate());
+        assertNull(report.getKnee());
+    }
+
+    /**
+     * Test a search of two short steps against the API
+     */
+    @Test
+    @ResourceLock(LatencyBudget.SERVER_LOAD)
+    void givenApi_whenRun_thenShouldMeasureEveryStep() throws InterruptedException {
+        // given
+        CapacityConfig config = CapacityConfig.builder()
+                .mode(CapacityConfig.Mode.CONCURRENCY)
+                .startLoad(1)
+                .growth(2)
+                .maxSteps(2)
+                .p99Target(Duration.ofSeconds(5))
+                .window(Duration.ofMillis(500))
+                .maxWindows(2)
+                .build();
+
+        // when
+        CapacityReport report = new CapacitySearch(config).run();
+
+        // then
+        assertEquals(List.of(1.0, 2.0), loads(report.getSteps()));
+        assertTrue(report.getSteps().stream().allMatch(step -> step.getCount() > 0 && step.getErrors() == 0), report.toString());
+        assertNotNull(report.getKnee());
+    }
+
+    /**
+     * A window of a second in which every call of the load took the given latency
+     */
+    private static LoadReport window(double load, double latencyMillis) {
+        LatencyStats stats = new LatencyStats();
+        long latencyNanos = (long) (latencyMillis * 1_000_000);
+        for (int i = 0; i < load; i++) {
+            stats.record(Endpoint.GET_MEMBER, ApiUser.USER, 200, latencyNanos / 2, latencyNanos);
+        }
+        return new LoadReport("window", stats, 1_000_000_000L, 0);
+    }
+
+    private static List<Double> loads(List<CapacityReport.Step> steps) {
+        return steps.stream().map(CapacityReport.Step::getLoad).collect(Collectors.toList());
+    }
+}
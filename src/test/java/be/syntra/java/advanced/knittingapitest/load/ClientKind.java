@@ -0,0 +1,42 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+/**
+ * The HTTP client a load run or seeding run sends its requests with.
+ */
+public enum ClientKind {
+    /**
+     * {@link MemberApiClient}: a blocking rest template, a thread per request in flight
+     */
+    BLOCKING,
+    /**
+     * {@link ReactiveMemberApiClient}: a non-blocking WebClient on a few event loop threads,
+     * a pooled HTTP/1.1 connection per request in flight
+     */
+    REACTIVE,
+    /**
+     * {@link Http2MemberApiClient}: the asynchronous JDK client, multiplexing the requests over a few HTTP/2 connections
+     */
+    HTTP2;
+
+    /**
+     * Create a non-blocking client of this kind.
+     *
+     * @param resourceUrl      the url of the members resource
+     * @param stats            the statistics to record every call in
+     * @param concurrency      the maximum number of requests in flight
+     * @param http2Connections the number of connections to multiplex HTTP/2 requests over
+     * @param threads          the number of event loop threads or response threads
+     * @return the client
+     * @throws IllegalStateException for the blocking client
+     */
+    AsyncMemberApiClient newAsyncClient(String resourceUrl, LatencyStats stats, int concurrency, int http2Connections, int threads) {
+        switch (this) {
+            case REACTIVE:
+                return new ReactiveMemberApiClient(resourceUrl, stats, concurrency, threads);
+            case HTTP2:
+                return new Http2MemberApiClient(resourceUrl, stats, http2Connections, threads);
+            default:
+                throw new IllegalStateException("The " + this + " client is not asynchronous");
+        }
+    }
+}
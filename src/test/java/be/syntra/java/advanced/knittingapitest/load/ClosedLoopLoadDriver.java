@@ -0,0 +1,75 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs a scenario from a fixed number of concurrent workers.
+ *
+ * Each worker starts its next iteration as soon as the previous one is done (closed loop),
+ * so the request rate drops when the API slows down.
+ * Every worker has a thread of its own, a platform or a virtual thread (see {@link Threads}).
+ */
+@RequiredArgsConstructor
+public class ClosedLoopLoadDriver {
+    private final LoadConfig config;
+
+    public LoadReport run() throws InterruptedException {
+        LatencyStats stats = new LatencyStats();
+        LongAdder failedIterations = new LongAdder();
+        AtomicLong remainingIterations = new AtomicLong(config.getIterations() > 0 ? config.getIterations() : Long.MAX_VALUE);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(config.getWorkers());
+        ExecutorService executor = config.getThreads().newExecutor(config.getWorkers());
+
+        try (MemberApiClient client = new MemberApiClient(config.getResourceUrl(), stats, config.getWorkers());
+             MemberApiClient cleanUpClient = new MemberApiClient(config.getResourceUrl(), new LatencyStats(), config.getWorkers());
+             IntervalReporter reporter = IntervalReporter.fromSystemProperties(stats)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < config.getWorkers(); i++) {
+                futures.add(executor.submit(() -> {
+                    Worker worker = new Worker();
+                    try {
+                        start.await();
+                        long deadline = System.nanoTime() + config.getDuration().toNanos();
+                        while (System.nanoTime() < deadline && remainingIterations.getAndDecrement() > 0) {
+                            try {
+                                config.getScenario().run(client, worker);
+                            } catch (RuntimeException e) {
+                                failedIterations.increment();
+                            }
+                        }
+                    } finally {
+                        done.countDown();
+                    }
+                    worker.cleanUp(cleanUpClient);
+                    return null;
+                }));
+            }
+
+            long startNanos = System.nanoTime();
+            start.countDown();
+            reporter.start();
+            done.await();
+            long elapsedNanos = System.nanoTime() - startNanos;
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            return new LoadReport(config.toString(), stats, elapsedNanos, failedIterations.sum());
+        } catch (ExecutionException | IOException e) {
+            throw new RuntimeException("Load run failed", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import be.syntra.java.advanced.knittingapitest.util.ApiUser;
+import be.syntra.java.advanced.knittingapitest.util.LatencyBudget;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@ResourceLock(LatencyBudget.SERVER_LOAD)
+public class ClosedLoopLoadDriverTest {
+
+    /**
+     * Test that every call of every iteration is recorded under its endpoint and user
+     */
+    @Test
+    void givenIntegrationScenario_whenRunIterations_thenShouldRecordEveryCall() throws InterruptedException {
+        // given
+        LoadConfig config = LoadConfig.builder()
+                .scenario(Scenario.INTEGRATION)
+                .workers(4)
+                .iterations(20)
+                .duration(Duration.ofMinutes(1))
+                .build();
+
+        // when
+        LoadReport report = new ClosedLoopLoadDriver(config).run();
+
+        // then
+        assertEquals(0, report.getFailedIterations());
+        assertEquals(20, report.row(Endpoint.POST_MEMBER, ApiUser.ADMIN).getCount());
+        assertEquals(40, report.row(Endpoint.GET_MEMBER, ApiUser.ADMIN).getCount());
+        assertEquals(20, report.row(Endpoint.PUT_MEMBER, ApiUser.ADMIN).getCount());
+        assertEquals(20, report.row(Endpoint.DELETE_MEMBER, ApiUser.SUPER_ADMIN).getCount());
+        assertEquals(0, report.row(Endpoint.DELETE_MEMBER, ApiUser.SUPER_ADMIN).getErrors());
+        assertTrue(report.row(Endpoint.GET_MEMBER, ApiUser.ADMIN).getP99() > 0);
+    }
+
+    /**
+     * Test that reads are spread over all users
+     */
+    @Test
+    void givenGetMemberScenario_whenRunIterations_thenShouldReadAsEveryUser() throws InterruptedException {
+        // given
+        LoadConfig config = LoadConfig.builder()
+                .scenario(Scenario.GET_MEMBER)
+                .workers(1)
+                .iterations(30)
+                .build();
+
+        // when
+        LoadReport report = new ClosedLoopLoadDriver(config).run();
+
+        // then
+        for (ApiUser user : ApiUser.values()) {
+            assertEquals(10, report.row(Endpoint.GET_MEMBER, user).getCount());
+            assertEquals(0, report.row(Endpoint.GET_MEMBER, user).getErrors());
+        }
+    }
+
+    /**
+     * Test that workers run on virtual threads when the JVM supports them
+     */
+    @Test
+    void givenVirtualThreads_whenRunIterations_thenShouldRecordEveryCall() throws InterruptedException {
+        assumeTrue(Threads.isVirtualSupported(), "virtual threads need Java 21");
+
+        // given
+        LoadConfig config = LoadConfig.builder()
+                .scenario(Scenario.POST_MEMBER)
+                .workers(100)
+                .threads(Threads.VIRTUAL)
+                .iterations(200)
+                .build();
+
+        // when
+        LoadReport report = new ClosedLoopLoadDriver(config).run();
+
+        // then
+        assertEquals(0, report.getFailedIterations());
+        assertEquals(200, report.row(Endpoint.POST_MEMBER, ApiUser.ADMIN).getCount());
+    }
+
+    /**
+     * Test that asking for virtual threads on a JVM without them fails up front
+     */
+    @Test
+    void givenVirtualThreadsUnsupported_whenRun_thenShouldFail() {
+        assumeFalse(Threads.isVirtualSupported(), "virtual threads are supported");
+
+        // given
+        LoadConfig config = LoadConfig.builder()
+                .threads(Threads.VIRTUAL)
+                .build();
+
+        // when / then
+        assertThrows(IllegalStateException.class, () -> new ClosedLoopLoadDriver(config).run());
+    }
+}
@@ -0,0 +1,97 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * Configuration of a distributed load run, see {@link LoadCoordinator}.
+ */
+@Getter
+@Builder
+public class DistributedConfig {
+    /**
+     * Number of worker JVMs the run waits for
+     */
+    @Builder.Default
+    private final int workers = 2;
+    /**
+     * Port the coordinator listens on for workers, 0 for a free port
+     */
+    @Builder.Default
+    private final int port = 0;
+    /**
+     * Whether the coordinator starts the workers itself, as processes on this machine
+     */
+    @Builder.Default
+    private final boolean spawn = true;
+    /**
+     * JVM options of spawned workers
+     */
+    @Builder.Default
+    private final String workerJvmOptions = "-Xmx512m";
+    /**
+     * Directory of the logs and client metrics of spawned workers
+     */
+    @Builder.Default
+    private final Path workerDirectory = Paths.get("target", "workers");
+    /**
+     * Interval at which workers send their latencies
+     */
+    @Builder.Default
+    private final Duration interval = Duration.ofSeconds(1);
+    /**
+     * Maximum time to wait for every worker to connect and to be ready
+     */
+    @Builder.Default
+    private final Duration connectTimeout = Duration.ofMinutes(2);
+
+    /**
+     * Read the configuration from system properties:
+     * {@code distributed.workers}, {@code distributed.port}, {@code distributed.spawn}, {@code distributed.workerJvmOptions},
+     * {@code distributed.workerDirectory}, {@code distributed.interval} and {@code distributed.connectTimeout}.
+     *
+     * @return the configuration, with defaults for missing properties
+     */
+    public static DistributedConfig fromSystemProperties() {
+        DistributedConfigBuilder builder = DistributedConfig.builder();
+        String workers = System.getProperty("distributed.workers");
+        if (workers != null) {
+            builder.workers(Integer.parseInt(workers));
+        }
+        String port = System.getProperty("distributed.port");
+        if (port != null) {
+            builder.port(Integer.parseInt(port));
+        }
+        String spawn = System.getProperty("distributed.spawn");
+        if (spawn != null) {
+            builder.spawn(Boolean.parseBoolean(spawn));
+        }
+        String workerJvmOptions = System.getProperty("distributed.workerJvmOptions");
+        if (workerJvmOptions != null) {
+            builder.workerJvmOptions(workerJvmOptions);
+        }
+        String workerDirectory = System.getProperty("distributed.workerDirectory");
+        if (workerDirectory != null) {
+            builder.workerDirectory(Paths.get(workerDirectory));
+        }
+        String interval = System.getProperty("distributed.interval");
+        if (interval != null) {
+            builder.interval(DurationStyle.detectAndParse(interval));
+        }
+        String connectTimeout = System.getProperty("distributed.connectTimeout");
+        if (connectTimeout != null) {
+            builder.connectTimeout(DurationStyle.detectAndParse(connectTimeout));
+        }
+        return builder.build();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("workers=%d%s interval=%s", workers, spawn ? " spawned" : " port=" + port, interval);
+    }
+}
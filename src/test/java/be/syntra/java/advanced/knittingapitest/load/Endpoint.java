@@ -0,0 +1,36 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The members endpoints, identified by method and uri template.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum Endpoint {
+    GET_MEMBERS("GET /members"),
+    GET_MEMBER("GET /members/{id}"),
+    POST_MEMBER("POST /members"),
+    PUT_MEMBER("PUT /members/{id}"),
+    DELETE_MEMBER("DELETE /members/{id}");
+
+    private final String template;
+
+    /**
+     * Get the endpoint of a call.
+     *
+     * @param method      the HTTP method
+     * @param uriTemplate the uri template of the path, e.g. {@code /members/{id}}
+     * @return the endpoint, or null when the members resource has no such endpoint
+     */
+    public static Endpoint of(String method, String uriTemplate) {
+        String template = method + " " + uriTemplate;
+        for (Endpoint endpoint : values()) {
+            if (endpoint.template.equals(template)) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+}
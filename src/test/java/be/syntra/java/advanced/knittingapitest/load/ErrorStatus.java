@@ -0,0 +1,51 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The kinds of failed calls, by status, as the controller tests tell them apart.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ErrorStatus {
+    BAD_REQUEST("400"),
+    UNAUTHORIZED("401"),
+    FORBIDDEN("403"),
+    NOT_FOUND("404"),
+    OTHER_CLIENT_ERROR("4xx"),
+    SERVER_ERROR("5xx"),
+    /**
+     * No response was received
+     */
+    NO_RESPONSE("none"),
+    /**
+     * A 1xx or 3xx status
+     */
+    OTHER("other");
+
+    private final String label;
+
+    /**
+     * Get the kind of a failed call.
+     *
+     * @param status the HTTP status code, or 0 when no response was received
+     * @return the kind, for a status that is not 2xx
+     */
+    public static ErrorStatus of(int status) {
+        switch (status) {
+            case 0:
+                return NO_RESPONSE;
+            case 400:
+                return BAD_REQUEST;
+            case 401:
+                return UNAUTHORIZED;
+            case 403:
+                return FORBIDDEN;
+            case 404:
+                return NOT_FOUND;
+            default:
+                return status >= 500 ? SERVER_ERROR : status >= 400 ? OTHER_CLIENT_ERROR : OTHER;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import be.syntra.java.advanced.knittingapitest.dto.Member;
+import be.syntra.java.advanced.knittingapitest.dto.MemberList;
+import be.syntra.java.advanced.knittingapitest.util.ApiUser;
+import be.syntra.java.advanced.knittingapitest.util.ByteBufferPool;
+import be.syntra.java.advanced.knittingapitest.util.ClientConfig;
+import be.syntra.java.advanced.knittingapitest.util.ClientMetrics;
+import be.syntra.java.advanced.knittingapitest.util.ObjectMappers;
+import be.syntra.java.advanced.knittingapitest.util.PooledBody;
+import be.syntra.java.advanced.knittingapitest.util.SchemaCheck;
+import be.syntra.java.advanced.knittingapitest.util.TrafficRecorder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link AsyncMemberApiClient} on the JDK {@link HttpClient}, speaking cleartext HTTP/2 (h2c).
+ *
+ * Every request is a stream multiplexed over one of a few connections, taken in turn,
+ * so the number of requests in flight is not bounded by the number of connections.
+ * Each connection is upgraded to HTTP/2 up front, with an unauthenticated {@code HEAD} request,
+ * so concurrent first calls do not each open a connection of their own.
+ * When the server does not accept the upgrade, the calls fall back to HTTP/1.1, see {@link #getVersion()}.
+ * Response bodies are collected in pooled buffers and bound from there, see {@link PooledBody}.
+ */
+public class Http2MemberApiClient implements AsyncMemberApiClient {
+    private static final String JSON = MediaType.APPLICATION_JSON_VALUE;
+    private static final HttpResponse.BodyHandler<PooledBody> POOLED_BODY =
+            responseInfo -> HttpResponse.BodySubscribers.fromSubscriber(new PooledBodySubscriber(), PooledBodySubscriber::getBody);
+
+    private final String resourceUrl;
+    private final String resourcePath;
+    private final LatencyStats stats;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper = ObjectMappers.create();
+    private final ExecutorService executor;
+    private final HttpClient[] connections;
+    private final AtomicInteger nextConnection = new AtomicInteger();
+    private final LongAdder http1Responses = new LongAdder();
+    private final HttpClient.Version version;
+
+    /**
+     * @param resourceUrl the url of the members resource
+     * @param stats       the statistics to record every call in
+     * @param connections the number of connections to multiplex the requests over
+     * @param threads     the number of threads that handle the responses
+     * @throws RuntimeException when the API can not be reached
+     */
+    public Http2MemberApiClient(String resourceUrl, LatencyStats stats, int connections, int threads) {
+        this.resourceUrl = resourceUrl;
+        this.resourcePath = URI.create(resourceUrl).getPath();
+        this.stats = stats;
+        ClientConfig clientConfig = ClientConfig.fromSystemProperties();
+        this.timeout = clientConfig.getSocketTimeout();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "knitting-h2-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.connections = new HttpClient[connections];
+        HttpClient.Version version = HttpClient.Version.HTTP_2;
+        for (int i = 0; i < connections; i++) {
+            this.connections[i] = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_2)
+                    .connectTimeout(clientConfig.getConnectTimeout())
+                    .executor(executor)
+                    .build();
+            if (upgrade(this.connections[i]) != HttpClient.Version.HTTP_2) {
+                version = HttpClient.Version.HTTP_1_1;
+            }
+        }
+        this.version = version;
+    }
+
+    private HttpClient.Version upgrade(HttpClient connection) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(resourceUrl))
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .timeout(timeout)
+                .build();
+        try {
+            return connection.send(request, HttpResponse.BodyHandlers.discarding()).version();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to connect to " + resourceUrl, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while connecting to " + resourceUrl, e);
+        }
+    }
+
+    /**
+     * Get the protocol the connections were upgraded to.
+     *
+     * @return {@link HttpClient.Version#HTTP_2}, or {@link HttpClient.Version#HTTP_1_1} when the server does not support h2c
+     */
+    public HttpClient.Version getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the number of responses that were received over HTTP/1.1 rather than HTTP/2
+     */
+    public long getHttp1Responses() {
+        return http1Responses.sum();
+    }
+
+    @Override
+    public Mono<ResponseEntity<MemberList>> getMembers(ApiUser user) {
+        return call(Endpoint.GET_MEMBERS, user, "GET", resourcePath, null, MemberList.class);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Member>> getMember(ApiUser user, long id) {
+        return call(Endpoint.GET_MEMBER, user, "GET", resourcePath + "/" + id, null, Member.class);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Void>> postMember(ApiUser user, Member member) {
+        return call(Endpoint.POST_MEMBER, user, "POST", resourcePath, member, Void.class);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Void>> updateMember(ApiUser user, long id, Member member) {
+        return call(Endpoint.PUT_MEMBER, user, "PUT", resourcePath + "/" + id, member, Void.class);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Void>> deleteMember(ApiUser user, long id) {
+        return call(Endpoint.DELETE_MEMBER, user, "DELETE", resourcePath + "/" + id, null, Void.class);
+    }
+
+    /**
+     * Send a request on the next connection and record the outcome, once the response body has been read and checked against its schema.
+     *
+     * @return the response, empty when no response was received
+     */
+    private <T> Mono<ResponseEntity<T>> call(Endpoint endpoint, ApiUser user, String method, String path,
+                                             Object body, Class<T> responseType) {
+        return Mono.defer(() -> {
+            byte[] requestBody;
+            try {
+                requestBody = body == null ? null : objectMapper.writeValueAsBytes(body);
+            } catch (JsonProcessingException e) {
+                return Mono.error(e);
+            }
+            HttpRequest request = request(user, method, path, requestBody);
+            HttpClient connection = connections[Math.floorMod(nextConnection.getAndIncrement(), connections.length)];
+            long start = System.nanoTime();
+            return Mono.fromFuture(connection.sendAsync(request, POOLED_BODY))
+                    .map(response -> {
+                        ResponseEntity<T> entity;
+                        try (PooledBody responseBody = response.body()) {
+                            SchemaCheck.check(method, path, response.statusCode(), responseBody.inputStream());
+                            entity = toEntity(response, responseBody, responseType);
+                        }
+                        if (response.version() != HttpClient.Version.HTTP_2) {
+                            http1Responses.increment();
+                        }
+                        record(endpoint, user, method, path, requestBody, response.statusCode(), start,
+                                entity.getHeaders().getLocation());
+                        return entity;
+                    })
+                    .onErrorResume(e -> {
+                        ClientMetrics.recordFailure(method, path, e);
+                        record(endpoint, user, method, path, requestBody, 0, start, null);
+                        return Mono.empty();
+                    });
+        });
+    }
+
+    private HttpRequest request(ApiUser user, String method, String path, byte[] body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(resourceUrl).resolve(path))
+                .timeout(timeout)
+                .header(HttpHeaders.AUTHORIZATION, user.getAuthorization())
+                .header(HttpHeaders.ACCEPT, JSON);
+        if (body == null) {
+            return request.method(method, HttpRequest.BodyPublishers.noBody()).build();
+        }
+        return request.header(HttpHeaders.CONTENT_TYPE, JSON)
+                .method(method, HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+    }
+
+    private <T> ResponseEntity<T> toEntity(HttpResponse<PooledBody> response, PooledBody body, Class<T> responseType) {
+        HttpHeaders headers = new HttpHeaders();
+        response.headers().map().forEach(headers::addAll);
+        T value = null;
+        boolean successful = response.statusCode() >= 200 && response.statusCode() < 300;
+        if (successful && responseType != Void.class && body.size() > 0) {
+            try {
+                value = objectMapper.readValue(body.inputStream(), responseType);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return ResponseEntity.status(response.statusCode()).headers(headers).body(value);
+    }
+
+    private void record(Endpoint endpoint, ApiUser user, String method, String path, byte[] requestBody, int status,
+                        long start, URI location) {
+        long latencyNanos = System.nanoTime() - start;
+        stats.record(endpoint, user, status, latencyNanos);
+        ClientMetrics.record(method, path, user, status, latencyNanos);
+        TrafficRecorder.record(method, path, user, requestBody, status, start, latencyNanos, location);
+    }
+
+    /**
+     * Collects a response body in buffers of the shared {@link ByteBufferPool}, instead of a byte array per response.
+     */
+    private static class PooledBodySubscriber implements Flow.Subscriber<List<ByteBuffer>> {
+        private final PooledBody body = new PooledBody(ByteBufferPool.shared());
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            buffers.forEach(body::write);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            body.close();
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        PooledBody getBody() {
+            return body;
+        }
+    }
+
+    /**
+     * Stop the response threads. The JDK client closes its connections once it is garbage collected.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,53 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import be.syntra.java.advanced.knittingapitest.dto.Member;
+import be.syntra.java.advanced.knittingapitest.util.ApiUser;
+import be.syntra.java.advanced.knittingapitest.util.LatencyBudget;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+
+import java.net.http.HttpClient;
+import java.util.List;
+
+import static be.syntra.java.advanced.knittingapitest.util.TestHelper.RESOURCE_URL;
+import static be.syntra.java.advanced.knittingapitest.util.TestHelper.aUniqueMember;
+import static org.junit.jupiter.api.Assertions.*;
+
+@ResourceLock(LatencyBudget.SERVER_LOAD)
+public class Http2MemberApiClientTest {
+
+    /**
+     * Test that concurrent reads are multiplexed over HTTP/2 connections to the embedded API
+     */
+    @Test
+    void givenConcurrentGets_whenSendOverTwoConnections_thenShouldAllBeServedOverHttp2() {
+        // given
+        LatencyStats stats = new LatencyStats();
+        try (Http2MemberApiClient client = new Http2MemberApiClient(RESOURCE_URL, stats, 2, 1)) {
+            Member member = aUniqueMember();
+            long id = client.createMember(ApiUser.ADMIN, member).block();
+
+            // when
+            List<ResponseEntity<Member>> responses = Flux.range(0, 200)
+                    .flatMap(i -> client.getMember(ApiUser.USER, id), 200)
+                    .collectList()
+                    .block();
+            client.deleteMember(ApiUser.SUPER_ADMIN, id).block();
+
+            // then
+            assertEquals(HttpClient.Version.HTTP_2, client.getVersion());
+            assertEquals(0, client.getHttp1Responses());
+            assertEquals(200, responses.size());
+            for (ResponseEntity<Member> response : responses) {
+                assertEquals(200, response.getStatusCodeValue());
+                assertEquals(member.getEmail(), response.getBody().getEmail());
+            }
+            assertEquals(200, stats.entries().stream()
+                    .filter(entry -> entry.getEndpoint() == Endpoint.GET_MEMBER)
+                    .mapToLong(LatencyStats.Entry::getCount)
+                    .sum());
+        }
+    }
+}
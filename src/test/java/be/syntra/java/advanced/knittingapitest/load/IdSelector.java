@@ -0,0 +1,63 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Picks the index of the member of a pool an operation works on, see {@link Workload.Selection}. Thread-safe.
+ */
+class IdSelector {
+    private final Workload.Selection selection;
+    private final int members;
+    private final int hotMembers;
+    private final double hotShare;
+    /**
+     * Cumulative probabilities of the members, for {@link Workload.Selection#ZIPF}
+     */
+    private final double[] cumulative;
+
+    private IdSelector(Workload.Selection selection, int members, int hotMembers, double hotShare, double[] cumulative) {
+        this.selection = selection;
+        this.members = members;
+        this.hotMembers = hotMembers;
+        this.hotShare = hotShare;
+        this.cumulative = cumulative;
+    }
+
+    static IdSelector of(Workload.Ids ids) {
+        int members = ids.getMembers();
+        int hotMembers = (int) Math.max(1, Math.min(members, Math.round(members * ids.getHotFraction())));
+        double[] cumulative = null;
+        if (ids.getSelection() == Workload.Selection.ZIPF) {
+            cumulative = new double[members];
+            double sum = 0;
+            for (int i = 0; i < members; i++) {
+                sum += 1 / Math.pow(i + 1, ids.getExponent());
+                cumulative[i] = sum;
+            }
+            for (int i = 0; i < members; i++) {
+                cumulative[i] /= sum;
+            }
+        }
+        return new IdSelector(ids.getSelection(), members, hotMembers, ids.getHotShare(), cumulative);
+    }
+
+    /**
+     * @param random the random of the user
+     * @return the index of a member of the pool
+     */
+    int next(Random random) {
+        switch (selection) {
+            case HOT_SET:
+                if (hotMembers == members || random.nextDouble() < hotShare) {
+                    return random.nextInt(hotMembers);
+                }
+                return hotMembers + random.nextInt(members - hotMembers);
+            case ZIPF:
+                int index = Arrays.binarySearch(cumulative, random.nextDouble());
+                return Math.min(index >= 0 ? index : -index - 1, members - 1);
+            default:
+                return random.nextInt(members);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * Configuration of the live report of a load run, see {@link IntervalReporter}.
+ */
+@Getter
+@Builder
+public class IntervalConfig {
+    /**
+     * Interval between report lines, zero for no live report
+     */
+    @Builder.Default
+    private final Duration interval = Duration.ZERO;
+    /**
+     * JSON-lines file the report is appended to, null to only print it
+     */
+    @Builder.Default
+    private final Path file = Paths.get("target", "intervals.jsonl");
+
+    /**
+     * Read the configuration from system properties: {@code report.interval} and {@code report.file} (empty to only print).
+     * The {@code load} profile reports every 10 seconds.
+     *
+     * @return the configuration, with defaults for missing properties
+     */
+    public static IntervalConfig fromSystemProperties() {
+        IntervalConfigBuilder builder = IntervalConfig.builder();
+        String interval = System.getProperty("report.interval");
+        if (interval != null && !interval.isBlank()) {
+            builder.interval(DurationStyle.detectAndParse(interval));
+        }
+        String file = System.getProperty("report.file");
+        if (file != null) {
+            builder.file(file.isBlank() ? null : Paths.get(file));
+        }
+        return builder.build();
+    }
+
+    public boolean isEnabled() {
+        return !interval.isZero() && !interval.isNegative();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("interval=%s file=%s", interval, file);
+    }
+}
@@ -0,0 +1,222 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import be.syntra.java.advanced.knittingapitest.util.ObjectMappers;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Value;
+import org.HdrHistogram.Histogram;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports a load run while it runs, so a long run that goes bad can be stopped early instead of at its end:
+ * every interval it prints a line per operation with the throughput, the errors per {@link ErrorStatus}
+ * and the latency percentiles of the interval, and appends the same as a JSON line to the report file.
+ *
+ * The reporter reads the interval histograms of the {@link LatencyStats} of the run, whose recorders are swapped per interval,
+ * so the workers keep recording without locks. It must be the only reader of intervals of those statistics.
+ * The latencies are from the actual send time, also for open-loop runs.
+ */
+public class IntervalReporter implements AutoCloseable {
+    private final LatencyStats stats;
+    private final IntervalConfig config;
+    private final ObjectMapper objectMapper = ObjectMappers.create();
+    private ScheduledExecutorService scheduler;
+    private BufferedWriter writer;
+    private long startNanos;
+    private long previousNanos;
+
+    public IntervalReporter(LatencyStats stats, IntervalConfig config) {
+        this.stats = stats;
+        this.config = config;
+    }
+
+    /**
+     * Get a reporter of the statistics of a run, configured from system properties, see {@link IntervalConfig#fromSystemProperties()}.
+     *
+     * @param stats the statistics the run records into
+     * @return the reporter, not started yet
+     */
+    public static IntervalReporter fromSystemProperties(LatencyStats stats) {
+        return new IntervalReporter(stats, IntervalConfig.fromSystemProperties());
+    }
+
+    /**
+     * Start reporting every interval, when enabled; the elapsed time of the report lines counts from now.
+     *
+     * @throws IOException when the report file cannot be opened
+     */
+    public synchronized void start() throws IOException {
+        if (!config.isEnabled() || scheduler != null) {
+            return;
+        }
+        Path file = config.getFile();
+        if (file != null) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        startNanos = System.nanoTime();
+        previousNanos = startNanos;
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "interval-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = config.getInterval().toMillis();
+        scheduler.scheduleAtFixedRate(this::reportInterval, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void reportInterval() {
+        try {
+            report();
+        } catch (IOException | RuntimeException e) {
+            // a failing report must not end the run, nor the next reports
+            System.err.println("Interval report failed: " + e);
+        }
+    }
+
+    /**
+     * Report the calls since the previous interval, and start a new interval.
+     *
+     * @return the report of the interval
+     * @throws IOException when the report could not be appended to the report file
+     */
+    synchronized Line report() throws IOException {
+        long nanos = System.nanoTime();
+        double seconds = Math.max(nanos - previousNanos, 1) / 1e9;
+        previousNanos = nanos;
+
+        Map<Endpoint, Histogram> histograms = new EnumMap<>(Endpoint.class);
+        Map<Endpoint, long[]> errors = new EnumMap<>(Endpoint.class);
+        Histogram allHistogram = new Histogram(3);
+        long[] allErrors = new long[ErrorStatus.values().length];
+        for (LatencyStats.Entry entry : stats.entries()) {
+            Histogram histogram = entry.getIntervalHistogram();
+            long[] entryErrors = entry.getIntervalErrors();
+            histograms.computeIfAbsent(entry.getEndpoint(), endpoint -> new Histogram(3)).add(histogram);
+            long[] endpointErrors = errors.computeIfAbsent(entry.getEndpoint(), endpoint -> new long[allErrors.length]);
+            for (int i = 0; i < allErrors.length; i++) {
+                endpointErrors[i] += entryErrors[i];
+                allErrors[i] += entryErrors[i];
+            }
+            allHistogram.add(histogram);
+        }
+        List<Operation> operations = new ArrayList<>();
+        histograms.forEach((endpoint, histogram) -> operations.add(Operation.of(endpoint.getTemplate(), histogram, errors.get(endpoint), seconds)));
+        Line line = new Line(Instant.now(), (nanos - startNanos) / 1e9, seconds,
+                allHistogram.getTotalCount(), allHistogram.getTotalCount() / seconds, errorsByStatus(allErrors), operations);
+
+        System.out.print(line);
+        if (writer != null) {
+            writer.write(objectMapper.writeValueAsString(line));
+            writer.newLine();
+            writer.flush();
+        }
+        return line;
+    }
+
+    /**
+     * Stop reporting, after reporting the last, partial, interval.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        try {
+            report();
+        } finally {
+            scheduler = null;
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+        }
+    }
+
+    private static Map<String, Long> errorsByStatus(long[] errors) {
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (ErrorStatus status : ErrorStatus.values()) {
+            if (errors[status.ordinal()] > 0) {
+                byStatus.put(status.getLabel(), errors[status.ordinal()]);
+            }
+        }
+        return byStatus;
+    }
+
+    /**
+     * The report of an interval, as a line of the report file.
+     */
+    @Value
+    static class Line {
+        Instant time;
+        double elapsedSeconds;
+        double intervalSeconds;
+        long count;
+        double throughput;
+        /**
+         * Errors per {@link ErrorStatus#getLabel() status}, without the statuses that did not occur
+         */
+        Map<String, Long> errors;
+        List<Operation> operations;
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            String prefix = String.format("[%7.1f s]", elapsedSeconds);
+            if (operations.isEmpty()) {
+                builder.append(prefix).append(" no calls").append(System.lineSeparator());
+            }
+            for (Operation operation : operations) {
+                builder.append(prefix).append(' ').append(operation).append(System.lineSeparator());
+            }
+            return builder.toString();
+        }
+    }
+
+    /**
+     * The calls to an endpoint, by any user, in an interval; latencies in milliseconds.
+     */
+    @Value
+    static class Operation {
+        String operation;
+        long count;
+        double throughput;
+        Map<String, Long> errors;
+        double p50;
+        double p90;
+        double p99;
+        double max;
+
+        static Operation of(String operation, Histogram histogram, long[] errors, double seconds) {
+            return new Operation(operation, histogram.getTotalCount(), histogram.getTotalCount() / seconds, errorsByStatus(errors),
+                    histogram.getValueAtPercentile(50) / 1e6, histogram.getValueAtPercentile(90) / 1e6,
+                    histogram.getValueAtPercentile(99) / 1e6, histogram.getMaxValue() / 1e6);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder(String.format("%-22s %10.1f req/s %9.3f ms p50 %9.3f ms p90 %9.3f ms p99 %9.3f ms max",
+                    operation, throughput, p50, p90, p99, max));
+            if (!errors.isEmpty()) {
+                builder.append("  errors");
+                errors.forEach((status, count) -> builder.append(' ').append(status).append('=').append(count));
+            }
+            return builder.toString();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import be.syntra.java.advanced.knittingapitest.util.ApiUser;
+import be.syntra.java.advanced.knittingapitest.util.ObjectMappers;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IntervalReporterTest {
+
+    /**
+     * Test that every report only holds the calls since the previous one, with the errors by status, per operation
+     */
+    @Test
+    void givenCallsInTwoIntervals_whenReport_thenShouldReportEachIntervalOnly(@TempDir Path directory) throws IOException {
+        // given
+        LatencyStats stats = new LatencyStats();
+        IntervalReporter reporter = new IntervalReporter(stats, config(directory.resolve("intervals.jsonl")));
+        reporter.start();
+        stats.record(Endpoint.GET_MEMBER, ApiUser.USER, 200, 2_000_000);
+        stats.record(Endpoint.GET_MEMBER, ApiUser.ADMIN, 404, 4_000_000);
+        stats.record(Endpoint.DELETE_MEMBER, ApiUser.USER, 403, 1_000_000);
+        stats.record(Endpoint.DELETE_MEMBER, ApiUser.SUPER_ADMIN, 503, 1_000_000);
+
+        // when
+        IntervalReporter.Line first = reporter.report();
+        stats.record(Endpoint.GET_MEMBER, ApiUser.USER, 0, 8_000_000);
+        IntervalReporter.Line second = reporter.report();
+
+        // then
+        assertEquals(4, first.getCount());
+        assertEquals(Map.of("403", 1L, "404", 1L, "5xx", 1L), first.getErrors());
+        IntervalReporter.Operation getMember = first.getOperations().get(0);
+        assertEquals(Endpoint.GET_MEMBER.getTemplate(), getMember.getOperation());
+        assertEquals(2, getMember.getCount());
+        assertEquals(Map.of("404", 1L), getMember.getErrors());
+        assertEquals(4.0, getMember.getMax(), 0.01);
+
+        assertEquals(1, second.getCount());
+        assertEquals(Map.of("none", 1L), second.getErrors());
+        assertEquals(0, second.getOperations().get(1).getCount());
+        assertEquals(8.0, second.getOperations().get(0).getP50(), 0.01);
+        reporter.close();
+    }
+
+    /**
+     * Test that every interval, including the last one on close, is appended to the report file as a JSON line
+     */
+    @Test
+    void givenReportFile_whenClose_thenShouldHaveAppendedALinePerInterval(@TempDir Path directory) throws IOException {
+        // given
+        Path file = directory.resolve("reports").resolve("intervals.jsonl");
+        LatencyStats stats = new LatencyStats();
+        IntervalReporter reporter = new IntervalReporter(stats, config(file));
+        reporter.start();
+        stats.record(Endpoint.POST_MEMBER, ApiUser.ADMIN, 401, 3_000_000);
+        reporter.report();
+        stats.record(Endpoint.POST_MEMBER, ApiUser.ADMIN, 201, 3_000_000);
+
+        // when
+        reporter.close();
+
+        // then
+        ObjectMapper objectMapper = ObjectMappers.create();
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals(1, first.get("errors").get("401").asLong());
+        assertEquals(Endpoint.POST_MEMBER.getTemplate(), first.get("operations").get(0).get("operation").asText());
+        JsonNode last = objectMapper.readTree(lines.get(1));
+        assertEquals(1, last.get("count").asLong());
+        assertTrue(last.get("errors").isEmpty());
+        assertTrue(last.get("elapsedSeconds").asDouble() >= first.get("elapsedSeconds").asDouble());
+    }
+
+    private static IntervalConfig config(Path file) {
+        // long enough not to report on its own during the test
+        return IntervalConfig.builder()
+                .interval(Duration.ofHours(1))
+                .file(file)
+                .build();
+    }
+}
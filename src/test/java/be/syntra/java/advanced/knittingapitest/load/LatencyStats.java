@@ -0,0 +1,210 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import be.syntra.java.advanced.knittingapitest.util.ApiUser;
+import lombok.Getter;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and error statistics per endpoint and per user.
+ *
+ * Recording is wait-free and allocation free, so many workers can record concurrently.
+ * Reading ({@link #entries()}) is meant for a single reporting thread.
+ */
+public class LatencyStats {
+    private final Entry[][] entries = new Entry[Endpoint.values().length][ApiUser.values().length];
+
+    public LatencyStats() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            for (ApiUser user : ApiUser.values()) {
+                entries[endpoint.ordinal()][user.ordinal()] = new Entry(endpoint, user);
+            }
+        }
+    }
+
+    /**
+     * Record the outcome of a single call.
+     *
+     * @param endpoint     the endpoint that was called
+     * @param user         the user the call was authenticated as
+     * @param status       the HTTP status code, or 0 when no response was received
+     * @param latencyNanos the time between sending the request and receiving the response
+     */
+    public void record(Endpoint endpoint, ApiUser user, int status, long latencyNanos) {
+        entries[endpoint.ordinal()][user.ordinal()].record(status, latencyNanos);
+    }
+
+    /**
+     * Record the outcome of a single call that was scheduled to start at an intended time.
+     *
+     * @param endpoint             the endpoint that was called
+     * @param user                 the user the call was authenticated as
+     * @param status               the HTTP status code, or 0 when no response was received
+     * @param latencyNanos         the time between sending the request and receiving the response
+     * @param intendedLatencyNanos the time between the intended send time and receiving the response
+     */
+    public void record(Endpoint endpoint, ApiUser user, int status, long latencyNanos, long intendedLatencyNanos) {
+        Entry entry = entries[endpoint.ordinal()][user.ordinal()];
+        entry.record(status, latencyNanos);
+        entry.intendedRecorder.recordValue(intendedLatencyNanos);
+        entry.intendedCount.increment();
+    }
+
+    /**
+     * Add the outcome of calls recorded elsewhere, e.g. in another JVM.
+     *
+     * @param endpoint  the endpoint that was called
+     * @param user      the user the calls were authenticated as
+     * @param errors    the number of calls without a 2xx response, per {@link ErrorStatus}, by ordinal
+     * @param histogram the latencies of the calls, in nanoseconds, one per call
+     */
+    public void add(Endpoint endpoint, ApiUser user, long[] errors, Histogram histogram) {
+        entries[endpoint.ordinal()][user.ordinal()].add(errors, histogram);
+    }
+
+    /**
+     * Get the statistics of every endpoint and user combination that was called at least once.
+     *
+     * @return the entries, ordered by endpoint and user
+     */
+    public List<Entry> entries() {
+        List<Entry> called = new ArrayList<>();
+        for (Entry[] endpointEntries : entries) {
+            for (Entry entry : endpointEntries) {
+                if (entry.getCount() > 0) {
+                    called.add(entry);
+                }
+            }
+        }
+        return called;
+    }
+
+    public static class Entry {
+        @Getter
+        private final Endpoint endpoint;
+        @Getter
+        private final ApiUser user;
+        private final Recorder recorder = new Recorder(3);
+        private final Histogram histogram = new Histogram(3);
+        /**
+         * Latencies drained from the recorder since the previous interval
+         */
+        private final Histogram interval = new Histogram(3);
+        private Histogram recycled;
+        private final Recorder intendedRecorder = new Recorder(3);
+        private final Histogram intendedHistogram = new Histogram(3);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder[] statusErrors = new LongAdder[ErrorStatus.values().length];
+        /**
+         * Errors per status up to the previous interval
+         */
+        private final long[] intervalErrors = new long[ErrorStatus.values().length];
+        private final LongAdder intendedCount = new LongAdder();
+
+        private Entry(Endpoint endpoint, ApiUser user) {
+            this.endpoint = endpoint;
+            this.user = user;
+            for (int i = 0; i < statusErrors.length; i++) {
+                statusErrors[i] = new LongAdder();
+            }
+        }
+
+        private void record(int status, long latencyNanos) {
+            recorder.recordValue(latencyNanos);
+            count.increment();
+            if (status < 200 || status >= 300) {
+                errors.increment();
+                statusErrors[ErrorStatus.of(status).ordinal()].increment();
+            }
+        }
+
+        private synchronized void add(long[] errors, Histogram histogram) {
+            this.histogram.add(histogram);
+            interval.add(histogram);
+            count.add(histogram.getTotalCount());
+            for (int i = 0; i < errors.length; i++) {
+                this.errors.add(errors[i]);
+                statusErrors[i].add(errors[i]);
+            }
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public long getErrors(ErrorStatus status) {
+            return statusErrors[status.ordinal()].sum();
+        }
+
+        /**
+         * Get all latencies recorded so far, in nanoseconds.
+         *
+         * @return the cumulative latency histogram
+         */
+        public synchronized Histogram getHistogram() {
+            drain();
+            return histogram;
+        }
+
+        /**
+         * Get the latencies recorded since the previous call, in nanoseconds, and start a new interval.
+         *
+         * @return the interval latency histogram, owned by the caller
+         */
+        public synchronized Histogram getIntervalHistogram() {
+            drain();
+            Histogram latencies = interval.copy();
+            interval.reset();
+            return latencies;
+        }
+
+        /**
+         * Get the errors recorded since the previous call, and start a new interval.
+         * Like {@link #getIntervalHistogram()}, meant for a single reader of intervals.
+         *
+         * @return the number of errors per {@link ErrorStatus}, by ordinal
+         */
+        public synchronized long[] getIntervalErrors() {
+            long[] errors = new long[statusErrors.length];
+            for (int i = 0; i < errors.length; i++) {
+                long total = statusErrors[i].sum();
+                errors[i] = total - intervalErrors[i];
+                intervalErrors[i] = total;
+            }
+            return errors;
+        }
+
+        private void drain() {
+            recycled = recorder.getIntervalHistogram(recycled);
+            histogram.add(recycled);
+            interval.add(recycled);
+        }
+
+        /**
+         * Whether latencies from the intended send time were recorded, i.e. the calls were made by an open-loop driver.
+         */
+        public boolean hasIntendedLatencies() {
+            return intendedCount.sum() > 0;
+        }
+
+        /**
+         * Get all latencies from the intended send time recorded so far, in nanoseconds.
+         * These are corrected for coordinated omission: time a call spent waiting to be sent is included.
+         *
+         * @return the cumulative latency histogram
+         */
+        public synchronized Histogram getIntendedHistogram() {
+            intendedHistogram.add(intendedRecorder.getIntervalHistogram());
+            return intendedHistogram;
+        }
+    }
+}
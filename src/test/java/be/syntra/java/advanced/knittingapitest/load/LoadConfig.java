@@ -0,0 +1,108 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+
+import static be.syntra.java.advanced.knittingapitest.util.TestHelper.RESOURCE_URL;
+
+/**
+ * Configuration of a closed-loop load run.
+ * A run stops when either the duration has passed or the iterations have been done, whichever comes first.
+ */
+@Getter
+@Builder
+public class LoadConfig {
+    @Builder.Default
+    private final String resourceUrl = RESOURCE_URL;
+    @Builder.Default
+    private final Scenario scenario = Scenario.INTEGRATION;
+    @Builder.Default
+    private final int workers = 1;
+    @Builder.Default
+    private final Threads threads = Threads.PLATFORM;
+    @Builder.Default
+    private final ClientKind client = ClientKind.BLOCKING;
+    /**
+     * Number of event loop threads of the reactive client, or of response threads of the HTTP/2 client
+     */
+    @Builder.Default
+    private final int eventLoopThreads = Runtime.getRuntime().availableProcessors();
+    /**
+     * Number of connections the HTTP/2 client multiplexes the requests over
+     */
+    @Builder.Default
+    private final int http2Connections = 4;
+    @Builder.Default
+    private final Duration duration = Duration.ofSeconds(30);
+    /**
+     * Total number of scenario iterations over all workers, 0 for no limit
+     */
+    @Builder.Default
+    private final long iterations = 0;
+
+    /**
+     * Read the configuration from system properties:
+     * {@code load.scenario}, {@code load.workers}, {@code load.threads} ({@code platform} or {@code virtual}),
+     * {@code load.client} ({@code blocking}, {@code reactive} or {@code http2}), {@code load.eventLoopThreads},
+     * {@code load.http2Connections},
+     * {@code load.duration} (e.g. {@code 90s}, {@code 5m}) and {@code load.iterations}.
+     *
+     * @return the configuration, with defaults for missing properties
+     */
+    public static LoadConfig fromSystemProperties() {
+        LoadConfigBuilder builder = LoadConfig.builder();
+        String scenario = System.getProperty("load.scenario");
+        if (scenario != null) {
+            builder.scenario(Scenario.valueOf(scenario.toUpperCase()));
+        }
+        String workers = System.getProperty("load.workers");
+        if (workers != null) {
+            builder.workers(Integer.parseInt(workers));
+        }
+        String threads = System.getProperty("load.threads");
+        if (threads != null) {
+            builder.threads(Threads.valueOf(threads.toUpperCase()));
+        }
+        String client = System.getProperty("load.client");
+        if (client != null) {
+            builder.client(ClientKind.valueOf(client.toUpperCase()));
+        }
+        String eventLoopThreads = System.getProperty("load.eventLoopThreads");
+        if (eventLoopThreads != null) {
+            builder.eventLoopThreads(Integer.parseInt(eventLoopThreads));
+        }
+        String http2Connections = System.getProperty("load.http2Connections");
+        if (http2Connections != null) {
+            builder.http2Connections(Integer.parseInt(http2Connections));
+        }
+        String duration = System.getProperty("load.duration");
+        if (duration != null) {
+            builder.duration(DurationStyle.detectAndParse(duration));
+        }
+        String iterations = System.getProperty("load.iterations");
+        if (iterations != null) {
+            builder.iterations(Long.parseLong(iterations));
+        }
+        return builder.build();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("scenario=%s workers=%d %s duration=%s iterations=%s",
+                scenario, workers, clientDescription(), duration, iterations == 0 ? "unlimited" : iterations);
+    }
+
+    private String clientDescription() {
+        switch (client) {
+            case REACTIVE:
+                return "client=REACTIVE eventLoopThreads=" + eventLoopThreads;
+            case HTTP2:
+                return "client=HTTP2 connections=" + http2Connections + " threads=" + eventLoopThreads;
+            default:
+                return "threads=" + threads;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import be.syntra.java.advanced.knittingapitest.util.KnittingApi;
+import be.syntra.java.advanced.knittingapitest.util.ObjectMappers;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static be.syntra.java.advanced.knittingapitest.load.LoadProtocol.*;
+
+/**
+ * Runs a {@link Workload} from several worker JVMs in lockstep and merges their latencies into one report,
+ * so the load is not limited by the garbage collector or network of a single client JVM.
+ *
+ * The coordinator listens on a plain socket for {@link LoadWorker}s. Every worker gets the workload, with seeds of its own,
+ * and creates its pool of members; when every worker is ready, all of them start at once.
+ * The workers send the latency histograms and errors they recorded every interval, which the coordinator adds up
+ * and reports live with an {@link IntervalReporter}: as configured by {@code report.*}, or printed every interval otherwise.
+ * The users of the workload are per worker.
+ *
+ * Spawned workers run on this machine with the classpath of the coordinator,
+ * and write their output and client metrics to the worker directory.
+ */
+@RequiredArgsConstructor
+public class LoadCoordinator {
+    /**
+     * Prefixes of the system properties passed on to spawned workers
+     */
+    private static final List<String> INHERITED_PROPERTIES = List.of("client.", "schema.");
+
+    private final DistributedConfig config;
+    private final Workload workload;
+    private final ObjectMapper objectMapper = ObjectMappers.create();
+
+    public LoadReport run() throws IOException, InterruptedException {
+        workload.validate();
+        LatencyStats stats = new LatencyStats();
+        List<Process> processes = new ArrayList<>();
+        List<Socket> sockets = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(config.getWorkers());
+        try (ServerSocket server = new ServerSocket(config.getPort());
+             IntervalReporter reporter = new IntervalReporter(stats, reportConfig())) {
+            if (config.isSpawn()) {
+                processes.addAll(spawn(server.getLocalPort()));
+            }
+            server.setSoTimeout((int) config.getConnectTimeout().toMillis());
+            List<Connection> workers = new ArrayList<>();
+            for (int i = 0; i < config.getWorkers(); i++) {
+                Socket socket = server.accept();
+                sockets.add(socket);
+                socket.setTcpNoDelay(true);
+                socket.setSoTimeout((int) config.getConnectTimeout().toMillis());
+                workers.add(new Connection(socket, i));
+            }
+            for (Connection worker : workers) {
+                worker.prepare();
+            }
+            for (Connection worker : workers) {
+                worker.awaitReady();
+            }
+            for (Connection worker : workers) {
+                worker.go();
+            }
+
+            long startNanos = System.nanoTime();
+            reporter.start();
+            List<Future<long[]>> results = new ArrayList<>();
+            for (Connection worker : workers) {
+                results.add(executor.submit(() -> worker.receive(stats)));
+            }
+            long elapsedNanos = 0;
+            long failedIterations = 0;
+            for (Future<long[]> result : results) {
+                long[] done = await(result, reporter, startNanos);
+                elapsedNanos = Math.max(elapsedNanos, done[0]);
+                failedIterations += done[1];
+            }
+            return new LoadReport(String.format("distributed %s: %s", config, workload), stats, elapsedNanos, failedIterations);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A worker failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+            for (Socket socket : sockets) {
+                socket.close();
+            }
+            for (Process process : processes) {
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            }
+        }
+    }
+
+    /**
+     * The live report configured by {@code report.*}, or else a line printed every interval of the workers.
+     */
+    private IntervalConfig reportConfig() {
+        IntervalConfig reportConfig = IntervalConfig.fromSystemProperties();
+        return reportConfig.isEnabled() ? reportConfig : IntervalConfig.builder().interval(config.getInterval()).file(null).build();
+    }
+
+    /**
+     * Wait for the result of a worker, ending the live report once the duration has passed,
+     * after which the workers delete their members.
+     */
+    private long[] await(Future<long[]> result, IntervalReporter reporter, long startNanos)
+            throws InterruptedException, ExecutionException, IOException {
+        long endNanos = workload.getDuration().plus(config.getInterval()).toNanos();
+        while (true) {
+            try {
+                return result.get(config.getInterval().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (System.nanoTime() - startNanos > endNanos) {
+                    reporter.close();
+                }
+            }
+        }
+    }
+
+    private List<Process> spawn(int port) throws IOException {
+        Path directory = config.getWorkerDirectory();
+        Files.createDirectories(directory);
+        List<Process> processes = new ArrayList<>();
+        for (int i = 0; i < config.getWorkers(); i++) {
+            List<String> command = new ArrayList<>();
+            command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+            if (!config.getWorkerJvmOptions().isBlank()) {
+                command.addAll(Arrays.asList(config.getWorkerJvmOptions().trim().split("\\s+")));
+            }
+            command.add("-D" + KnittingApi.URL_PROPERTY + "=" + KnittingApi.baseUrl());
+            command.add("-Dclient.metrics.dir=" + directory.resolve("worker-" + i));
+            System.getProperties().stringPropertyNames().stream()
+                    .filter(name -> INHERITED_PROPERTIES.stream().anyMatch(name::startsWith) && !name.equals("client.metrics.dir"))
+                    .forEach(name -> command.add("-D" + name + "=" + System.getProperty(name)));
+            command.addAll(List.of("-cp", System.getProperty("java.class.path"), LoadWorker.class.getName(), "localhost", String.valueOf(port)));
+            processes.add(new ProcessBuilder(command)
+                    .redirectErrorStream(true)
+                    .redirectOutput(directory.resolve("worker-" + i + ".log").toFile())
+                    .start());
+        }
+        return processes;
+    }
+
+    /**
+     * The connection with a worker.
+     */
+    private class Connection {
+        private final int index;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+        private final String name;
+
+        Connection(Socket socket, int index) throws IOException {
+            this.index = index;
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            readType(in, HELLO);
+            int version = in.readInt();
+            this.name = in.readUTF();
+            if (version != VERSION) {
+                throw new IllegalStateException("Worker " + name + " speaks protocol " + version + ", the coordinator " + VERSION);
+            }
+        }
+
+        /**
+         * Send the workload, with seeds that differ from those of the other workers.
+         */
+        void prepare() throws IOException {
+            ObjectNode json = objectMapper.valueToTree(workload);
+            json.put("seed", workload.getSeed() + (long) index * workload.getUsers());
+            out.writeByte(PREPARE);
+            out.writeUTF(KnittingApi.baseUrl());
+            out.writeLong(config.getInterval().toMillis());
+            writeBytes(out, objectMapper.writeValueAsBytes(json));
+            out.flush();
+        }
+
+        void awaitReady() throws IOException {
+            try {
+                readType(in, READY);
+            } catch (IllegalStateException e) {
+                throw new IllegalStateException("Worker " + name + " failed: " + e.getMessage(), e);
+            }
+        }
+
+        void go() throws IOException {
+            out.writeByte(GO);
+            out.flush();
+        }
+
+        /**
+         * Add the intervals of the worker to the statistics, until the worker is done.
+         *
+         * @return the elapsed nanoseconds and failed iterations of the worker
+         */
+        long[] receive(LatencyStats stats) throws IOException {
+            while (true) {
+                byte type;
+                try {
+                    type = readType(in, INTERVAL, DONE);
+                } catch (IllegalStateException e) {
+                    throw new IllegalStateException("Worker " + name + " failed: " + e.getMessage(), e);
+                }
+                if (type == DONE) {
+                    return new long[]{in.readLong(), in.readLong()};
+                }
+                for (Interval interval : readInterval(in)) {
+                    stats.add(interval.getEndpoint(), interval.getUser(), interval.getErrors(), interval.getHistogram());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import be.syntra.java.advanced.knittingapitest.util.ApiUser;
+import be.syntra.java.advanced.knittingapitest.util.LatencyBudget;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ResourceLock(LatencyBudget.SERVER_LOAD)
+public class LoadCoordinatorTest {
+
+    /**
+     * Test that the intervals of workers that connect on their own are merged into one report
+     */
+    @Test
+    void givenConnectingWorkers_whenRun_thenShouldMergeTheirIntervals() throws Exception {
+        // given
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        DistributedConfig config = DistributedConfig.builder()
+                .workers(2)
+                .port(port)
+                .spawn(false)
+                .interval(Duration.ofMillis(200))
+                .build();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // when
+        List<Future<Object>> workers = List.of(
+                executor.submit(() -> run(port)),
+                executor.submit(() -> run(port)));
+        LoadReport report = new LoadCoordinator(config, workload(1)).run();
+
+        // then
+        for (Future<Object> worker : workers) {
+            worker.get();
+        }
+        executor.shutdown();
+        LoadReport.Row getMember = report.row(Endpoint.GET_MEMBER, ApiUser.USER);
+        LoadReport.Row getMembers = report.row(Endpoint.GET_MEMBERS, ApiUser.USER);
+        assertTrue(getMember.getCount() > 0 && getMembers.getCount() > 0, report.toString());
+        assertEquals(getMember.getCount(), getMember.getHistogram().getTotalCount());
+        assertTrue(report.getRows().stream().allMatch(row -> row.getErrors() == 0), report.toString());
+        assertEquals(0, report.getFailedIterations());
+        assertTrue(report.getElapsedNanos() >= Duration.ofSeconds(1).toNanos());
+    }
+
+    /**
+     * Test a run of two worker processes spawned on this machine
+     */
+    @Test
+    void givenSpawnedWorkers_whenRun_thenShouldReportTheirCalls(@TempDir Path directory) throws IOException, InterruptedException {
+        // given
+        DistributedConfig config = DistributedConfig.builder()
+                .workers(2)
+                .workerJvmOptions("-Xmx128m -XX:TieredStopAtLevel=1")
+                .workerDirectory(directory)
+                .build();
+
+        // when
+        LoadReport report = new LoadCoordinator(config, workload(2)).run();
+
+        // then
+        assertTrue(report.row(Endpoint.GET_MEMBER, ApiUser.USER).getCount() > 0, report.toString());
+        assertEquals(0, report.getFailedIterations());
+        assertTrue(Files.exists(directory.resolve("worker-0.log")));
+        assertTrue(Files.exists(directory.resolve("worker-1.log")));
+    }
+
+    private static Object run(int port) throws Exception {
+        LoadWorker.run("localhost", port);
+        return null;
+    }
+
+    private static Workload workload(int seconds) {
+        Workload workload = new Workload();
+        workload.setUsers(2);
+        workload.setDuration(Duration.ofSeconds(seconds));
+        workload.getIds().setMembers(4);
+        Workload.Operation getMember = new Workload.Operation();
+        getMember.setEndpoint(Endpoint.GET_MEMBER);
+        getMember.setWeight(3);
+        getMember.setUser(ApiUser.USER);
+        Workload.Operation getMembers = new Workload.Operation();
+        getMembers.setEndpoint(Endpoint.GET_MEMBERS);
+        getMembers.setWeight(1);
+        getMembers.setUser(ApiUser.USER);
+        workload.setOperations(List.of(getMember, getMembers));
+        return workload;
+    }
+}
@@ -0,0 +1,129 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import be.syntra.java.advanced.knittingapitest.util.ApiUser;
+import lombok.Value;
+import org.HdrHistogram.Histogram;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+
+/**
+ * The messages between a {@link LoadCoordinator} and its {@link LoadWorker}s over a plain socket:
+ * a type byte followed by the fields of the message, written with {@link DataOutputStream}.
+ *
+ * <pre>
+ * worker:      HELLO version name, READY, INTERVAL entries, DONE elapsedNanos failedIterations, FAILED message
+ * coordinator: PREPARE baseUrl intervalMillis workload, GO
+ * </pre>
+ *
+ * An interval holds, per endpoint and user called in the interval, the number of errors per {@link ErrorStatus}
+ * and the compressed histogram of the latencies.
+ */
+final class LoadProtocol {
+    static final int VERSION = 2;
+
+    static final byte HELLO = 1;
+    static final byte READY = 2;
+    static final byte INTERVAL = 3;
+    static final byte DONE = 4;
+    static final byte FAILED = 5;
+    static final byte PREPARE = 10;
+    static final byte GO = 11;
+
+    private LoadProtocol() {
+    }
+
+    static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * Read the type of the next message.
+     *
+     * @param expected the types that may come next
+     * @return the type
+     * @throws IllegalStateException when the peer failed, with its message, or sent another message
+     */
+    static byte readType(DataInputStream in, byte... expected) throws IOException {
+        byte type = in.readByte();
+        if (type == FAILED) {
+            throw new IllegalStateException(in.readUTF());
+        }
+        for (byte allowed : expected) {
+            if (type == allowed) {
+                return type;
+            }
+        }
+        throw new IllegalStateException("Unexpected message " + type);
+    }
+
+    static void writeInterval(DataOutputStream out, List<Interval> intervals) throws IOException {
+        out.writeByte(INTERVAL);
+        out.writeInt(intervals.size());
+        ByteBuffer buffer = null;
+        for (Interval interval : intervals) {
+            int capacity = interval.getHistogram().getNeededByteBufferCapacity();
+            if (buffer == null || buffer.capacity() < capacity) {
+                buffer = ByteBuffer.allocate(capacity);
+            }
+            buffer.clear();
+            int length = interval.getHistogram().encodeIntoCompressedByteBuffer(buffer);
+            out.writeByte(interval.getEndpoint().ordinal());
+            out.writeByte(interval.getUser().ordinal());
+            for (long errors : interval.getErrors()) {
+                out.writeLong(errors);
+            }
+            out.writeInt(length);
+            out.write(buffer.array(), 0, length);
+        }
+    }
+
+    /**
+     * Read the body of an {@link #INTERVAL} message.
+     */
+    static List<Interval> readInterval(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        List<Interval> intervals = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Endpoint endpoint = Endpoint.values()[in.readUnsignedByte()];
+            ApiUser user = ApiUser.values()[in.readUnsignedByte()];
+            long[] errors = new long[ErrorStatus.values().length];
+            for (int j = 0; j < errors.length; j++) {
+                errors[j] = in.readLong();
+            }
+            try {
+                Histogram histogram = Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(readBytes(in)), 0);
+                intervals.add(new Interval(endpoint, user, errors, histogram));
+            } catch (DataFormatException e) {
+                throw new IOException("Corrupt histogram of " + endpoint + " as " + user, e);
+            }
+        }
+        return intervals;
+    }
+
+    /**
+     * The calls to an endpoint as a user in an interval.
+     */
+    @Value
+    static class Interval {
+        Endpoint endpoint;
+        ApiUser user;
+        /**
+         * The number of errors per {@link ErrorStatus}, by ordinal
+         */
+        long[] errors;
+        Histogram histogram;
+    }
+}
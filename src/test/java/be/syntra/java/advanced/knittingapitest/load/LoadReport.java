@@ -0,0 +1,159 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import be.syntra.java.advanced.knittingapitest.util.ApiUser;
+import lombok.Getter;
+import lombok.Value;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Throughput and latency percentiles of a load run,
+ * per endpoint and user, per endpoint and per user.
+ *
+ * For open-loop runs the report also holds the latencies measured from the intended send time,
+ * corrected for coordinated omission.
+ */
+@Getter
+public class LoadReport {
+    private final String description;
+    private final long elapsedNanos;
+    private final long failedIterations;
+    private final List<Row> rows;
+    private final List<Row> correctedRows;
+
+    public LoadReport(String description, LatencyStats stats, long elapsedNanos, long failedIterations) {
+        this.description = description;
+        this.elapsedNanos = elapsedNanos;
+        this.failedIterations = failedIterations;
+
+        List<LatencyStats.Entry> entries = stats.entries();
+        this.rows = rows(entries, LatencyStats.Entry::getHistogram, elapsedNanos);
+        this.correctedRows = entries.stream().anyMatch(LatencyStats.Entry::hasIntendedLatencies)
+                ? rows(entries, LatencyStats.Entry::getIntendedHistogram, elapsedNanos)
+                : List.of();
+    }
+
+    private static List<Row> rows(List<LatencyStats.Entry> entries, Function<LatencyStats.Entry, Histogram> histogramOf, long elapsedNanos) {
+        List<Row> rows = new ArrayList<>();
+        Map<Endpoint, Row.Totals> endpointTotals = new EnumMap<>(Endpoint.class);
+        Map<ApiUser, Row.Totals> userTotals = new EnumMap<>(ApiUser.class);
+        for (LatencyStats.Entry entry : entries) {
+            Histogram histogram = histogramOf.apply(entry);
+            rows.add(Row.of(name(entry.getEndpoint(), entry.getUser()), entry.getCount(), entry.getErrors(), histogram, elapsedNanos));
+            endpointTotals.computeIfAbsent(entry.getEndpoint(), e -> new Row.Totals()).add(entry.getCount(), entry.getErrors(), histogram);
+            userTotals.computeIfAbsent(entry.getUser(), u -> new Row.Totals()).add(entry.getCount(), entry.getErrors(), histogram);
+        }
+        endpointTotals.forEach((endpoint, totals) -> rows.add(totals.toRow(endpoint.getTemplate(), elapsedNanos)));
+        userTotals.forEach((user, totals) -> rows.add(totals.toRow("as " + user.getUsername(), elapsedNanos)));
+        return rows;
+    }
+
+    private static String name(Endpoint endpoint, ApiUser user) {
+        return endpoint.getTemplate() + " as " + user.getUsername();
+    }
+
+    /**
+     * Get the row of a single endpoint and user.
+     *
+     * @return the row, or null when the endpoint was never called as the user
+     */
+    public Row row(Endpoint endpoint, ApiUser user) {
+        return find(rows, name(endpoint, user));
+    }
+
+    /**
+     * Get the corrected row of a single endpoint and user.
+     *
+     * @return the row, or null when the endpoint was never called as the user in an open-loop run
+     */
+    public Row correctedRow(Endpoint endpoint, ApiUser user) {
+        return find(correctedRows, name(endpoint, user));
+    }
+
+    private static Row find(List<Row> rows, String name) {
+        return rows.stream().filter(row -> row.getName().equals(name)).findFirst().orElse(null);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder()
+                .append(description).append('\n')
+                .append(String.format("elapsed: %.1f s, failed iterations: %d%n", elapsedNanos / 1e9, failedIterations));
+        appendTable(report, "latency from actual send time", rows);
+        if (!correctedRows.isEmpty()) {
+            appendTable(report, "latency from intended send time (corrected for coordinated omission)", correctedRows);
+        }
+        return report.toString();
+    }
+
+    private static void appendTable(StringBuilder report, String title, List<Row> rows) {
+        report.append(title).append('\n')
+                .append(String.format("%-40s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                        "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        rows.forEach(row -> report.append(row).append('\n'));
+    }
+
+    @Value
+    public static class Row {
+        String name;
+        long count;
+        long errors;
+        double throughput;
+        double p50;
+        double p90;
+        double p99;
+        double p999;
+        double max;
+        /**
+         * The latencies of the row, in nanoseconds
+         */
+        Histogram histogram;
+
+        static Row of(String name, long count, long errors, Histogram histogram, long elapsedNanos) {
+            return new Row(
+                    name,
+                    count,
+                    errors,
+                    count / (elapsedNanos / 1e9),
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()),
+                    histogram
+            );
+        }
+
+        private static double millis(long nanos) {
+            return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-40s %10d %8d %10.1f %9.3f %9.3f %9.3f %9.3f %9.3f",
+                    name, count, errors, throughput, p50, p90, p99, p999, max);
+        }
+
+        private static class Totals {
+            private final Histogram histogram = new Histogram(3);
+            private long count;
+            private long errors;
+
+            void add(long count, long errors, Histogram histogram) {
+                this.count += count;
+                this.errors += errors;
+                this.histogram.add(histogram);
+            }
+
+            Row toRow(String name, long elapsedNanos) {
+                return Row.of(name, count, errors, histogram, elapsedNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import be.syntra.java.advanced.knittingapitest.util.KnittingApi;
+import be.syntra.java.advanced.knittingapitest.util.ObjectMappers;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.net.ConnectException;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static be.syntra.java.advanced.knittingapitest.load.LoadProtocol.*;
+
+/**
+ * A worker JVM of a distributed load run, see {@link LoadCoordinator}: connects to the coordinator,
+ * runs the workload it gets once every worker is ready, and sends the latencies it recorded every interval.
+ *
+ * {@code java -cp <test classpath> be.syntra.java.advanced.knittingapitest.load.LoadWorker <coordinator host> <port>}
+ */
+public class LoadWorker {
+    private static final int CONNECT_ATTEMPTS = 120;
+
+    private final DataInputStream in;
+    private final DataOutputStream out;
+    private final LatencyStats stats = new LatencyStats();
+
+    private LoadWorker(Socket socket) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Usage: LoadWorker <coordinator host> <port>");
+            System.exit(2);
+        }
+        try {
+            run(args[0], Integer.parseInt(args[1]));
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+        // the HTTP clients leave threads behind
+        System.exit(0);
+    }
+
+    /**
+     * Connect to a coordinator and run the workload it sends.
+     * Workers may start before the coordinator: connecting is retried for {@value #CONNECT_ATTEMPTS} half seconds.
+     *
+     * @throws IOException           when the connection to the coordinator failed
+     * @throws IllegalStateException when the coordinator sent something unexpected
+     */
+    static void run(String host, int port) throws IOException, InterruptedException {
+        try (Socket socket = connect(host, port)) {
+            socket.setTcpNoDelay(true);
+            new LoadWorker(socket).run();
+        }
+    }
+
+    private static Socket connect(String host, int port) throws IOException, InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return new Socket(host, port);
+            } catch (ConnectException e) {
+                if (attempt == CONNECT_ATTEMPTS) {
+                    throw e;
+                }
+                Thread.sleep(500);
+            }
+        }
+    }
+
+    private void run() throws IOException, InterruptedException {
+        synchronized (out) {
+            out.writeByte(HELLO);
+            out.writeInt(VERSION);
+            out.writeUTF(ManagementFactory.getRuntimeMXBean().getName());
+            out.flush();
+        }
+        readType(in, PREPARE);
+        String baseUrl = in.readUTF();
+        long intervalMillis = in.readLong();
+        byte[] json = readBytes(in);
+        if (System.getProperty(KnittingApi.URL_PROPERTY) == null) {
+            // before the workload refers to the API, so this JVM does not start one of its own
+            System.setProperty(KnittingApi.URL_PROPERTY, baseUrl);
+        }
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            Workload workload = ObjectMappers.create().readValue(json, Workload.class);
+            LoadReport report = new WorkloadRunner(workload).run(stats, () -> {
+                try {
+                    synchronized (out) {
+                        out.writeByte(READY);
+                        out.flush();
+                    }
+                    readType(in, GO);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                scheduler.scheduleAtFixedRate(this::sendInterval, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+            });
+            scheduler.shutdown();
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+            sendInterval();
+            synchronized (out) {
+                out.writeByte(DONE);
+                out.writeLong(report.getElapsedNanos());
+                out.writeLong(report.getFailedIterations());
+                out.flush();
+            }
+        } catch (RuntimeException e) {
+            synchronized (out) {
+                out.writeByte(FAILED);
+                out.writeUTF(String.valueOf(e));
+                out.flush();
+            }
+            throw e;
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Send the latencies and errors recorded since the previous interval.
+     */
+    private void sendInterval() {
+        List<Interval> intervals = new ArrayList<>();
+        for (LatencyStats.Entry entry : stats.entries()) {
+            intervals.add(new Interval(entry.getEndpoint(), entry.getUser(), entry.getIntervalErrors(), entry.getIntervalHistogram()));
+        }
+        try {
+            synchronized (out) {
+                writeInterval(out, intervals);
+                out.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lost the coordinator", e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+
+import java.util.TreeMap;
+
+/**
+ * The Mann-Whitney U test on latency histograms: whether the latencies of one run tend to be higher than those of another,
+ * without assuming how they are distributed.
+ *
+ * Latencies in the same histogram bucket count as ties; the p-value is the normal approximation
+ * with tie and continuity correction, which is accurate from about 20 latencies per run.
+ */
+final class MannWhitney {
+
+    private MannWhitney() {
+    }
+
+    /**
+     * Get the one-sided p-value of the latencies of the current run being higher than those of the baseline.
+     *
+     * @param baseline the latencies of the baseline run
+     * @param current  the latencies of the current run, with the same number of significant digits
+     * @return the probability of latencies this much higher, or higher, when the runs do not differ; 1 when either run has none
+     */
+    static double pValueGreater(Histogram baseline, Histogram current) {
+        double n1 = baseline.getTotalCount();
+        double n2 = current.getTotalCount();
+        if (n1 == 0 || n2 == 0) {
+            return 1;
+        }
+        TreeMap<Long, long[]> counts = new TreeMap<>();
+        addCounts(counts, baseline, 0);
+        addCounts(counts, current, 1);
+
+        double rank = 0;
+        double currentRankSum = 0;
+        double ties = 0;
+        for (long[] count : counts.values()) {
+            double tied = count[0] + count[1];
+            currentRankSum += count[1] * (rank + (tied + 1) / 2);
+            rank += tied;
+            ties += tied * tied * tied - tied;
+        }
+        double u = currentRankSum - n2 * (n2 + 1) / 2;
+        double n = n1 + n2;
+        double variance = n1 * n2 / 12 * ((n + 1) - ties / (n * (n - 1)));
+        if (variance <= 0) {
+            return 1;
+        }
+        double z = (u - n1 * n2 / 2 - 0.5) / Math.sqrt(variance);
+        return upperTail(z);
+    }
+
+    private static void addCounts(TreeMap<Long, long[]> counts, Histogram histogram, int run) {
+        for (HistogramIterationValue value : histogram.recordedValues()) {
+            long bucket = histogram.lowestEquivalentValue(value.getValueIteratedTo());
+            counts.computeIfAbsent(bucket, b -> new long[2])[run] += value.getCountAtValueIteratedTo();
+        }
+    }
+
+    /**
+     * @return the probability of a standard normal value above z
+     */
+    static double upperTail(double z) {
+        return 0.5 * erfc(z / Math.sqrt(2));
+    }
+
+    /**
+     * The complementary error function, with a fractional error below 1.2e-7 (Numerical Recipes, erfcc).
+     */
+    private static double erfc(double x) {
+        double t = 1 / (1 + 0.5 * Math.abs(x));
+        double result = t * Math.exp(-x * x - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+                + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587
+                + t * (-0.82215223 + t * 0.17087277)))))))));
+        return x >= 0 ? result : 2 - result;
+    }
+}
@@ -0,0 +1,74 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MannWhitneyTest {
+
+    /**
+     * Test the p-value of two small samples that do not overlap against its normal approximation worked out by hand
+     */
+    @Test
+    void givenSeparatedSamples_whenPValueGreater_thenShouldMatchNormalApproximation() {
+        // given
+        Histogram baseline = histogram(1, 2, 3, 4, 5);
+        Histogram current = histogram(6, 7, 8, 9, 10);
+
+        // when
+        double pValue = MannWhitney.pValueGreater(baseline, current);
+        double reversed = MannWhitney.pValueGreater(current, baseline);
+
+        // then: U = 25, mean 12.5, variance 22.92, z = (25 - 12.5 - 0.5) / 4.787 = 2.507
+        assertEquals(0.0061, pValue, 0.0002);
+        assertTrue(reversed > 0.99, String.valueOf(reversed));
+    }
+
+    /**
+     * Test that samples of the same distribution do not differ, and that a shift of 10% in large samples does
+     */
+    @Test
+    void givenLargeSamples_whenPValueGreater_thenShouldOnlyDetectTheShift() {
+        // given
+        Random random = new Random(21);
+        Histogram baseline = new Histogram(3);
+        Histogram same = new Histogram(3);
+        Histogram slower = new Histogram(3);
+        for (int i = 0; i < 5000; i++) {
+            baseline.recordValue(latencyNanos(random, 1));
+            same.recordValue(latencyNanos(random, 1));
+            slower.recordValue(latencyNanos(random, 1.1));
+        }
+
+        // when
+        double sameP = MannWhitney.pValueGreater(baseline, same);
+        double slowerP = MannWhitney.pValueGreater(baseline, slower);
+
+        // then
+        assertTrue(sameP > 0.01, String.valueOf(sameP));
+        assertTrue(slowerP < 1e-6, String.valueOf(slowerP));
+    }
+
+    /**
+     * Test that identical latencies, all tied, are not a difference
+     */
+    @Test
+    void givenAllTied_whenPValueGreater_thenShouldBeOne() {
+        assertEquals(1, MannWhitney.pValueGreater(histogram(5, 5, 5), histogram(5, 5)));
+    }
+
+    private static long latencyNanos(Random random, double factor) {
+        return (long) (factor * 2_000_000 * Math.exp(0.5 * random.nextGaussian()));
+    }
+
+    private static Histogram histogram(long... values) {
+        Histogram histogram = new Histogram(3);
+        for (long value : values) {
+            histogram.recordValue(value);
+        }
+        return histogram;
+    }
+}
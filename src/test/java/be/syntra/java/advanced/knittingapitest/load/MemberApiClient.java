@@ -0,0 +1,129 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import be.syntra.java.advanced.knittingapitest.dto.Member;
+import be.syntra.java.advanced.knittingapitest.dto.MemberList;
+import be.syntra.java.advanced.knittingapitest.util.ApiClients;
+import be.syntra.java.advanced.knittingapitest.util.ApiUser;
+import be.syntra.java.advanced.knittingapitest.util.ClientConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.OptionalLong;
+
+/**
+ * Blocking client for the members endpoints that records the latency and status of every call.
+ * Safe to share between workers.
+ */
+public class MemberApiClient implements AutoCloseable {
+    private final String resourceUrl;
+    private final LatencyStats stats;
+    private final CloseableHttpClient httpClient;
+    private final RestTemplate restTemplate;
+    /**
+     * Time between the intended and the actual start of the calls, negative when calls are not scheduled
+     */
+    private final long lagNanos;
+
+    /**
+     * @param resourceUrl    the url of the members resource
+     * @param stats          the statistics to record every call in
+     * @param maxConnections the maximum number of concurrent connections to the API
+     */
+    public MemberApiClient(String resourceUrl, LatencyStats stats, int maxConnections) {
+        this.resourceUrl = resourceUrl;
+        this.stats = stats;
+        this.httpClient = ApiClients.newHttpClient(ClientConfig.fromSystemProperties().withMaxConnections(maxConnections));
+        this.restTemplate = ApiClients.newTestRestTemplate(httpClient).getRestTemplate();
+        this.lagNanos = -1;
+    }
+
+    private MemberApiClient(MemberApiClient client, long lagNanos) {
+        this.resourceUrl = client.resourceUrl;
+        this.stats = client.stats;
+        this.httpClient = client.httpClient;
+        this.restTemplate = client.restTemplate;
+        this.lagNanos = lagNanos;
+    }
+
+    /**
+     * Get a view on this client for calls that were meant to start at the given time.
+     * Calls made through the view also record their latency from the intended start,
+     * shifted by however late the view was created.
+     * The view shares the connections of this client and must not be closed.
+     *
+     * @param intendedStartNanos the intended start, in {@link System#nanoTime()} units
+     * @return a client recording latencies from the intended start
+     */
+    public MemberApiClient scheduledAt(long intendedStartNanos) {
+        return new MemberApiClient(this, Math.max(0, System.nanoTime() - intendedStartNanos));
+    }
+
+    public ResponseEntity<MemberList> getMembers(ApiUser user) {
+        return call(Endpoint.GET_MEMBERS, user, resourceUrl, HttpMethod.GET, null, MemberList.class);
+    }
+
+    public ResponseEntity<Member> getMember(ApiUser user, long id) {
+        return call(Endpoint.GET_MEMBER, user, resourceUrl + "/" + id, HttpMethod.GET, null, Member.class);
+    }
+
+    /**
+     * Create a member.
+     *
+     * @return the id of the created member, empty when the member could not be created
+     */
+    public OptionalLong createMember(ApiUser user, Member member) {
+        ResponseEntity<Void> response = call(Endpoint.POST_MEMBER, user, resourceUrl, HttpMethod.POST, member, Void.class);
+        URI location = response == null ? null : response.getHeaders().getLocation();
+        if (location == null) {
+            return OptionalLong.empty();
+        }
+        String path = location.getPath();
+        return OptionalLong.of(Long.parseLong(path.substring(path.lastIndexOf('/') + 1)));
+    }
+
+    public ResponseEntity<Void> updateMember(ApiUser user, long id, Member member) {
+        return call(Endpoint.PUT_MEMBER, user, resourceUrl + "/" + id, HttpMethod.PUT, member, Void.class);
+    }
+
+    public ResponseEntity<Void> deleteMember(ApiUser user, long id) {
+        return call(Endpoint.DELETE_MEMBER, user, resourceUrl + "/" + id, HttpMethod.DELETE, null, Void.class);
+    }
+
+    /**
+     * Call an endpoint and record the outcome.
+     *
+     * @return the response, or null when no response was received
+     */
+    private <T> ResponseEntity<T> call(Endpoint endpoint, ApiUser user, String url, HttpMethod method, Object body, Class<T> responseType) {
+        HttpEntity<Object> request = new HttpEntity<>(body, user.getHeaders());
+
+        long start = System.nanoTime();
+        try {
+            ResponseEntity<T> response = restTemplate.exchange(url, method, request, responseType);
+            record(endpoint, user, response.getStatusCodeValue(), System.nanoTime() - start);
+            return response;
+        } catch (RestClientException e) {
+            record(endpoint, user, 0, System.nanoTime() - start);
+            return null;
+        }
+    }
+
+    private void record(Endpoint endpoint, ApiUser user, int status, long latencyNanos) {
+        if (lagNanos < 0) {
+            stats.record(endpoint, user, status, latencyNanos);
+        } else {
+            stats.record(endpoint, user, status, latencyNanos, latencyNanos + lagNanos);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        httpClient.close();
+    }
+}
@@ -0,0 +1,146 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import be.syntra.java.advanced.knittingapitest.util.SchemaCheck;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Load runs against the members API, only run with the {@code load} profile:
+ * {@code mvn test -Pload -Dtest=MemberApiLoadTest#closedLoop -Dload.workers=200 -Dload.duration=5m}
+ *
+ * The results of every run are kept in a {@link ResultStore}, and compared with {@code results.baseline} when it is set,
+ * failing the run on a regression, see {@link BaselineConfig#fromSystemProperties()}.
+ */
+@Tag("load")
+public class MemberApiLoadTest {
+
+    /**
+     * Run a scenario from {@code load.workers} concurrent workers, see {@link LoadConfig#fromSystemProperties()}
+     */
+    @Test
+    void closedLoop() throws InterruptedException, IOException {
+        LoadConfig config = LoadConfig.fromSystemProperties();
+        long violationsBefore = SchemaCheck.violations();
+        LoadReport report = config.getClient() == ClientKind.BLOCKING
+                ? new ClosedLoopLoadDriver(config).run()
+                : new ReactiveLoadDriver(config).run();
+        System.out.println(report);
+        keepResults(report);
+        assertEquals(0, SchemaCheck.violations() - violationsBefore, "Responses violated their schema, see the client metrics");
+    }
+
+    /**
+     * Run a scenario at {@code load.rate} iterations per second, see {@link OpenLoopConfig#fromSystemProperties()}
+     */
+    @Test
+    void openLoop() throws InterruptedException, IOException {
+        long violationsBefore = SchemaCheck.violations();
+        LoadReport report = new OpenLoopLoadDriver(OpenLoopConfig.fromSystemProperties()).run();
+        System.out.println(report);
+        keepResults(report);
+        assertEquals(0, SchemaCheck.violations() - violationsBefore, "Responses violated their schema, see the client metrics");
+    }
+
+    /**
+     * Replay traffic recorded with {@code -Dtraffic.record=target/traffic.bin}, see {@link ReplayConfig#fromSystemProperties()}
+     */
+    @Test
+    void replay() throws IOException {
+        long violationsBefore = SchemaCheck.violations();
+        LoadReport report = new TrafficReplayer(ReplayConfig.fromSystemProperties()).run();
+        System.out.println(report);
+        keepResults(report);
+        assertEquals(0, SchemaCheck.violations() - violationsBefore, "Responses violated their schema, see the client metrics");
+    }
+
+    /**
+     * Run the workload declared in {@code workload.file}, see {@link Workload#fromSystemProperties()}
+     */
+    @Test
+    void workload() throws InterruptedException, IOException {
+        long violationsBefore = SchemaCheck.violations();
+        LoadReport report = new WorkloadRunner(Workload.fromSystemProperties()).run();
+        System.out.println(report);
+        keepResults(report);
+        assertEquals(0, SchemaCheck.violations() - violationsBefore, "Responses violated their schema, see the client metrics");
+    }
+
+    /**
+     * Run the workload of {@code workload.file} from {@code distributed.workers} JVMs, see {@link DistributedConfig#fromSystemProperties()}
+     */
+    @Test
+    void distributed() throws InterruptedException, IOException {
+        LoadReport report = new LoadCoordinator(DistributedConfig.fromSystemProperties(), Workload.fromSystemProperties()).run();
+        System.out.println(report);
+        keepResults(report);
+    }
+
+    /**
+     * Search for the highest throughput that meets {@code capacity.p99Target}, see {@link CapacityConfig#fromSystemProperties()}
+     */
+    @Test
+    void capacity() throws InterruptedException, IOException {
+        CapacityConfig config = CapacityConfig.fromSystemProperties();
+        CapacityReport report = new CapacitySearch(config).run();
+        System.out.println(report);
+        report.writeCsv(config.getCsv());
+        System.out.println("Curve written to " + config.getCsv());
+        assertNotNull(report.getKnee(), "No step met the target");
+    }
+
+    /**
+     * Compare stored runs, {@code results.current} (the latest run by default) with {@code results.baseline}, without running:
+     * {@code mvn test -Pload -Dtest=MemberApiLoadTest#compare -Dresults.baseline=1.3.0 -Dresults.current=1.4.0}
+     */
+    @Test
+    void compare() throws IOException {
+        BaselineConfig config = BaselineConfig.fromSystemProperties();
+        if (config.getBaseline() == null) {
+            throw new IllegalArgumentException("Set results.baseline to the run to compare with");
+        }
+        ResultStore store = new ResultStore(config.getDirectory());
+        assertNoRegressions(BaselineComparison.compare(store.find(config.getBaseline()), store.find(config.getCurrent()), config));
+    }
+
+    /**
+     * Create {@code seed.members} members before a run, see {@link SeedConfig#fromSystemProperties()}
+     */
+    @Test
+    void seed() throws InterruptedException {
+        SeedReport report = new MemberSeeder(SeedConfig.fromSystemProperties()).run();
+        System.out.println(report);
+        assertTrue(report.isVerified(), "The server does not list every seeded member");
+    }
+
+    /**
+     * Keep the results of a run, and compare them with the baseline, if any.
+     */
+    private static void keepResults(LoadReport report) throws IOException {
+        BaselineConfig config = BaselineConfig.fromSystemProperties();
+        ResultStore store = new ResultStore(config.getDirectory());
+        RunResult baseline = config.getBaseline() == null ? null : store.find(config.getBaseline());
+        RunResult result = RunResult.of(report, config);
+        if (config.isSave()) {
+            System.out.println("Results kept in " + store.save(result));
+        }
+        if (baseline != null) {
+            assertNoRegressions(BaselineComparison.compare(baseline, result, config));
+        }
+    }
+
+    private static void assertNoRegressions(BaselineComparison comparison) {
+        System.out.println(comparison);
+        List<String> regressions = comparison.getRegressions().stream()
+                .map(BaselineComparison.Difference::getName)
+                .collect(Collectors.toList());
+        assertEquals(List.of(), regressions, "Endpoints regressed against " + comparison.getBaseline().getId());
+    }
+}
@@ -0,0 +1,179 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import be.syntra.java.advanced.knittingapitest.util.ApiClients;
+import be.syntra.java.advanced.knittingapitest.util.ApiUser;
+import be.syntra.java.advanced.knittingapitest.util.ClientConfig;
+import be.syntra.java.advanced.knittingapitest.util.MemberListReader;
+import lombok.RequiredArgsConstructor;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.LongStream;
+
+/**
+ * Creates members in bulk as admin, e.g. to give the list endpoints a realistic size before a load run.
+ *
+ * A fixed number of senders share one pool of keep-alive connections,
+ * so at most {@link SeedConfig#getConcurrency()} requests are in flight.
+ * Transient failures (no response, 429 and 5xx) are retried with exponential backoff,
+ * other failures are counted and skipped.
+ * Afterwards the member list is counted to verify the server holds every created member.
+ *
+ * With a non-blocking {@link ClientKind client}, the requests are sent from a few threads instead.
+ */
+@RequiredArgsConstructor
+public class MemberSeeder {
+    private final SeedConfig config;
+
+    public SeedReport run() throws InterruptedException {
+        MemberListReader memberList = MemberListReader.of(config.getResourceUrl(), ApiUser.USER);
+        long countBefore = memberList.count();
+
+        LongAdder created = new LongAdder();
+        LongAdder failed = new LongAdder();
+        LongAdder retried = new LongAdder();
+        ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor();
+        long startNanos = System.nanoTime();
+        try {
+            if (!config.getProgressInterval().isZero()) {
+                long intervalMillis = config.getProgressInterval().toMillis();
+                progress.scheduleAtFixedRate(
+                        () -> System.out.println(progressLine(created.sum(), failed.sum(), System.nanoTime() - startNanos)),
+                        intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+            }
+            if (config.getClient() != ClientKind.BLOCKING) {
+                seedAsync(created, failed, retried);
+            } else {
+                seedBlocking(created, failed, retried);
+            }
+        } finally {
+            progress.shutdownNow();
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        return new SeedReport(config.toString(), config.getMembers(), created.sum(), failed.sum(), retried.sum(),
+                elapsedNanos, countBefore, memberList.count());
+    }
+
+    private void seedBlocking(LongAdder created, LongAdder failed, LongAdder retried) throws InterruptedException {
+        AtomicLong nextSequence = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(config.getConcurrency());
+        try (CloseableHttpClient httpClient = ApiClients.newHttpClient(
+                ClientConfig.fromSystemProperties().withMaxConnections(config.getConcurrency()))) {
+            RestTemplate restTemplate = ApiClients.newTestRestTemplate(httpClient).getRestTemplate();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < config.getConcurrency(); i++) {
+                futures.add(executor.submit(() -> {
+                    long sequence;
+                    while ((sequence = nextSequence.getAndIncrement()) < config.getMembers()) {
+                        if (create(restTemplate, sequence, retried)) {
+                            created.increment();
+                        } else {
+                            failed.increment();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException | IOException e) {
+            throw new RuntimeException("Seeding failed", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Seed through a non-blocking client: members are generated on demand,
+     * as the in-flight requests complete, so at most {@link SeedConfig#getConcurrency()} exist at a time.
+     */
+    private void seedAsync(LongAdder created, LongAdder failed, LongAdder retried) {
+        try (AsyncMemberApiClient client = config.getClient().newAsyncClient(config.getResourceUrl(), new LatencyStats(),
+                config.getConcurrency(), config.getHttp2Connections(), config.getEventLoopThreads())) {
+            Flux.fromStream(LongStream.range(0, config.getMembers()).boxed())
+                    .flatMap(sequence -> create(client, sequence, retried), config.getConcurrency())
+                    .doOnNext(success -> (success ? created : failed).increment())
+                    .blockLast();
+        }
+    }
+
+    /**
+     * POST a single member through a non-blocking client, retrying transient failures.
+     *
+     * @return whether the member was created
+     */
+    private Mono<Boolean> create(AsyncMemberApiClient client, long sequence, LongAdder retried) {
+        return Mono.defer(() -> client.postMember(ApiUser.ADMIN, config.getMemberFactory().apply(sequence)))
+                .map(ResponseEntity::getStatusCodeValue)
+                .defaultIfEmpty(0)
+                .flatMap(status -> isTransient(status) ? Mono.error(new TransientFailure()) : Mono.just(status == 201))
+                .retryWhen(failures -> failures.zipWith(Flux.range(0, Integer.MAX_VALUE), (failure, attempt) -> attempt)
+                        .flatMap(attempt -> {
+                            if (attempt >= config.getRetries()) {
+                                return Mono.error(new TransientFailure());
+                            }
+                            retried.increment();
+                            return Mono.delay(config.getRetryBackoff().multipliedBy(1L << Math.min(attempt, 10)));
+                        }))
+                .onErrorReturn(TransientFailure.class, false);
+    }
+
+    /**
+     * POST a single member, retrying transient failures.
+     *
+     * @return whether the member was created
+     */
+    private boolean create(RestTemplate restTemplate, long sequence, LongAdder retried) throws InterruptedException {
+        HttpEntity<Object> request = new HttpEntity<>(config.getMemberFactory().apply(sequence), ApiUser.ADMIN.getHeaders());
+        for (int attempt = 0; ; attempt++) {
+            int status;
+            try {
+                ResponseEntity<Void> response = restTemplate.postForEntity(config.getResourceUrl(), request, Void.class);
+                status = response.getStatusCodeValue();
+            } catch (RestClientException e) {
+                status = 0;
+            }
+            if (status == 201) {
+                return true;
+            }
+            if (!isTransient(status) || attempt == config.getRetries()) {
+                return false;
+            }
+            retried.increment();
+            Thread.sleep(config.getRetryBackoff().toMillis() << Math.min(attempt, 10));
+        }
+    }
+
+    private static boolean isTransient(int status) {
+        return status == 0 || status == 429 || status >= 500;
+    }
+
+    private String progressLine(long created, long failed, long elapsedNanos) {
+        return String.format("seeded %d/%d members, %d failed, %.0f members/s",
+                created, config.getMembers(), failed, created / (elapsedNanos / 1e9));
+    }
+
+    private static class TransientFailure extends RuntimeException {
+        TransientFailure() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import be.syntra.java.advanced.knittingapitest.util.TestHelper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Isolated
+public class MemberSeederTest {
+
+    /**
+     * Test that every requested member is created and listed by the server
+     */
+    @Test
+    void givenSeedConfig_whenRun_thenShouldCreateAndVerifyAllMembers() throws InterruptedException {
+        // given
+        SeedConfig config = SeedConfig.builder()
+                .members(200)
+                .concurrency(8)
+                .progressInterval(Duration.ZERO)
+                .build();
+
+        // when
+        SeedReport report = new MemberSeeder(config).run();
+
+        // then
+        assertEquals(200, report.getCreated());
+        assertEquals(0, report.getFailed());
+        assertTrue(report.isVerified(), report.toString());
+    }
+
+    /**
+     * Test that rejected members are counted as failed without being retried
+     */
+    @Test
+    void givenInvalidMembers_whenRun_thenShouldFailWithoutRetrying() throws InterruptedException {
+        // given
+        SeedConfig config = SeedConfig.builder()
+                .members(10)
+                .concurrency(2)
+                .progressInterval(Duration.ZERO)
+                .memberFactory(sequence -> TestHelper.anInvalidMember())
+                .build();
+
+        // when
+        SeedReport report = new MemberSeeder(config).run();
+
+        // then
+        assertEquals(0, report.getCreated());
+        assertEquals(10, report.getFailed());
+        assertEquals(0, report.getRetried());
+        assertTrue(report.isVerified(), report.toString());
+    }
+
+    /**
+     * Test that the reactive client creates and verifies every member too
+     */
+    @Test
+    void givenReactiveClient_whenRun_thenShouldCreateAndVerifyAllMembers() throws InterruptedException {
+        // given
+        SeedConfig config = SeedConfig.builder()
+                .members(200)
+                .concurrency(16)
+                .client(ClientKind.REACTIVE)
+                .eventLoopThreads(1)
+                .progressInterval(Duration.ZERO)
+                .build();
+
+        // when
+        SeedReport report = new MemberSeeder(config).run();
+
+        // then
+        assertEquals(200, report.getCreated());
+        assertEquals(0, report.getFailed());
+        assertTrue(report.isVerified(), report.toString());
+    }
+}
@@ -0,0 +1,71 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+
+import static be.syntra.java.advanced.knittingapitest.util.TestHelper.RESOURCE_URL;
+
+/**
+ * Configuration of an open-loop load run: scenario iterations start at the rate of the profile,
+ * regardless of how fast the API responds.
+ */
+@Getter
+@Builder
+public class OpenLoopConfig {
+    @Builder.Default
+    private final String resourceUrl = RESOURCE_URL;
+    @Builder.Default
+    private final Scenario scenario = Scenario.GET_MEMBER;
+    @Builder.Default
+    private final RateProfile rateProfile = RateProfile.constant(100);
+    @Builder.Default
+    private final Duration duration = Duration.ofSeconds(30);
+    /**
+     * Maximum number of iterations in flight, further iterations wait (and their wait counts as latency)
+     */
+    @Builder.Default
+    private final int maxInFlight = 500;
+
+    /**
+     * Read the configuration from system properties:
+     * {@code load.scenario}, {@code load.rate}, {@code load.startRate}, {@code load.rampUp},
+     * {@code load.duration} and {@code load.maxInFlight}.
+     *
+     * @return the configuration, with defaults for missing properties
+     */
+    public static OpenLoopConfig fromSystemProperties() {
+        OpenLoopConfigBuilder builder = OpenLoopConfig.builder();
+        String scenario = System.getProperty("load.scenario");
+        if (scenario != null) {
+            builder.scenario(Scenario.valueOf(scenario.toUpperCase()));
+        }
+        String rate = System.getProperty("load.rate");
+        if (rate != null) {
+            String rampUp = System.getProperty("load.rampUp");
+            builder.rateProfile(rampUp == null
+                    ? RateProfile.constant(Double.parseDouble(rate))
+                    : RateProfile.linear(
+                    Double.parseDouble(System.getProperty("load.startRate", "0")),
+                    Double.parseDouble(rate),
+                    DurationStyle.detectAndParse(rampUp)));
+        }
+        String duration = System.getProperty("load.duration");
+        if (duration != null) {
+            builder.duration(DurationStyle.detectAndParse(duration));
+        }
+        String maxInFlight = System.getProperty("load.maxInFlight");
+        if (maxInFlight != null) {
+            builder.maxInFlight(Integer.parseInt(maxInFlight));
+        }
+        return builder.build();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("scenario=%s rate=%s duration=%s maxInFlight=%d",
+                scenario, rateProfile, duration, maxInFlight);
+    }
+}
@@ -0,0 +1,71 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Starts scenario iterations at the rate of a {@link RateProfile}, whether or not earlier iterations are done (open loop).
+ *
+ * Every call records its latency from the actual send time as well as from the time it was scheduled to be sent,
+ * so stalls of the API show up in the latencies instead of silently lowering the request rate.
+ */
+@RequiredArgsConstructor
+public class OpenLoopLoadDriver {
+    private final OpenLoopConfig config;
+
+    public LoadReport run() throws InterruptedException {
+        LatencyStats stats = new LatencyStats();
+        LongAdder failedIterations = new LongAdder();
+        Queue<Worker> workers = new ConcurrentLinkedQueue<>();
+        ThreadLocal<Worker> worker = ThreadLocal.withInitial(() -> {
+            Worker newWorker = new Worker();
+            workers.add(newWorker);
+            return newWorker;
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(config.getMaxInFlight());
+        long durationNanos = config.getDuration().toNanos();
+
+        try (MemberApiClient client = new MemberApiClient(config.getResourceUrl(), stats, config.getMaxInFlight());
+             MemberApiClient cleanUpClient = new MemberApiClient(config.getResourceUrl(), new LatencyStats(), config.getMaxInFlight());
+             IntervalReporter reporter = IntervalReporter.fromSystemProperties(stats)) {
+            long startNanos = System.nanoTime();
+            reporter.start();
+            for (long n = 0; ; n++) {
+                long offsetNanos = config.getRateProfile().intendedOffsetNanos(n);
+                if (offsetNanos >= durationNanos) {
+                    break;
+                }
+                long intendedStartNanos = startNanos + offsetNanos;
+                long waitNanos;
+                while ((waitNanos = intendedStartNanos - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(waitNanos);
+                }
+                executor.execute(() -> {
+                    try {
+                        config.getScenario().run(client.scheduledAt(intendedStartNanos), worker.get());
+                    } catch (RuntimeException e) {
+                        failedIterations.increment();
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            long elapsedNanos = System.nanoTime() - startNanos;
+
+            workers.forEach(w -> w.cleanUp(cleanUpClient));
+            return new LoadReport(config.toString(), stats, elapsedNanos, failedIterations.sum());
+        } catch (IOException e) {
+            throw new RuntimeException("Load run failed", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import be.syntra.java.advanced.knittingapitest.util.ApiUser;
+import be.syntra.java.advanced.knittingapitest.util.LatencyBudget;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ResourceLock(LatencyBudget.SERVER_LOAD)
+public class OpenLoopLoadDriverTest {
+
+    /**
+     * Test that requests are sent at the configured rate
+     * and that their latency from the intended send time is reported next to the raw latency
+     */
+    @Test
+    void givenConstantRate_whenRun_thenShouldReportRawAndCorrectedLatencies() throws InterruptedException {
+        // given
+        OpenLoopConfig config = OpenLoopConfig.builder()
+                .scenario(Scenario.GET_MEMBERS)
+                .rateProfile(RateProfile.constant(60))
+                .duration(Duration.ofSeconds(1))
+                .maxInFlight(10)
+                .build();
+
+        // when
+        LoadReport report = new OpenLoopLoadDriver(config).run();
+
+        // then
+        long requests = 0;
+        for (ApiUser user : ApiUser.values()) {
+            LoadReport.Row raw = report.row(Endpoint.GET_MEMBERS, user);
+            LoadReport.Row corrected = report.correctedRow(Endpoint.GET_MEMBERS, user);
+            assertEquals(raw.getCount(), corrected.getCount());
+            assertTrue(corrected.getMax() >= raw.getMax());
+            requests += raw.getCount();
+        }
+        assertEquals(60, requests);
+        assertEquals(0, report.getFailedIterations());
+    }
+}
@@ -0,0 +1,69 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Target request rate over time: a linear ramp from a start rate to a target rate, then the target rate.
+ */
+@Getter
+public class RateProfile {
+    private final double startRate;
+    private final double targetRate;
+    private final Duration rampUp;
+
+    private RateProfile(double startRate, double targetRate, Duration rampUp) {
+        if (startRate < 0 || targetRate <= 0) {
+            throw new IllegalArgumentException("Rates must be positive, got " + startRate + " and " + targetRate);
+        }
+        this.startRate = startRate;
+        this.targetRate = targetRate;
+        this.rampUp = rampUp;
+    }
+
+    /**
+     * @param rate requests per second
+     */
+    public static RateProfile constant(double rate) {
+        return new RateProfile(rate, rate, Duration.ZERO);
+    }
+
+    /**
+     * @param startRate  requests per second at the start
+     * @param targetRate requests per second at the end of the ramp and after
+     * @param rampUp     duration of the ramp
+     */
+    public static RateProfile linear(double startRate, double targetRate, Duration rampUp) {
+        return new RateProfile(startRate, targetRate, rampUp);
+    }
+
+    /**
+     * Get the time at which a request should be sent.
+     *
+     * @param n the index of the request, starting at 0
+     * @return the intended send time of the request, in nanoseconds since the start of the run
+     */
+    public long intendedOffsetNanos(long n) {
+        double rampSeconds = rampUp.toNanos() / 1e9;
+        double rampRequests = (startRate + targetRate) / 2 * rampSeconds;
+        double seconds;
+        if (n < rampRequests) {
+            // n = startRate * t + acceleration * t^2 / 2, solved for t
+            double acceleration = (targetRate - startRate) / rampSeconds;
+            seconds = acceleration == 0
+                    ? n / startRate
+                    : (Math.sqrt(startRate * startRate + 2 * acceleration * n) - startRate) / acceleration;
+        } else {
+            seconds = rampSeconds + (n - rampRequests) / targetRate;
+        }
+        return (long) (seconds * 1e9);
+    }
+
+    @Override
+    public String toString() {
+        return rampUp.isZero()
+                ? targetRate + "/s"
+                : startRate + "/s to " + targetRate + "/s over " + rampUp;
+    }
+}
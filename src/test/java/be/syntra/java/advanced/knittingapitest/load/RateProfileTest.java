@@ -0,0 +1,51 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateProfileTest {
+
+    /**
+     * Test that requests are evenly spread at a constant rate
+     */
+    @Test
+    void givenConstantRate_whenIntendedOffset_thenShouldSpreadEvenly() {
+        // given
+        RateProfile profile = RateProfile.constant(100);
+
+        // when - then
+        assertEquals(0, profile.intendedOffsetNanos(0));
+        assertEquals(Duration.ofMillis(10).toNanos(), profile.intendedOffsetNanos(1));
+        assertEquals(Duration.ofSeconds(1).toNanos(), profile.intendedOffsetNanos(100));
+    }
+
+    /**
+     * Test that a linear ramp sends the area under the rate curve
+     */
+    @Test
+    void givenLinearRamp_whenIntendedOffset_thenShouldFollowRamp() {
+        // given -- ramp from 0 to 100/s in 10 s: 500 requests during the ramp
+        RateProfile profile = RateProfile.linear(0, 100, Duration.ofSeconds(10));
+
+        // when
+        long endOfRamp = profile.intendedOffsetNanos(500);
+        long afterRamp = profile.intendedOffsetNanos(600);
+        long halfwayRamp = profile.intendedOffsetNanos(125);
+
+        // then
+        assertEquals(Duration.ofSeconds(10).toNanos(), endOfRamp, 1_000);
+        assertEquals(Duration.ofSeconds(11).toNanos(), afterRamp, 1_000);
+        assertEquals(Duration.ofSeconds(5).toNanos(), halfwayRamp, 1_000);
+    }
+
+    /**
+     * Test that a profile without a positive target rate is rejected
+     */
+    @Test
+    void givenZeroTargetRate_whenCreateProfile_thenShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> RateProfile.constant(0));
+    }
+}
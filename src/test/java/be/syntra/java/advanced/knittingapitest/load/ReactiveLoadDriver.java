@@ -0,0 +1,73 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Runs a scenario from a fixed number of concurrent sessions, like {@link ClosedLoopLoadDriver},
+ * but on a non-blocking {@link AsyncMemberApiClient}: the sessions share a few threads
+ * instead of having a thread each.
+ *
+ * Each session starts its next iteration as soon as the previous one is done,
+ * so there are never more iterations in flight than sessions.
+ */
+@RequiredArgsConstructor
+public class ReactiveLoadDriver {
+    private final LoadConfig config;
+
+    public LoadReport run() {
+        LatencyStats stats = new LatencyStats();
+        LongAdder failedIterations = new LongAdder();
+        AtomicLong remainingIterations = new AtomicLong(config.getIterations() > 0 ? config.getIterations() : Long.MAX_VALUE);
+        List<Worker> workers = new ArrayList<>();
+        for (int i = 0; i < config.getWorkers(); i++) {
+            workers.add(new Worker());
+        }
+
+        try (AsyncMemberApiClient client = newClient(stats);
+             AsyncMemberApiClient cleanUpClient = newClient(new LatencyStats());
+             IntervalReporter reporter = IntervalReporter.fromSystemProperties(stats)) {
+            long startNanos = System.nanoTime();
+            reporter.start();
+            long deadline = startNanos + config.getDuration().toNanos();
+            BooleanSupplier nextIteration = () -> System.nanoTime() < deadline && remainingIterations.getAndDecrement() > 0;
+
+            Flux.fromIterable(workers)
+                    .flatMap(worker -> session(client, worker, nextIteration, failedIterations), config.getWorkers())
+                    .blockLast();
+            long elapsedNanos = System.nanoTime() - startNanos;
+
+            Flux.fromIterable(workers)
+                    .flatMap(worker -> worker.cleanUp(cleanUpClient), config.getWorkers())
+                    .blockLast();
+            return new LoadReport(config.toString(), stats, elapsedNanos, failedIterations.sum());
+        } catch (IOException e) {
+            throw new RuntimeException("Load run failed", e);
+        }
+    }
+
+    private AsyncMemberApiClient newClient(LatencyStats stats) {
+        return config.getClient().newAsyncClient(config.getResourceUrl(), stats,
+                config.getWorkers(), config.getHttp2Connections(), config.getEventLoopThreads());
+    }
+
+    /**
+     * Repeat the scenario for a single worker, for as long as there are iterations left.
+     */
+    private Mono<Void> session(AsyncMemberApiClient client, Worker worker, BooleanSupplier nextIteration, LongAdder failedIterations) {
+        Mono<Void> iteration = Mono.defer(() -> config.getScenario().runReactive(client, worker))
+                .onErrorResume(e -> {
+                    failedIterations.increment();
+                    return Mono.empty();
+                });
+        return Mono.defer(() -> nextIteration.getAsBoolean() ? iteration.repeat(nextIteration).then() : Mono.empty());
+    }
+}
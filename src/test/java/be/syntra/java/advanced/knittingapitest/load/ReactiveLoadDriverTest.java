@@ -0,0 +1,94 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import be.syntra.java.advanced.knittingapitest.util.ApiUser;
+import be.syntra.java.advanced.knittingapitest.util.LatencyBudget;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ResourceLock(LatencyBudget.SERVER_LOAD)
+public class ReactiveLoadDriverTest {
+
+    /**
+     * Test that every call of every iteration is recorded under its endpoint and user
+     */
+    @Test
+    void givenIntegrationScenario_whenRunIterations_thenShouldRecordEveryCall() {
+        // given
+        LoadConfig config = LoadConfig.builder()
+                .scenario(Scenario.INTEGRATION)
+                .client(ClientKind.REACTIVE)
+                .workers(4)
+                .iterations(20)
+                .duration(Duration.ofMinutes(1))
+                .build();
+
+        // when
+        LoadReport report = new ReactiveLoadDriver(config).run();
+
+        // then
+        assertEquals(0, report.getFailedIterations());
+        assertEquals(20, report.row(Endpoint.POST_MEMBER, ApiUser.ADMIN).getCount());
+        assertEquals(40, report.row(Endpoint.GET_MEMBER, ApiUser.ADMIN).getCount());
+        assertEquals(20, report.row(Endpoint.PUT_MEMBER, ApiUser.ADMIN).getCount());
+        assertEquals(20, report.row(Endpoint.DELETE_MEMBER, ApiUser.SUPER_ADMIN).getCount());
+        assertEquals(0, report.row(Endpoint.DELETE_MEMBER, ApiUser.SUPER_ADMIN).getErrors());
+    }
+
+    /**
+     * Test that the HTTP/2 client records every call of every iteration too
+     */
+    @Test
+    void givenHttp2Client_whenRunIterations_thenShouldRecordEveryCall() {
+        // given
+        LoadConfig config = LoadConfig.builder()
+                .scenario(Scenario.INTEGRATION)
+                .client(ClientKind.HTTP2)
+                .http2Connections(2)
+                .workers(8)
+                .iterations(40)
+                .duration(Duration.ofMinutes(1))
+                .build();
+
+        // when
+        LoadReport report = new ReactiveLoadDriver(config).run();
+
+        // then
+        assertEquals(0, report.getFailedIterations());
+        assertEquals(40, report.row(Endpoint.POST_MEMBER, ApiUser.ADMIN).getCount());
+        assertEquals(80, report.row(Endpoint.GET_MEMBER, ApiUser.ADMIN).getCount());
+        assertEquals(40, report.row(Endpoint.PUT_MEMBER, ApiUser.ADMIN).getCount());
+        assertEquals(40, report.row(Endpoint.DELETE_MEMBER, ApiUser.SUPER_ADMIN).getCount());
+        assertEquals(0, report.row(Endpoint.DELETE_MEMBER, ApiUser.SUPER_ADMIN).getErrors());
+    }
+
+    /**
+     * Test that many sessions share a few event loop threads
+     */
+    @Test
+    void givenManyWorkers_whenRunIterations_thenShouldRecordEveryCall() {
+        // given
+        LoadConfig config = LoadConfig.builder()
+                .scenario(Scenario.GET_MEMBER)
+                .client(ClientKind.REACTIVE)
+                .workers(200)
+                .eventLoopThreads(2)
+                .iterations(600)
+                .build();
+
+        // when
+        LoadReport report = new ReactiveLoadDriver(config).run();
+
+        // then
+        assertEquals(0, report.getFailedIterations());
+        long count = 0;
+        for (ApiUser user : ApiUser.values()) {
+            count += report.row(Endpoint.GET_MEMBER, user).getCount();
+            assertEquals(0, report.row(Endpoint.GET_MEMBER, user).getErrors());
+        }
+        assertEquals(600, count);
+    }
+}
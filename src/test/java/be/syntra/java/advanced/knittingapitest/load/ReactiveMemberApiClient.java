@@ -0,0 +1,176 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import be.syntra.java.advanced.knittingapitest.dto.Member;
+import be.syntra.java.advanced.knittingapitest.dto.MemberList;
+import be.syntra.java.advanced.knittingapitest.util.ApiUser;
+import be.syntra.java.advanced.knittingapitest.util.ClientConfig;
+import be.syntra.java.advanced.knittingapitest.util.ClientMetrics;
+import be.syntra.java.advanced.knittingapitest.util.ObjectMappers;
+import be.syntra.java.advanced.knittingapitest.util.SchemaCheck;
+import be.syntra.java.advanced.knittingapitest.util.TrafficRecorder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.channel.ChannelOption;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+
+/**
+ * {@link AsyncMemberApiClient} on a Spring WebClient over Reactor Netty, speaking HTTP/1.1.
+ *
+ * All calls run on a small, fixed number of event loop threads; the number of requests in flight is only bounded
+ * by the connection pool, as each connection carries one request at a time.
+ */
+public class ReactiveMemberApiClient implements AsyncMemberApiClient {
+    private static final int MAX_IN_MEMORY_SIZE = 64 * 1024 * 1024;
+
+    private final String resourceUrl;
+    private final String resourcePath;
+    private final LatencyStats stats;
+    private final ObjectMapper objectMapper = ObjectMappers.create();
+    private final ConnectionProvider connectionProvider;
+    private final LoopResources loopResources;
+    private final WebClient webClient;
+
+    /**
+     * @param resourceUrl      the url of the members resource
+     * @param stats            the statistics to record every call in
+     * @param maxConnections   the maximum number of concurrent connections to the API
+     * @param eventLoopThreads the number of event loop threads
+     */
+    public ReactiveMemberApiClient(String resourceUrl, LatencyStats stats, int maxConnections, int eventLoopThreads) {
+        this.resourceUrl = resourceUrl;
+        this.resourcePath = URI.create(resourceUrl).getPath();
+        this.stats = stats;
+        this.connectionProvider = ConnectionProvider.fixed("knitting-client", maxConnections);
+        this.loopResources = LoopResources.create("knitting-client", eventLoopThreads, true);
+
+        int connectTimeoutMillis = (int) ClientConfig.fromSystemProperties().getConnectTimeout().toMillis();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .tcpConfiguration(tcpClient -> tcpClient
+                        .runOn(loopResources)
+                        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis));
+        this.webClient = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .exchangeStrategies(ExchangeStrategies.builder()
+                        .codecs(codecs -> {
+                            codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                            codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                            codecs.defaultCodecs().maxInMemorySize(MAX_IN_MEMORY_SIZE);
+                        })
+                        .build())
+                .build();
+    }
+
+    @Override
+    public Mono<ResponseEntity<MemberList>> getMembers(ApiUser user) {
+        return call(Endpoint.GET_MEMBERS, user, HttpMethod.GET, resourceUrl, resourcePath, null, MemberList.class);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Member>> getMember(ApiUser user, long id) {
+        return call(Endpoint.GET_MEMBER, user, HttpMethod.GET, resourceUrl + "/" + id, resourcePath + "/" + id, null, Member.class);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Void>> postMember(ApiUser user, Member member) {
+        return call(Endpoint.POST_MEMBER, user, HttpMethod.POST, resourceUrl, resourcePath, member, Void.class);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Void>> updateMember(ApiUser user, long id, Member member) {
+        return call(Endpoint.PUT_MEMBER, user, HttpMethod.PUT, resourceUrl + "/" + id, resourcePath + "/" + id, member, Void.class);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Void>> deleteMember(ApiUser user, long id) {
+        return call(Endpoint.DELETE_MEMBER, user, HttpMethod.DELETE, resourceUrl + "/" + id, resourcePath + "/" + id, null, Void.class);
+    }
+
+    /**
+     * Call an endpoint and record the outcome, once the response body has been read and checked against its schema.
+     *
+     * @return the response, empty when no response was received
+     */
+    private <T> Mono<ResponseEntity<T>> call(Endpoint endpoint, ApiUser user, HttpMethod method, String url, String path,
+                                             Object body, Class<T> responseType) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            WebClient.RequestBodySpec request = webClient.method(method)
+                    .uri(url)
+                    .headers(headers -> headers.addAll(user.getHeaders()));
+            return (body == null ? request : request.bodyValue(body))
+                    .exchange()
+                    .flatMap(response -> DataBufferUtils.join(response.body(BodyExtractors.toDataBuffers()))
+                            .map(responseBody -> toEntity(method, path, response, responseBody, responseType))
+                            .switchIfEmpty(Mono.fromSupplier(() -> toEntity(method, path, response, null, responseType))))
+                    .doOnNext(response -> record(endpoint, user, method, path, body, response.getStatusCodeValue(), start,
+                            response.getHeaders().getLocation()))
+                    .onErrorResume(e -> {
+                        ClientMetrics.recordFailure(method.name(), path, e);
+                        record(endpoint, user, method, path, body, 0, start, null);
+                        return Mono.empty();
+                    });
+        });
+    }
+
+    /**
+     * Check the body against its schema and bind it, straight from the pooled buffers it was received in,
+     * which are released afterwards.
+     *
+     * @param body the body, joined without copying its buffers; null when the response has none
+     */
+    private <T> ResponseEntity<T> toEntity(HttpMethod method, String path, ClientResponse response, DataBuffer body,
+                                           Class<T> responseType) {
+        int status = response.rawStatusCode();
+        T value = null;
+        try {
+            if (body != null) {
+                int start = body.readPosition();
+                SchemaCheck.check(method.name(), path, status, body.asInputStream());
+                body.readPosition(start);
+                boolean successful = status >= 200 && status < 300;
+                if (successful && responseType != Void.class && body.readableByteCount() > 0) {
+                    value = objectMapper.readValue(body.asInputStream(), responseType);
+                }
+            } else {
+                SchemaCheck.check(method.name(), path, status, InputStream.nullInputStream());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            DataBufferUtils.release(body);
+        }
+        return ResponseEntity.status(status).headers(response.headers().asHttpHeaders()).body(value);
+    }
+
+    private void record(Endpoint endpoint, ApiUser user, HttpMethod method, String path, Object requestBody, int status,
+                        long start, URI location) {
+        long latencyNanos = System.nanoTime() - start;
+        stats.record(endpoint, user, status, latencyNanos);
+        ClientMetrics.record(method.name(), path, user, status, latencyNanos);
+        TrafficRecorder.record(method.name(), path, user, requestBody, status, start, latencyNanos, location);
+    }
+
+    @Override
+    public void close() {
+        connectionProvider.dispose();
+        loopResources.dispose();
+    }
+}
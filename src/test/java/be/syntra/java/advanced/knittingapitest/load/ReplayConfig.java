@@ -0,0 +1,86 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static be.syntra.java.advanced.knittingapitest.util.TestHelper.RESOURCE_URL;
+
+/**
+ * Configuration of a replay of recorded traffic, see {@link TrafficReplayer}.
+ */
+@Getter
+@Builder
+public class ReplayConfig {
+    @Builder.Default
+    private final String resourceUrl = RESOURCE_URL;
+    @Builder.Default
+    private final Path log = Paths.get("target", "traffic.bin");
+    /**
+     * Factor to speed up the recorded traffic by, e.g. 1 to replay it as recorded; 0 to replay it as fast as possible
+     */
+    @Builder.Default
+    private final double speed = 1;
+    /**
+     * Maximum number of calls in flight; calls that are due while the maximum is reached are sent late
+     */
+    @Builder.Default
+    private final int maxInFlight = 256;
+    @Builder.Default
+    private final ClientKind client = ClientKind.REACTIVE;
+    /**
+     * Number of event loop threads of the reactive client, or of response threads of the HTTP/2 client
+     */
+    @Builder.Default
+    private final int eventLoopThreads = Runtime.getRuntime().availableProcessors();
+    /**
+     * Number of connections the HTTP/2 client multiplexes the requests over
+     */
+    @Builder.Default
+    private final int http2Connections = 4;
+
+    /**
+     * Read the configuration from system properties:
+     * {@code replay.log}, {@code replay.speed} (e.g. {@code 1}, {@code 10} or {@code max}), {@code replay.maxInFlight},
+     * {@code replay.client} ({@code reactive} or {@code http2}), {@code replay.eventLoopThreads}
+     * and {@code replay.http2Connections}.
+     *
+     * @return the configuration, with defaults for missing properties
+     */
+    public static ReplayConfig fromSystemProperties() {
+        ReplayConfigBuilder builder = ReplayConfig.builder();
+        String log = System.getProperty("replay.log");
+        if (log != null) {
+            builder.log(Paths.get(log));
+        }
+        String speed = System.getProperty("replay.speed");
+        if (speed != null) {
+            builder.speed(speed.equalsIgnoreCase("max") ? 0 : Double.parseDouble(speed));
+        }
+        String maxInFlight = System.getProperty("replay.maxInFlight");
+        if (maxInFlight != null) {
+            builder.maxInFlight(Integer.parseInt(maxInFlight));
+        }
+        String client = System.getProperty("replay.client");
+        if (client != null) {
+            builder.client(ClientKind.valueOf(client.toUpperCase()));
+        }
+        String eventLoopThreads = System.getProperty("replay.eventLoopThreads");
+        if (eventLoopThreads != null) {
+            builder.eventLoopThreads(Integer.parseInt(eventLoopThreads));
+        }
+        String http2Connections = System.getProperty("replay.http2Connections");
+        if (http2Connections != null) {
+            builder.http2Connections(Integer.parseInt(http2Connections));
+        }
+        return builder.build();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("replay of %s speed=%s maxInFlight=%d client=%s",
+                log, speed == 0 ? "max" : speed + "x", maxInFlight, client);
+    }
+}
@@ -0,0 +1,92 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import be.syntra.java.advanced.knittingapitest.util.ObjectMappers;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The results of past load runs: a JSON file per run in a local directory, {@code perf-results} by default,
+ * outside {@code target} so results survive a clean build.
+ */
+public class ResultStore {
+    /**
+     * Reference to the most recent run
+     */
+    public static final String LATEST = "latest";
+
+    private final Path directory;
+    private final ObjectMapper objectMapper = ObjectMappers.create();
+
+    public ResultStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Keep the results of a run.
+     *
+     * @return the file the results were written to
+     * @throws IOException when the file can not be written
+     */
+    public Path save(RunResult result) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(result.getId() + ".json");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), result);
+        return file;
+    }
+
+    /**
+     * Get the results of every run, from old to new.
+     *
+     * @throws IOException when a file can not be read
+     * @throws IllegalStateException when a file is of a newer format
+     */
+    public List<RunResult> list() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        List<Path> files;
+        try (Stream<Path> paths = Files.list(directory)) {
+            files = paths.filter(path -> path.getFileName().toString().endsWith(".json")).collect(Collectors.toList());
+        }
+        List<RunResult> results = new ArrayList<>();
+        for (Path file : files) {
+            RunResult result = objectMapper.readValue(file.toFile(), RunResult.class);
+            if (result.getFormatVersion() > RunResult.FORMAT_VERSION) {
+                throw new IllegalStateException(file + " is of format " + result.getFormatVersion()
+                        + ", this harness reads up to format " + RunResult.FORMAT_VERSION);
+            }
+            results.add(result);
+        }
+        results.sort(Comparator.comparing(RunResult::getId));
+        return results;
+    }
+
+    /**
+     * Find the results of a run.
+     *
+     * @param reference {@value #LATEST}, the id of a run, or a label or (abbreviated) commit,
+     *                  of which the most recent run is taken
+     * @return the results
+     * @throws IOException              when a file can not be read
+     * @throws IllegalArgumentException when no run matches
+     */
+    public RunResult find(String reference) throws IOException {
+        List<RunResult> results = list();
+        for (int i = results.size() - 1; i >= 0; i--) {
+            RunResult result = results.get(i);
+            if (reference.equals(LATEST) || reference.equals(result.getId()) || reference.equals(result.getLabel())
+                    || result.getCommit().startsWith(reference)) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("No run in " + directory + " matches " + reference);
+    }
+}
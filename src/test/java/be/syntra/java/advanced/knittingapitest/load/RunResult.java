@@ -0,0 +1,136 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import be.syntra.java.advanced.knittingapitest.util.KnittingApi;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.HdrHistogram.Histogram;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.zip.DataFormatException;
+
+/**
+ * The results of a load run as kept in a {@link ResultStore}: what was run against which API from which commit,
+ * and the counts, throughput, latency percentiles and latency histogram of every row of its {@link LoadReport}.
+ */
+@Data
+@NoArgsConstructor
+public class RunResult {
+    public static final int FORMAT_VERSION = 1;
+
+    private static final DateTimeFormatter ID_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+    private int formatVersion = FORMAT_VERSION;
+    /**
+     * Unique, and ordered by the time of the run
+     */
+    private String id;
+    private Instant recordedAt;
+    /**
+     * The commit of the harness the run was made from
+     */
+    private String commit;
+    /**
+     * Free-form label of the run, e.g. the release of the API under test; null for none
+     */
+    private String label;
+    private String apiUrl;
+    private String description;
+    private long elapsedMillis;
+    private long failedIterations;
+    private List<RowResult> rows = new ArrayList<>();
+
+    /**
+     * Get the results of a load report.
+     *
+     * @param report the report of the run
+     * @param config the commit and label to keep with the results
+     * @return the results
+     */
+    public static RunResult of(LoadReport report, BaselineConfig config) {
+        RunResult result = new RunResult();
+        result.recordedAt = Instant.now();
+        result.commit = config.getCommit();
+        result.label = config.getLabel();
+        result.id = ID_TIMESTAMP.format(result.recordedAt) + "-" + config.getCommit() + (config.getLabel() == null ? "" : "-" + config.getLabel());
+        result.apiUrl = System.getProperty(KnittingApi.URL_PROPERTY, "embedded");
+        result.description = report.getDescription();
+        result.elapsedMillis = report.getElapsedNanos() / 1_000_000;
+        result.failedIterations = report.getFailedIterations();
+        for (LoadReport.Row row : report.getRows()) {
+            result.rows.add(RowResult.of(row));
+        }
+        return result;
+    }
+
+    /**
+     * Get the results of a row.
+     *
+     * @return the row, or null when the run has no row of that name
+     */
+    public RowResult row(String name) {
+        return rows.stream().filter(row -> row.getName().equals(name)).findFirst().orElse(null);
+    }
+
+    @Data
+    @NoArgsConstructor
+    public static class RowResult {
+        private String name;
+        private long count;
+        private long errors;
+        private double throughput;
+        private double p50;
+        private double p90;
+        private double p99;
+        private double p999;
+        private double max;
+        /**
+         * The latencies, in nanoseconds, as a compressed HdrHistogram in base64
+         */
+        private String histogram;
+
+        static RowResult of(LoadReport.Row row) {
+            RowResult result = new RowResult();
+            result.name = row.getName();
+            result.count = row.getCount();
+            result.errors = row.getErrors();
+            result.throughput = row.getThroughput();
+            result.p50 = row.getP50();
+            result.p90 = row.getP90();
+            result.p99 = row.getP99();
+            result.p999 = row.getP999();
+            result.max = row.getMax();
+            ByteBuffer buffer = ByteBuffer.allocate(row.getHistogram().getNeededByteBufferCapacity());
+            int length = row.getHistogram().encodeIntoCompressedByteBuffer(buffer);
+            result.histogram = Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+            return result;
+        }
+
+        /**
+         * Decode the latencies.
+         *
+         * @return the latency histogram, in nanoseconds
+         * @throws IllegalStateException when the histogram is corrupt
+         */
+        public Histogram decodeHistogram() {
+            try {
+                return Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(Base64.getDecoder().decode(histogram)), 0);
+            } catch (DataFormatException e) {
+                throw new IllegalStateException("The histogram of " + name + " is corrupt", e);
+            }
+        }
+
+        /**
+         * @return the fraction of the calls that failed
+         */
+        public double errorRate() {
+            return count == 0 ? 0 : errors / (double) count;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import be.syntra.java.advanced.knittingapitest.dto.Member;
+import be.syntra.java.advanced.knittingapitest.util.ApiUser;
+import reactor.core.publisher.Mono;
+
+import static be.syntra.java.advanced.knittingapitest.util.TestHelper.aUniqueMember;
+
+/**
+ * The flows a load worker can repeat.
+ *
+ * Writes authenticate as the least privileged user that is allowed to make them, like the controller tests do.
+ * Reads rotate over all users, so the report has figures for each of them.
+ * Members a flow needs are created by the worker itself, so concurrent workers never touch each other's members.
+ */
+public enum Scenario {
+    /**
+     * The {@code IntegrationTest} flow: get member details, update them, get them again and delete the member
+     */
+    INTEGRATION {
+        @Override
+        void run(MemberApiClient client, Worker worker) {
+            client.createMember(ApiUser.ADMIN, aUniqueMember()).ifPresent(id -> {
+                Member member = client.getMember(ApiUser.ADMIN, id).getBody();
+                if (member != null) {
+                    member.setFirstName("New first name");
+                    member.setLastName("New last name");
+                    client.updateMember(ApiUser.ADMIN, id, member);
+                    client.getMember(ApiUser.ADMIN, id);
+                }
+                client.deleteMember(ApiUser.SUPER_ADMIN, id);
+            });
+        }
+
+        @Override
+        Mono<Void> runReactive(AsyncMemberApiClient client, Worker worker) {
+            return client.createMember(ApiUser.ADMIN, aUniqueMember())
+                    .flatMap(id -> client.getMember(ApiUser.ADMIN, id)
+                            .flatMap(response -> Mono.justOrEmpty(response.getBody()))
+                            .flatMap(member -> {
+                                member.setFirstName("New first name");
+                                member.setLastName("New last name");
+                                return client.updateMember(ApiUser.ADMIN, id, member)
+                                        .then(client.getMember(ApiUser.ADMIN, id));
+                            })
+                            .then(client.deleteMember(ApiUser.SUPER_ADMIN, id)))
+                    .then();
+        }
+    },
+    GET_MEMBERS {
+        @Override
+        void run(MemberApiClient client, Worker worker) {
+            client.getMembers(worker.nextReader());
+        }
+
+        @Override
+        Mono<Void> runReactive(AsyncMemberApiClient client, Worker worker) {
+            return client.getMembers(worker.nextReader()).then();
+        }
+    },
+    GET_MEMBER {
+        @Override
+        void run(MemberApiClient client, Worker worker) {
+            client.getMember(worker.nextReader(), worker.ownedId(client));
+        }
+
+        @Override
+        Mono<Void> runReactive(AsyncMemberApiClient client, Worker worker) {
+            return worker.ownedId(client)
+                    .flatMap(id -> client.getMember(worker.nextReader(), id))
+                    .then();
+        }
+    },
+    POST_MEMBER {
+        @Override
+        void run(MemberApiClient client, Worker worker) {
+            client.createMember(ApiUser.ADMIN, aUniqueMember()).ifPresent(worker::own);
+        }
+
+        @Override
+        Mono<Void> runReactive(AsyncMemberApiClient client, Worker worker) {
+            return client.createMember(ApiUser.ADMIN, aUniqueMember())
+                    .doOnNext(worker::own)
+                    .then();
+        }
+    },
+    PUT_MEMBER {
+        @Override
+        void run(MemberApiClient client, Worker worker) {
+            long id = worker.ownedId(client);
+            Member member = aUniqueMember();
+            member.setId(id);
+            client.updateMember(ApiUser.ADMIN, id, member);
+        }
+
+        @Override
+        Mono<Void> runReactive(AsyncMemberApiClient client, Worker worker) {
+            return worker.ownedId(client)
+                    .flatMap(id -> {
+                        Member member = aUniqueMember();
+                        member.setId(id);
+                        return client.updateMember(ApiUser.ADMIN, id, member);
+                    })
+                    .then();
+        }
+    },
+    DELETE_MEMBER {
+        @Override
+        void run(MemberApiClient client, Worker worker) {
+            client.createMember(ApiUser.ADMIN, aUniqueMember())
+                    .ifPresent(id -> client.deleteMember(ApiUser.SUPER_ADMIN, id));
+        }
+
+        @Override
+        Mono<Void> runReactive(AsyncMemberApiClient client, Worker worker) {
+            return client.createMember(ApiUser.ADMIN, aUniqueMember())
+                    .flatMap(id -> client.deleteMember(ApiUser.SUPER_ADMIN, id))
+                    .then();
+        }
+    };
+
+    /**
+     * Run the flow once.
+     *
+     * @param client the client to call the API with
+     * @param worker the state of the worker running the flow
+     */
+    abstract void run(MemberApiClient client, Worker worker);
+
+    /**
+     * Run the flow once, without blocking.
+     *
+     * @param client the client to call the API with
+     * @param worker the state of the worker running the flow
+     * @return completes when the flow is done
+     */
+    abstract Mono<Void> runReactive(AsyncMemberApiClient client, Worker worker);
+}
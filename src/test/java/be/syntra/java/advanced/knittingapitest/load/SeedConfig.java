@@ -0,0 +1,112 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import be.syntra.java.advanced.knittingapitest.dto.Member;
+import be.syntra.java.advanced.knittingapitest.util.MemberGenerator;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.function.LongFunction;
+
+import static be.syntra.java.advanced.knittingapitest.util.TestHelper.RESOURCE_URL;
+
+/**
+ * Configuration of a bulk seeding run.
+ */
+@Getter
+@Builder
+public class SeedConfig {
+    private static final long DEFAULT_GENERATOR_SEED = 42;
+
+    @Builder.Default
+    private final String resourceUrl = RESOURCE_URL;
+    /**
+     * Number of members to create
+     */
+    @Builder.Default
+    private final long members = 10_000;
+    /**
+     * Maximum number of POST requests in flight
+     */
+    @Builder.Default
+    private final int concurrency = 64;
+    /**
+     * Number of times a request is retried after a transient failure
+     */
+    @Builder.Default
+    private final int retries = 3;
+    /**
+     * The client that sends the requests
+     */
+    @Builder.Default
+    private final ClientKind client = ClientKind.BLOCKING;
+    /**
+     * Number of event loop threads of the reactive client, or of response threads of the HTTP/2 client
+     */
+    @Builder.Default
+    private final int eventLoopThreads = Runtime.getRuntime().availableProcessors();
+    /**
+     * Number of connections the HTTP/2 client multiplexes the requests over
+     */
+    @Builder.Default
+    private final int http2Connections = 4;
+    @Builder.Default
+    private final Duration retryBackoff = Duration.ofMillis(100);
+    /**
+     * Interval between progress lines, {@link Duration#ZERO} for none
+     */
+    @Builder.Default
+    private final Duration progressInterval = Duration.ofSeconds(5);
+    /**
+     * The member to create for a sequence number, called concurrently
+     */
+    @Builder.Default
+    private final LongFunction<Member> memberFactory = new MemberGenerator(DEFAULT_GENERATOR_SEED)::member;
+
+    /**
+     * Read the configuration from system properties:
+     * {@code seed.members}, {@code seed.concurrency}, {@code seed.retries}, {@code seed.progressInterval} (e.g. {@code 10s}),
+     * {@code seed.client} ({@code blocking}, {@code reactive} or {@code http2}), {@code seed.http2Connections}
+     * and {@code seed.generatorSeed}.
+     *
+     * @return the configuration, with defaults for missing properties
+     */
+    public static SeedConfig fromSystemProperties() {
+        SeedConfigBuilder builder = SeedConfig.builder();
+        String members = System.getProperty("seed.members");
+        if (members != null) {
+            builder.members(Long.parseLong(members));
+        }
+        String concurrency = System.getProperty("seed.concurrency");
+        if (concurrency != null) {
+            builder.concurrency(Integer.parseInt(concurrency));
+        }
+        String retries = System.getProperty("seed.retries");
+        if (retries != null) {
+            builder.retries(Integer.parseInt(retries));
+        }
+        String client = System.getProperty("seed.client");
+        if (client != null) {
+            builder.client(ClientKind.valueOf(client.toUpperCase()));
+        }
+        String http2Connections = System.getProperty("seed.http2Connections");
+        if (http2Connections != null) {
+            builder.http2Connections(Integer.parseInt(http2Connections));
+        }
+        String progressInterval = System.getProperty("seed.progressInterval");
+        if (progressInterval != null) {
+            builder.progressInterval(DurationStyle.detectAndParse(progressInterval));
+        }
+        String generatorSeed = System.getProperty("seed.generatorSeed");
+        if (generatorSeed != null) {
+            builder.memberFactory(new MemberGenerator(Long.parseLong(generatorSeed))::member);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("seed members=%d concurrency=%d client=%s retries=%d", members, concurrency, client, retries);
+    }
+}
@@ -0,0 +1,44 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import lombok.Value;
+
+/**
+ * Outcome of a bulk seeding run.
+ */
+@Value
+public class SeedReport {
+    String description;
+    long requested;
+    long created;
+    long failed;
+    /**
+     * Number of retried requests
+     */
+    long retried;
+    long elapsedNanos;
+    /**
+     * Number of members on the server before and after seeding
+     */
+    long countBefore;
+    long countAfter;
+
+    /**
+     * Whether the server lists exactly the members it had before plus the created ones.
+     * Fails when someone else changed the members during the run, or when a retried request had been executed after all.
+     */
+    public boolean isVerified() {
+        return countAfter == countBefore + created;
+    }
+
+    public double getThroughput() {
+        return created / (elapsedNanos / 1e9);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s%ncreated %d/%d members in %.1f s (%.0f members/s), %d failed, %d retried%n"
+                        + "server count %d -> %d: %s",
+                description, created, requested, elapsedNanos / 1e9, getThroughput(), failed, retried,
+                countBefore, countAfter, isVerified() ? "verified" : "expected " + (countBefore + created));
+    }
+}
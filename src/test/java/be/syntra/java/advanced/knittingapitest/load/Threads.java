@@ -0,0 +1,62 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The kind of threads load workers run on.
+ */
+public enum Threads {
+    /**
+     * A fixed pool of platform threads, one per worker
+     */
+    PLATFORM {
+        @Override
+        ExecutorService newExecutor(int workers) {
+            return Executors.newFixedThreadPool(workers);
+        }
+    },
+    /**
+     * A virtual thread per worker, so tens of thousands of blocking workers fit in one JVM.
+     * Needs a Java 21 runtime, the build itself targets Java 11.
+     */
+    VIRTUAL {
+        @Override
+        ExecutorService newExecutor(int workers) {
+            if (NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR == null) {
+                throw new IllegalStateException("Virtual threads need Java 21 or later, running on Java " + Runtime.version());
+            }
+            try {
+                return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invokeExact();
+            } catch (Throwable e) {
+                throw new IllegalStateException("Unable to create virtual threads", e);
+            }
+        }
+    };
+
+    private static final MethodHandle NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = virtualThreadPerTaskExecutor();
+
+    /**
+     * Create an executor that runs each of the given number of workers on its own thread.
+     */
+    abstract ExecutorService newExecutor(int workers);
+
+    /**
+     * Whether the running JVM supports virtual threads.
+     */
+    public static boolean isVirtualSupported() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    private static MethodHandle virtualThreadPerTaskExecutor() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+}
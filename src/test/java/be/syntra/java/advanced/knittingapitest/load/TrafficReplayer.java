@@ -0,0 +1,144 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import be.syntra.java.advanced.knittingapitest.dto.Member;
+import be.syntra.java.advanced.knittingapitest.util.ObjectMappers;
+import be.syntra.java.advanced.knittingapitest.util.TrafficLog;
+import be.syntra.java.advanced.knittingapitest.util.TrafficRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Replays the calls of a {@link TrafficLog} against the members API on an {@link AsyncMemberApiClient},
+ * to compare builds or servers under exactly the traffic that was recorded.
+ *
+ * Each call is sent at its recorded start, scaled by the speed, or right away when replaying as fast as possible.
+ * Calls on the same member are sent in their recorded order, each once the previous one is done.
+ * Members that were created in the recording are created again, and later calls on them go to the new members.
+ * Anonymous calls and calls with a body that is not a member are skipped, as the client can not send them.
+ */
+@RequiredArgsConstructor
+public class TrafficReplayer {
+    private final ReplayConfig config;
+    private final ObjectMapper objectMapper = ObjectMappers.create();
+
+    /**
+     * Replay the log.
+     *
+     * @return the report, of which the failed iterations are the calls that could not be sent
+     * @throws IOException when the log can not be read
+     */
+    public LoadReport run() throws IOException {
+        List<TrafficRecord> records = TrafficLog.readByStart(config.getLog());
+        LatencyStats stats = new LatencyStats();
+        LongAdder skipped = new LongAdder();
+        LongAdder failed = new LongAdder();
+        Map<Long, Long> createdIds = new ConcurrentHashMap<>();
+        Map<Long, Mono<Void>> lastCallPerMember = new HashMap<>();
+
+        try (AsyncMemberApiClient client = config.getClient().newAsyncClient(config.getResourceUrl(), stats,
+                config.getMaxInFlight(), config.getHttp2Connections(), config.getEventLoopThreads());
+             IntervalReporter reporter = IntervalReporter.fromSystemProperties(stats)) {
+            long startNanos = System.nanoTime();
+            reporter.start();
+            Flux.fromIterable(records)
+                    .map(record -> {
+                        Endpoint endpoint = Endpoint.of(record.getMethod(), record.uriTemplate());
+                        Member member = member(record);
+                        boolean hasBody = endpoint == Endpoint.POST_MEMBER || endpoint == Endpoint.PUT_MEMBER;
+                        if (endpoint == null || record.getUser() == null || (hasBody && member == null)) {
+                            skipped.increment();
+                            return Mono.<Void>empty();
+                        }
+                        Mono<Void> call = Mono.defer(() -> Mono.delay(delay(record, startNanos)))
+                                .then(Mono.defer(() -> send(client, endpoint, record, member, createdIds)))
+                                .onErrorResume(e -> {
+                                    failed.increment();
+                                    return Mono.empty();
+                                });
+                        return inOrder(lastCallPerMember, memberId(endpoint, record), call);
+                    })
+                    .flatMap(call -> call, config.getMaxInFlight())
+                    .blockLast();
+            long elapsedNanos = System.nanoTime() - startNanos;
+            String description = String.format("%s calls=%d skipped=%d", config, records.size(), skipped.sum());
+            return new LoadReport(description, stats, elapsedNanos, failed.sum());
+        }
+    }
+
+    /**
+     * Chain a call on a member after the previous call on that member, if any.
+     *
+     * @param memberId the recorded id of the member, 0 for calls on no member
+     */
+    private static Mono<Void> inOrder(Map<Long, Mono<Void>> lastCallPerMember, long memberId, Mono<Void> call) {
+        if (memberId == 0) {
+            return call;
+        }
+        Mono<Void> previous = lastCallPerMember.get(memberId);
+        Mono<Void> chained = (previous == null ? call : previous.then(call)).cache();
+        lastCallPerMember.put(memberId, chained);
+        return chained;
+    }
+
+    private static long memberId(Endpoint endpoint, TrafficRecord record) {
+        return endpoint == Endpoint.POST_MEMBER ? record.getCreatedId() : record.pathId();
+    }
+
+    private Duration delay(TrafficRecord record, long startNanos) {
+        if (config.getSpeed() == 0) {
+            return Duration.ZERO;
+        }
+        long dueNanos = startNanos + (long) (record.getStartMicros() * 1000 / config.getSpeed());
+        return Duration.ofNanos(Math.max(0, dueNanos - System.nanoTime()));
+    }
+
+    private Mono<Void> send(AsyncMemberApiClient client, Endpoint endpoint, TrafficRecord record, Member member,
+                            Map<Long, Long> createdIds) {
+        long id = createdIds.getOrDefault(record.pathId(), record.pathId());
+        switch (endpoint) {
+            case GET_MEMBERS:
+                return client.getMembers(record.getUser()).then();
+            case GET_MEMBER:
+                return client.getMember(record.getUser(), id).then();
+            case POST_MEMBER:
+                return client.createMember(record.getUser(), member)
+                        .doOnNext(createdId -> {
+                            if (record.getCreatedId() != 0) {
+                                createdIds.put(record.getCreatedId(), createdId);
+                            }
+                        })
+                        .then();
+            case PUT_MEMBER:
+                if (member.getId() != null) {
+                    member.setId(createdIds.getOrDefault(member.getId(), member.getId()));
+                }
+                return client.updateMember(record.getUser(), id, member).then();
+            default:
+                return client.deleteMember(record.getUser(), id).then();
+        }
+    }
+
+    /**
+     * @return the member in the request body, null when the body is empty or not a member
+     */
+    private Member member(TrafficRecord record) {
+        if (record.getBody().length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(record.getBody(), Member.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import be.syntra.java.advanced.knittingapitest.dto.Member;
+import be.syntra.java.advanced.knittingapitest.util.ApiUser;
+import be.syntra.java.advanced.knittingapitest.util.LatencyBudget;
+import be.syntra.java.advanced.knittingapitest.util.MemberGenerator;
+import be.syntra.java.advanced.knittingapitest.util.ObjectMappers;
+import be.syntra.java.advanced.knittingapitest.util.TrafficLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ResourceLock(LatencyBudget.SERVER_LOAD)
+public class TrafficReplayerTest {
+    private static final long RECORDED_ID = 987_654_321L;
+
+    private final ObjectMapper objectMapper = ObjectMappers.create();
+
+    /**
+     * Test that calls on a member created in the recording go to the member created by the replay, in their recorded order
+     */
+    @Test
+    void givenRecordedMemberLifecycle_whenReplay_thenShouldCallTheCreatedMember(@TempDir Path directory) throws IOException {
+        // given
+        Member member = new MemberGenerator(19).member(System.nanoTime());
+        Path log = directory.resolve("traffic.bin");
+        try (TrafficLog.Writer writer = TrafficLog.writer(log)) {
+            long start = System.nanoTime();
+            String path = "/members/" + RECORDED_ID;
+            writer.append("POST", "/members", ApiUser.ADMIN, objectMapper.writeValueAsBytes(member), 201, start, 1_000_000, RECORDED_ID);
+            writer.append("GET", path, ApiUser.ADMIN, null, 200, start + 2_000_000, 1_000_000, 0);
+            member.setId(RECORDED_ID);
+            writer.append("PUT", path, ApiUser.ADMIN, objectMapper.writeValueAsBytes(member), 204, start + 3_000_000, 1_000_000, 0);
+            writer.append("DELETE", path, ApiUser.SUPER_ADMIN, null, 204, start + 4_000_000, 1_000_000, 0);
+            writer.append("GET", "/members", ApiUser.USER, null, 200, start + 1_000_000, 1_000_000, 0);
+            writer.append("GET", "/members", null, null, 401, start + 1_000_000, 1_000_000, 0);
+        }
+        ReplayConfig config = ReplayConfig.builder().log(log).speed(0).build();
+
+        // when
+        LoadReport report = new TrafficReplayer(config).run();
+
+        // then
+        assertEquals(0, report.getFailedIterations());
+        assertTrue(report.getDescription().endsWith("calls=6 skipped=1"), report.getDescription());
+        assertEquals(1, report.row(Endpoint.GET_MEMBERS, ApiUser.USER).getCount());
+        for (Endpoint endpoint : new Endpoint[]{Endpoint.POST_MEMBER, Endpoint.GET_MEMBER, Endpoint.PUT_MEMBER}) {
+            assertEquals(1, report.row(endpoint, ApiUser.ADMIN).getCount(), endpoint.getTemplate());
+            assertEquals(0, report.row(endpoint, ApiUser.ADMIN).getErrors(), endpoint.getTemplate());
+        }
+        assertEquals(0, report.row(Endpoint.DELETE_MEMBER, ApiUser.SUPER_ADMIN).getErrors());
+    }
+
+    /**
+     * Test that the recorded start of the calls is kept, scaled by the speed
+     */
+    @Test
+    void givenDoubleSpeed_whenReplay_thenShouldSendCallsAtHalfTheirRecordedStart(@TempDir Path directory) throws IOException {
+        // given
+        Path log = directory.resolve("traffic.bin");
+        try (TrafficLog.Writer writer = TrafficLog.writer(log)) {
+            long start = System.nanoTime();
+            writer.append("GET", "/members", ApiUser.USER, null, 200, start, 1_000_000, 0);
+            writer.append("GET", "/members", ApiUser.USER, null, 200, start + TimeUnit.MILLISECONDS.toNanos(600), 1_000_000, 0);
+        }
+        ReplayConfig config = ReplayConfig.builder().log(log).speed(2).build();
+
+        // when
+        LoadReport report = new TrafficReplayer(config).run();
+
+        // then
+        assertEquals(2, report.row(Endpoint.GET_MEMBERS, ApiUser.USER).getCount());
+        assertTrue(report.getElapsedNanos() >= TimeUnit.MILLISECONDS.toNanos(300), report.toString());
+    }
+}
@@ -0,0 +1,90 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import be.syntra.java.advanced.knittingapitest.util.ApiUser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static be.syntra.java.advanced.knittingapitest.util.TestHelper.aUniqueMember;
+
+/**
+ * State of a single load worker. Not thread-safe: every worker thread (or reactive session) has its own.
+ */
+class Worker {
+    private static final ApiUser[] READERS = ApiUser.values();
+
+    private final List<Long> ownedIds = new ArrayList<>();
+    private int reads;
+
+    /**
+     * Get the user to authenticate the next read as, rotating over all users.
+     *
+     * @return the user for the next read
+     */
+    ApiUser nextReader() {
+        return READERS[reads++ % READERS.length];
+    }
+
+    /**
+     * Get the id of a member owned by this worker, creating it on first use.
+     *
+     * @param client the client to create the member with
+     * @return the id of the member
+     * @throws IllegalStateException when the member could not be created
+     */
+    long ownedId(MemberApiClient client) {
+        if (ownedIds.isEmpty()) {
+            own(client.createMember(ApiUser.ADMIN, aUniqueMember())
+                    .orElseThrow(() -> new IllegalStateException("Unable to create a member")));
+        }
+        return ownedIds.get(0);
+    }
+
+    /**
+     * Get the id of a member owned by this worker, creating it on first use, without blocking.
+     *
+     * @param client the client to create the member with
+     * @return the id of the member, or an {@link IllegalStateException} when the member could not be created
+     */
+    Mono<Long> ownedId(AsyncMemberApiClient client) {
+        if (!ownedIds.isEmpty()) {
+            return Mono.just(ownedIds.get(0));
+        }
+        return client.createMember(ApiUser.ADMIN, aUniqueMember())
+                .doOnNext(this::own)
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Unable to create a member")));
+    }
+
+    /**
+     * Mark a member as owned by this worker, so it is deleted when the worker is done.
+     */
+    void own(long id) {
+        ownedIds.add(id);
+    }
+
+    /**
+     * Delete all members owned by this worker.
+     *
+     * @param client the client to delete the members with
+     */
+    void cleanUp(MemberApiClient client) {
+        ownedIds.forEach(id -> client.deleteMember(ApiUser.SUPER_ADMIN, id));
+        ownedIds.clear();
+    }
+
+    /**
+     * Delete all members owned by this worker, without blocking.
+     *
+     * @param client the client to delete the members with
+     * @return completes when the members are deleted
+     */
+    Mono<Void> cleanUp(AsyncMemberApiClient client) {
+        List<Long> ids = new ArrayList<>(ownedIds);
+        ownedIds.clear();
+        return Flux.fromIterable(ids)
+                .concatMap(id -> client.deleteMember(ApiUser.SUPER_ADMIN, id))
+                .then();
+    }
+}
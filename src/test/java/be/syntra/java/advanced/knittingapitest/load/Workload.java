@@ -0,0 +1,288 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import be.syntra.java.advanced.knittingapitest.util.ApiUser;
+import lombok.Data;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.PropertiesPropertySourceLoader;
+import org.springframework.boot.env.PropertySourceLoader;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertiesPropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.ResourceUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static be.syntra.java.advanced.knittingapitest.util.TestHelper.RESOURCE_URL;
+
+/**
+ * A workload declared in a YAML or properties file, under the {@code workload} prefix, see {@link WorkloadRunner}:
+ * a number of users that each repeat an operation picked from a weighted mix, then think.
+ *
+ * <pre>
+ * workload:
+ *   name: club meeting
+ *   duration: 10m
+ *   users: 40
+ *   think-time:
+ *     distribution: exponential
+ *     mean: 3s
+ *   ids:
+ *     selection: zipf
+ *     members: 500
+ *   operations:
+ *     - endpoint: get-member
+ *       weight: 90
+ *     - endpoint: put-member
+ *       weight: 3
+ *       user: admin
+ * </pre>
+ */
+@Data
+public class Workload {
+    /**
+     * Default location of the workload file
+     */
+    public static final String DEFAULT_FILE = "classpath:workloads/club-meeting.yml";
+
+    private String name = "workload";
+    private String resourceUrl = RESOURCE_URL;
+    private Duration duration = Duration.ofMinutes(1);
+    /**
+     * Number of concurrent users, each running operations one after the other
+     */
+    private int users = 10;
+    private Threads threads = Threads.PLATFORM;
+    /**
+     * Seed of the random choices of the users, the same seed gives the same sequence of operations per user
+     */
+    private long seed = 42;
+    /**
+     * Think time after every operation that declares none of its own
+     */
+    private ThinkTime thinkTime = new ThinkTime();
+    private Ids ids = new Ids();
+    private List<Operation> operations = new ArrayList<>();
+
+    /**
+     * Read the workload of the file in the {@code workload.file} system property, {@value #DEFAULT_FILE} by default.
+     * Any {@code workload.*} system property overrides the file, e.g. {@code -Dworkload.duration=30s};
+     * overriding an element of a list, like {@code workload.operations[0].weight}, replaces the whole list.
+     *
+     * @return the validated workload
+     * @throws IOException              when the file can not be read
+     * @throws IllegalArgumentException when the workload is not valid
+     */
+    public static Workload fromSystemProperties() throws IOException {
+        Properties overrides = new Properties();
+        overrides.putAll(System.getProperties());
+        return load(System.getProperty("workload.file", DEFAULT_FILE), overrides);
+    }
+
+    /**
+     * Read a workload file.
+     *
+     * @param location  a path, or a {@code classpath:} location, of a {@code .yml}, {@code .yaml} or {@code .properties} file
+     * @param overrides properties that take precedence over the file
+     * @return the validated workload
+     * @throws IOException              when the file can not be read
+     * @throws IllegalArgumentException when the file declares no workload, or the workload is not valid
+     */
+    public static Workload load(String location, Properties overrides) throws IOException {
+        Resource resource = location.startsWith(ResourceUtils.CLASSPATH_URL_PREFIX)
+                ? new DefaultResourceLoader().getResource(location)
+                : new FileSystemResource(location);
+        if (!resource.exists()) {
+            throw new IllegalArgumentException("Workload file " + location + " does not exist");
+        }
+        PropertySourceLoader loader = location.endsWith(".properties")
+                ? new PropertiesPropertySourceLoader()
+                : new YamlPropertySourceLoader();
+        List<PropertySource<?>> sources = new ArrayList<>();
+        sources.add(new PropertiesPropertySource("overrides", overrides));
+        sources.addAll(loader.load(location, resource));
+        Workload workload = new Binder(ConfigurationPropertySources.from(sources))
+                .bind("workload", Bindable.of(Workload.class))
+                .orElseThrow(() -> new IllegalArgumentException(location + " declares no workload"));
+        workload.validate();
+        return workload;
+    }
+
+    /**
+     * Check that the workload can run.
+     *
+     * @throws IllegalArgumentException when it can not
+     */
+    public void validate() {
+        require(users > 0, "users must be positive");
+        require(!duration.isNegative() && !duration.isZero(), "duration must be positive");
+        require(!operations.isEmpty(), "operations must declare at least one operation");
+        for (Operation operation : operations) {
+            require(operation.endpoint != null, "every operation needs an endpoint");
+            require(operation.weight > 0, "the weight of " + operation.endpoint + " must be positive");
+            if (operation.thinkTime != null) {
+                operation.thinkTime.validate();
+            }
+        }
+        thinkTime.validate();
+        ids.validate();
+    }
+
+    private static void require(boolean valid, String message) {
+        if (!valid) {
+            throw new IllegalArgumentException("Invalid workload: " + message);
+        }
+    }
+
+    @Override
+    public String toString() {
+        double totalWeight = operations.stream().mapToDouble(Operation::getWeight).sum();
+        String mix = operations.stream()
+                .map(operation -> String.format("%s %.1f%%", operation.endpoint.getTemplate(), 100 * operation.weight / totalWeight))
+                .collect(Collectors.joining(", "));
+        return String.format("workload %s users=%d duration=%s thinkTime=%s ids=%s mix=[%s]", name, users, duration, thinkTime, ids, mix);
+    }
+
+    /**
+     * An operation of the mix.
+     */
+    @Data
+    public static class Operation {
+        private Endpoint endpoint;
+        /**
+         * Relative weight in the mix: the chance of the operation is its weight over the sum of all weights
+         */
+        private double weight;
+        /**
+         * User to authenticate as; by default reads rotate over all users, writes authenticate as admin
+         * and deletes as super admin, like the controller tests do
+         */
+        private ApiUser user;
+        /**
+         * Think time after the operation, the think time of the workload when not set
+         */
+        private ThinkTime thinkTime;
+    }
+
+    /**
+     * The pause of a user between two operations.
+     */
+    @Data
+    public static class ThinkTime {
+        private Distribution distribution = Distribution.FIXED;
+        private Duration mean = Duration.ZERO;
+
+        long sampleNanos(Random random) {
+            return distribution.sample(mean.toNanos(), random);
+        }
+
+        void validate() {
+            require(distribution != null, "think time needs a distribution");
+            require(!mean.isNegative(), "think time must not be negative");
+        }
+
+        @Override
+        public String toString() {
+            return mean.isZero() ? "none" : distribution + " " + mean;
+        }
+    }
+
+    /**
+     * Distributions of the think time, each with the configured mean.
+     */
+    public enum Distribution {
+        /**
+         * Always the mean
+         */
+        FIXED,
+        /**
+         * Uniform between 0 and twice the mean
+         */
+        UNIFORM,
+        /**
+         * Exponential, as the time between arrivals of independent users
+         */
+        EXPONENTIAL;
+
+        long sample(long meanNanos, Random random) {
+            switch (this) {
+                case UNIFORM:
+                    return (long) (random.nextDouble() * 2 * meanNanos);
+                case EXPONENTIAL:
+                    return (long) (-Math.log(1 - random.nextDouble()) * meanNanos);
+                default:
+                    return meanNanos;
+            }
+        }
+    }
+
+    /**
+     * The members that get and put operations work on: a pool created before the run and deleted after it.
+     * Post operations create members of their own, which delete operations delete.
+     */
+    @Data
+    public static class Ids {
+        private Selection selection = Selection.UNIFORM;
+        private int members = 100;
+        /**
+         * Fraction of the pool that is hot, for {@link Selection#HOT_SET}
+         */
+        private double hotFraction = 0.1;
+        /**
+         * Fraction of the operations on the hot members, for {@link Selection#HOT_SET}
+         */
+        private double hotShare = 0.9;
+        /**
+         * Exponent of the {@link Selection#ZIPF} distribution, higher is more skewed
+         */
+        private double exponent = 1;
+
+        void validate() {
+            require(selection != null, "ids need a selection");
+            require(members > 0, "ids.members must be positive");
+            require(hotFraction > 0 && hotFraction <= 1, "ids.hot-fraction must be in (0, 1]");
+            require(hotShare >= 0 && hotShare <= 1, "ids.hot-share must be in [0, 1]");
+            require(exponent > 0, "ids.exponent must be positive");
+        }
+
+        @Override
+        public String toString() {
+            switch (selection) {
+                case HOT_SET:
+                    return String.format("%s(members=%d hotFraction=%s hotShare=%s)", selection, members, hotFraction, hotShare);
+                case ZIPF:
+                    return String.format("%s(members=%d exponent=%s)", selection, members, exponent);
+                default:
+                    return String.format("%s(members=%d)", selection, members);
+            }
+        }
+    }
+
+    /**
+     * How an operation picks the member of the pool it works on.
+     */
+    public enum Selection {
+        /**
+         * Every member equally often
+         */
+        UNIFORM,
+        /**
+         * A hot fraction of the members gets a fixed share of the operations, each hot or cold member equally often
+         */
+        HOT_SET,
+        /**
+         * The n-th member proportional to 1 / n^exponent, a few members get most operations, like popular patterns
+         */
+        ZIPF
+    }
+}
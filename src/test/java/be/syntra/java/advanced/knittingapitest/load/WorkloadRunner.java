@@ -0,0 +1,201 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import be.syntra.java.advanced.knittingapitest.dto.Member;
+import be.syntra.java.advanced.knittingapitest.util.ApiUser;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static be.syntra.java.advanced.knittingapitest.util.TestHelper.aUniqueMember;
+
+/**
+ * Runs a {@link Workload}: every user repeats an operation picked from the weighted mix, followed by its think time,
+ * until the duration has passed.
+ *
+ * Before the run the pool of members is created, after the run the pool and the members the run created are deleted;
+ * neither is part of the report. Failed operations are counted as failed iterations.
+ */
+@RequiredArgsConstructor
+public class WorkloadRunner {
+    private final Workload workload;
+
+    public LoadReport run() throws InterruptedException {
+        LatencyStats stats = new LatencyStats();
+        try (IntervalReporter reporter = IntervalReporter.fromSystemProperties(stats)) {
+            return run(stats, reporter::start);
+        } catch (IOException e) {
+            throw new RuntimeException("Workload run failed", e);
+        }
+    }
+
+    /**
+     * Run the workload, recording into the given statistics.
+     *
+     * @param stats   the statistics to record the calls of the run in
+     * @param barrier awaited once the members of the pool are created, right before the users start
+     * @return the report of the run
+     */
+    LoadReport run(LatencyStats stats, StartBarrier barrier) throws InterruptedException {
+        workload.validate();
+        LongAdder failedOperations = new LongAdder();
+        int users = workload.getUsers();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(users);
+        ExecutorService executor = workload.getThreads().newExecutor(users);
+
+        try (MemberApiClient client = new MemberApiClient(workload.getResourceUrl(), stats, users);
+             MemberApiClient setUpClient = new MemberApiClient(workload.getResourceUrl(), new LatencyStats(), users)) {
+            long[] pool = new long[workload.getIds().getMembers()];
+            Queue<Long> created = new ConcurrentLinkedQueue<>();
+            try {
+                createPool(pool, setUpClient, executor);
+                barrier.await();
+                IdSelector ids = IdSelector.of(workload.getIds());
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < users; i++) {
+                    Random random = new Random(workload.getSeed() + i);
+                    futures.add(executor.submit(() -> {
+                        Worker worker = new Worker();
+                        try {
+                            start.await();
+                            long deadline = System.nanoTime() + workload.getDuration().toNanos();
+                            while (System.nanoTime() < deadline) {
+                                Workload.Operation operation = pick(random);
+                                try {
+                                    run(operation, client, worker, pool[ids.next(random)], created);
+                                } catch (RuntimeException e) {
+                                    failedOperations.increment();
+                                }
+                                Workload.ThinkTime thinkTime = operation.getThinkTime() != null ? operation.getThinkTime() : workload.getThinkTime();
+                                long pauseNanos = Math.min(thinkTime.sampleNanos(random), deadline - System.nanoTime());
+                                if (pauseNanos > 0) {
+                                    TimeUnit.NANOSECONDS.sleep(pauseNanos);
+                                }
+                            }
+                        } finally {
+                            done.countDown();
+                        }
+                        return null;
+                    }));
+                }
+
+                long startNanos = System.nanoTime();
+                start.countDown();
+                done.await();
+                long elapsedNanos = System.nanoTime() - startNanos;
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+
+                return new LoadReport(workload.toString(), stats, elapsedNanos, failedOperations.sum());
+            } finally {
+                for (long id : pool) {
+                    if (id != 0) {
+                        setUpClient.deleteMember(ApiUser.SUPER_ADMIN, id);
+                    }
+                }
+                created.forEach(id -> setUpClient.deleteMember(ApiUser.SUPER_ADMIN, id));
+            }
+        } catch (ExecutionException | IOException e) {
+            throw new RuntimeException("Workload run failed", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Create the members the get and put operations work on, from all users' threads.
+     */
+    private void createPool(long[] pool, MemberApiClient client, ExecutorService executor) throws InterruptedException, ExecutionException {
+        AtomicInteger next = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < workload.getUsers(); i++) {
+            futures.add(executor.submit(() -> {
+                for (int index = next.getAndIncrement(); index < pool.length; index = next.getAndIncrement()) {
+                    pool[index] = client.createMember(ApiUser.ADMIN, aUniqueMember())
+                            .orElseThrow(() -> new IllegalStateException("Unable to create the members of the workload"));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    private Workload.Operation pick(Random random) {
+        List<Workload.Operation> operations = workload.getOperations();
+        double totalWeight = 0;
+        for (Workload.Operation operation : operations) {
+            totalWeight += operation.getWeight();
+        }
+        double point = random.nextDouble() * totalWeight;
+        for (Workload.Operation operation : operations) {
+            point -= operation.getWeight();
+            if (point < 0) {
+                return operation;
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    /**
+     * Run an operation once.
+     *
+     * @param id      the member of the pool to get or put
+     * @param created the members created by post operations, which delete operations delete
+     */
+    private static void run(Workload.Operation operation, MemberApiClient client, Worker worker, long id, Queue<Long> created) {
+        ApiUser user = operation.getUser();
+        switch (operation.getEndpoint()) {
+            case GET_MEMBERS:
+                client.getMembers(user != null ? user : worker.nextReader());
+                break;
+            case GET_MEMBER:
+                client.getMember(user != null ? user : worker.nextReader(), id);
+                break;
+            case POST_MEMBER:
+                client.createMember(user != null ? user : ApiUser.ADMIN, aUniqueMember()).ifPresent(created::add);
+                break;
+            case PUT_MEMBER:
+                Member member = aUniqueMember();
+                member.setId(id);
+                client.updateMember(user != null ? user : ApiUser.ADMIN, id, member);
+                break;
+            case DELETE_MEMBER:
+                Long createdId = created.poll();
+                if (createdId == null) {
+                    createdId = client.createMember(ApiUser.ADMIN, aUniqueMember())
+                            .orElseThrow(() -> new IllegalStateException("Unable to create a member to delete"));
+                }
+                ResponseEntity<Void> response = client.deleteMember(user != null ? user : ApiUser.SUPER_ADMIN, createdId);
+                if (response == null || !response.getStatusCode().is2xxSuccessful()) {
+                    created.add(createdId);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown endpoint " + operation.getEndpoint());
+        }
+    }
+
+    /**
+     * Holds back the start of a run, e.g. until every JVM of a distributed run is ready.
+     */
+    @FunctionalInterface
+    interface StartBarrier {
+        void await() throws InterruptedException, IOException;
+    }
+}
@@ -0,0 +1,54 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import be.syntra.java.advanced.knittingapitest.util.ApiUser;
+import be.syntra.java.advanced.knittingapitest.util.LatencyBudget;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ResourceLock(LatencyBudget.SERVER_LOAD)
+public class WorkloadRunnerTest {
+
+    /**
+     * Test that every operation of the mix runs, authenticated as its declared user
+     */
+    @Test
+    void givenMixedWorkload_whenRun_thenShouldRunEveryOperationAsItsUser() throws InterruptedException {
+        // given
+        Workload workload = new Workload();
+        workload.setUsers(2);
+        workload.setDuration(Duration.ofSeconds(1));
+        workload.getIds().setMembers(5);
+        workload.getIds().setSelection(Workload.Selection.ZIPF);
+        workload.setOperations(List.of(
+                operation(Endpoint.GET_MEMBER, 4, ApiUser.USER),
+                operation(Endpoint.GET_MEMBERS, 1, null),
+                operation(Endpoint.PUT_MEMBER, 1, null),
+                operation(Endpoint.POST_MEMBER, 1, null),
+                operation(Endpoint.DELETE_MEMBER, 1, null)));
+
+        // when
+        LoadReport report = new WorkloadRunner(workload).run();
+
+        // then
+        assertEquals(0, report.getFailedIterations());
+        assertNotNull(report.row(Endpoint.GET_MEMBER, ApiUser.USER));
+        assertNull(report.row(Endpoint.GET_MEMBER, ApiUser.ADMIN));
+        assertNotNull(report.row(Endpoint.PUT_MEMBER, ApiUser.ADMIN));
+        assertNotNull(report.row(Endpoint.POST_MEMBER, ApiUser.ADMIN));
+        assertNotNull(report.row(Endpoint.DELETE_MEMBER, ApiUser.SUPER_ADMIN));
+        assertTrue(report.getRows().stream().allMatch(row -> row.getErrors() == 0), report.toString());
+    }
+
+    private static Workload.Operation operation(Endpoint endpoint, double weight, ApiUser user) {
+        Workload.Operation operation = new Workload.Operation();
+        operation.setEndpoint(endpoint);
+        operation.setWeight(weight);
+        operation.setUser(user);
+        return operation;
+    }
+}
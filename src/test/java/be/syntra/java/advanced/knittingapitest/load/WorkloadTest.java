@@ -0,0 +1,110 @@
+package be.syntra.java.advanced.knittingapitest.load;
+
+import be.syntra.java.advanced.knittingapitest.util.ApiUser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorkloadTest {
+
+    /**
+     * Test that the club meeting workload binds its mix, roles, think times and id selection
+     */
+    @Test
+    void givenClubMeetingFile_whenLoad_thenShouldBindEverySetting() throws IOException {
+        // when
+        Workload workload = Workload.load(Workload.DEFAULT_FILE, new Properties());
+
+        // then
+        assertEquals("club-meeting", workload.getName());
+        assertEquals(Duration.ofMinutes(10), workload.getDuration());
+        assertEquals(40, workload.getUsers());
+        assertEquals(Workload.Distribution.EXPONENTIAL, workload.getThinkTime().getDistribution());
+        assertEquals(Duration.ofSeconds(3), workload.getThinkTime().getMean());
+        assertEquals(Workload.Selection.ZIPF, workload.getIds().getSelection());
+        assertEquals(500, workload.getIds().getMembers());
+        List<Workload.Operation> operations = workload.getOperations();
+        assertEquals(5, operations.size());
+        assertEquals(Endpoint.GET_MEMBER, operations.get(0).getEndpoint());
+        assertEquals(90, operations.get(0).getWeight());
+        assertNull(operations.get(0).getUser());
+        assertNull(operations.get(0).getThinkTime());
+        assertEquals(Duration.ofSeconds(10), operations.get(1).getThinkTime().getMean());
+        assertEquals(ApiUser.SUPER_ADMIN, operations.get(4).getUser());
+        assertTrue(workload.toString().contains("GET /members/{id} 90.0%"), workload.toString());
+    }
+
+    /**
+     * Test that a properties file works as well, that overrides take precedence and that an invalid mix is refused
+     */
+    @Test
+    void givenPropertiesFileAndOverrides_whenLoad_thenShouldOverrideAndValidate(@TempDir Path directory) throws IOException {
+        // given
+        Path file = directory.resolve("reads.properties");
+        Files.write(file, List.of(
+                "workload.users=5",
+                "workload.duration=1m",
+                "workload.ids.selection=hot-set",
+                "workload.operations[0].endpoint=get-member",
+                "workload.operations[0].weight=1"));
+        Properties overrides = new Properties();
+        overrides.setProperty("workload.duration", "20s");
+
+        // when
+        Workload workload = Workload.load(file.toString(), overrides);
+        overrides.setProperty("workload.operations[0].endpoint", "get-member");
+        overrides.setProperty("workload.operations[0].weight", "0");
+
+        // then
+        assertEquals(5, workload.getUsers());
+        assertEquals(Duration.ofSeconds(20), workload.getDuration());
+        assertEquals(Workload.Selection.HOT_SET, workload.getIds().getSelection());
+        IllegalArgumentException invalid = assertThrows(IllegalArgumentException.class, () -> Workload.load(file.toString(), overrides));
+        assertTrue(invalid.getMessage().contains("weight of GET_MEMBER"), invalid.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> Workload.load(directory.resolve("missing.yml").toString(), new Properties()));
+    }
+
+    /**
+     * Test that hot-set and Zipf selection skew the operations to the first members, and uniform selection does not
+     */
+    @Test
+    void givenSelections_whenNext_thenShouldSkewAsDeclared() {
+        // given
+        Workload.Ids ids = new Workload.Ids();
+        ids.setMembers(100);
+
+        // when
+        double uniform = shareOfFirstTen(ids, Workload.Selection.UNIFORM);
+        double hotSet = shareOfFirstTen(ids, Workload.Selection.HOT_SET);
+        double zipf = shareOfFirstTen(ids, Workload.Selection.ZIPF);
+
+        // then: H(10) / H(100) = 2.929 / 5.187 for Zipf
+        assertEquals(0.1, uniform, 0.01);
+        assertEquals(0.9, hotSet, 0.01);
+        assertEquals(0.565, zipf, 0.01);
+    }
+
+    private static double shareOfFirstTen(Workload.Ids ids, Workload.Selection selection) {
+        ids.setSelection(selection);
+        IdSelector selector = IdSelector.of(ids);
+        Random random = new Random(21);
+        int firstTen = 0;
+        for (int i = 0; i < 100_000; i++) {
+            int index = selector.next(random);
+            assertTrue(index >= 0 && index < ids.getMembers());
+            if (index < 10) {
+                firstTen++;
+            }
+        }
+        return firstTen / 100_000.0;
+    }
+}
@@ -0,0 +1,208 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.specification.RequestSpecification;
+import org.apache.http.HttpRequest;
+import org.apache.http.RequestLine;
+import org.apache.http.client.HttpRequestRetryHandler;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.client.DefaultHttpRequestRetryHandler;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.params.CoreConnectionPNames;
+import org.apache.http.protocol.HttpContext;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared, connection-pooled HTTP clients for the tests.
+ *
+ * All clients are configured from {@link ClientConfig#fromSystemProperties()} and keep their connections alive,
+ * so tests reuse connections instead of opening one (and building a client) per request.
+ * The {@link TestRestTemplate}s share a single pool.
+ * RestAssured gets its own pool with the same settings, as it only accepts the legacy HttpClient API.
+ * The responses of the shared clients are checked against their schema, see {@link SchemaCheck}.
+ */
+public class ApiClients {
+    private static final ClientConfig CONFIG = ClientConfig.fromSystemProperties();
+    private static final CallTimer CALL_TIMER = new CallTimer();
+    private static final HttpRequestRetryHandler RETRY_HANDLER = ApiClients::retryRequest;
+    private static final SchemaCheck SCHEMA_ASSERTION = new SchemaCheck(true);
+    private static final SchemaCheck SCHEMA_COUNTER = new SchemaCheck(false);
+    private static final CloseableHttpClient HTTP_CLIENT = newHttpClient(CONFIG);
+    private static final TestRestTemplate ANONYMOUS_REST_TEMPLATE = newTestRestTemplate(new RestTemplateBuilder(), HTTP_CLIENT, SCHEMA_ASSERTION);
+    private static final Map<ApiUser, TestRestTemplate> REST_TEMPLATES = new EnumMap<>(ApiUser.class);
+
+    static {
+        for (ApiUser user : ApiUser.values()) {
+            REST_TEMPLATES.put(user, newTestRestTemplate(
+                    new RestTemplateBuilder().defaultHeader(HttpHeaders.AUTHORIZATION, user.getAuthorization()),
+                    HTTP_CLIENT,
+                    SCHEMA_ASSERTION
+            ));
+        }
+    }
+
+    /**
+     * RestAssured is only configured on first use, as its Groovy runtime does not start on every JVM the rest templates run on
+     * (e.g. Java 21 for virtual-thread load runs).
+     */
+    private static class RestAssuredClients {
+        private static final Map<ApiUser, RequestSpecification> REQUEST_SPECIFICATIONS = new EnumMap<>(ApiUser.class);
+
+        static {
+            for (ApiUser user : ApiUser.values()) {
+                REQUEST_SPECIFICATIONS.put(user, new RequestSpecBuilder()
+                        .addHeader(HttpHeaders.AUTHORIZATION, user.getAuthorization())
+                        .addFilter(CALL_TIMER)
+                        .addFilter(SCHEMA_ASSERTION)
+                        .build());
+            }
+            RestAssured.config = RestAssured.config().httpClient(restAssuredHttpClientConfig(CONFIG));
+        }
+    }
+
+    /**
+     * Get the shared rest template that does not authenticate.
+     *
+     * @return the unauthenticated rest template
+     */
+    public static TestRestTemplate restTemplate() {
+        return ANONYMOUS_REST_TEMPLATE;
+    }
+
+    /**
+     * Get the shared rest template that authenticates as the given user.
+     *
+     * @param user the user to authenticate as
+     * @return the authenticated rest template
+     */
+    public static TestRestTemplate restTemplate(ApiUser user) {
+        return REST_TEMPLATES.get(user);
+    }
+
+    /**
+     * Start a RestAssured request that authenticates as the given user.
+     *
+     * @param user the user to authenticate as
+     * @return the request specification
+     */
+    public static RequestSpecification given(ApiUser user) {
+        return RestAssured.given(RestAssuredClients.REQUEST_SPECIFICATIONS.get(user));
+    }
+
+    /**
+     * Create a new connection-pooled HTTP client, for callers that need their own pool (e.g. load drivers).
+     * The gauges of its pool are registered in the {@link ClientMetrics}.
+     * The caller is responsible for closing it.
+     *
+     * @param config the pool and timeout settings
+     * @return the new HTTP client
+     */
+    public static CloseableHttpClient newHttpClient(ClientConfig config) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(config.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(config.getMaxConnectionsPerRoute());
+        ClientMetrics.monitor(connectionManager);
+        long keepAliveMillis = config.getKeepAlive().toMillis();
+
+        return HttpClientBuilder.create()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout(millis(config.getConnectTimeout()))
+                        .setConnectionRequestTimeout(millis(config.getSocketTimeout()))
+                        .setSocketTimeout(millis(config.getSocketTimeout()))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> {
+                    long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAliveMillis) : keepAliveMillis;
+                })
+                .evictIdleConnections(keepAliveMillis, TimeUnit.MILLISECONDS)
+                .setRetryHandler(RETRY_HANDLER)
+                .disableCookieManagement()
+                .build();
+    }
+
+    /**
+     * Create a rest template on the given HTTP client, with the message converters and object mapper the tests expect.
+     * Error responses are returned instead of thrown, like {@link TestRestTemplate} does,
+     * created or deleted members are tracked in their {@link MemberIdPool},
+     * calls are timed in the {@link ClientMetrics} and for {@link LatencyBudget}s
+     * and responses that violate their schema are counted, see {@link SchemaCheck}.
+     *
+     * @param httpClient the HTTP client to send requests with
+     * @return the new rest template
+     */
+    public static TestRestTemplate newTestRestTemplate(CloseableHttpClient httpClient) {
+        return newTestRestTemplate(new RestTemplateBuilder(), httpClient, SCHEMA_COUNTER);
+    }
+
+    private static TestRestTemplate newTestRestTemplate(RestTemplateBuilder builder, CloseableHttpClient httpClient,
+                                                        SchemaCheck schemaCheck) {
+        StringHttpMessageConverter stringConverter = new StringHttpMessageConverter();
+        stringConverter.setWriteAcceptCharset(false);
+        RestTemplateBuilder pooledBuilder = builder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                .additionalInterceptors(CALL_TIMER, new MemberIdTracker(), schemaCheck)
+                .messageConverters(
+                        new ByteArrayHttpMessageConverter(),
+                        stringConverter,
+                        new MappingJackson2HttpMessageConverter(ObjectMappers.create())
+                );
+        // without http client options, TestRestTemplate keeps our request factory instead of creating its own client
+        return new TestRestTemplate(pooledBuilder, null, null, (TestRestTemplate.HttpClientOption[]) null);
+    }
+
+    @SuppressWarnings("deprecation")
+    private static HttpClientConfig restAssuredHttpClientConfig(ClientConfig config) {
+        return HttpClientConfig.httpClientConfig()
+                .setParam(CoreConnectionPNames.CONNECTION_TIMEOUT, millis(config.getConnectTimeout()))
+                .setParam(CoreConnectionPNames.SO_TIMEOUT, millis(config.getSocketTimeout()))
+                .httpClientFactory(() -> {
+                    PoolingClientConnectionManager connectionManager = new PoolingClientConnectionManager();
+                    connectionManager.setMaxTotal(config.getMaxConnections());
+                    connectionManager.setDefaultMaxPerRoute(config.getMaxConnectionsPerRoute());
+                    DefaultHttpClient httpClient = new DefaultHttpClient(connectionManager);
+                    httpClient.setHttpRequestRetryHandler(RETRY_HANDLER);
+                    return httpClient;
+                })
+                .reuseHttpClientInstance();
+    }
+
+    /**
+     * Retry like the HTTP client does by default (idempotent requests, up to 3 times, not after a timeout),
+     * counting every retry in the {@link ClientMetrics}.
+     */
+    private static boolean retryRequest(IOException exception, int executionCount, HttpContext context) {
+        boolean retry = DefaultHttpRequestRetryHandler.INSTANCE.retryRequest(exception, executionCount, context);
+        HttpRequest request = HttpClientContext.adapt(context).getRequest();
+        if (retry && request != null) {
+            RequestLine requestLine = request.getRequestLine();
+            ClientMetrics.recordRetry(requestLine.getMethod(), URI.create(requestLine.getUri()).getPath(), exception);
+        }
+        return retry;
+    }
+
+    private static int millis(Duration duration) {
+        return (int) duration.toMillis();
+    }
+}
@@ -0,0 +1,53 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * The accounts known by the knitting API, from least to most privileged.
+ * The basic authentication header of each account is encoded once, up front.
+ */
+@Getter
+public enum ApiUser {
+    USER("user", "password"),
+    ADMIN("admin", "admin"),
+    SUPER_ADMIN("super-admin", "super-admin");
+
+    private final String username;
+    private final String password;
+    /**
+     * Value of the {@code Authorization} header
+     */
+    private final String authorization;
+    /**
+     * Read-only headers holding only the {@code Authorization} header
+     */
+    private final HttpHeaders headers;
+
+    ApiUser(String username, String password) {
+        this.username = username;
+        this.password = password;
+        this.authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, authorization);
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+
+    /**
+     * Get the user that authenticates with the given {@code Authorization} header.
+     *
+     * @return the user, or null when no user matches
+     */
+    public static ApiUser fromAuthorization(String authorization) {
+        for (ApiUser user : values()) {
+            if (user.authorization.equals(authorization)) {
+                return user;
+            }
+        }
+        return null;
+    }
+}
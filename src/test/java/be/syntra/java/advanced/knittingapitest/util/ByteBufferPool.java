@@ -0,0 +1,71 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A pool of direct byte buffers of a fixed size, to hold response bodies without allocating heap memory per response.
+ *
+ * Buffers released beyond the capacity of the pool are dropped, and freed once they are garbage collected.
+ */
+public class ByteBufferPool {
+    public static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final ByteBufferPool SHARED = new ByteBufferPool(BUFFER_SIZE, 256);
+
+    private final int bufferSize;
+    private final BlockingQueue<ByteBuffer> free;
+    private final LongAdder allocated = new LongAdder();
+
+    /**
+     * @param bufferSize the size of every buffer, in bytes
+     * @param capacity   the maximum number of free buffers to keep
+     */
+    public ByteBufferPool(int bufferSize, int capacity) {
+        this.bufferSize = bufferSize;
+        this.free = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Get the pool shared by the clients of the harness, which keeps up to 16 MiB of buffers.
+     *
+     * @return the shared pool
+     */
+    public static ByteBufferPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Take a free buffer from the pool, or allocate one when none is free.
+     *
+     * @return a cleared buffer, to {@link #release(ByteBuffer)} once it is no longer used
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = free.poll();
+        if (buffer == null) {
+            allocated.increment();
+            return ByteBuffer.allocateDirect(bufferSize);
+        }
+        return buffer.clear();
+    }
+
+    /**
+     * Return a buffer to the pool. The buffer must not be used afterwards.
+     */
+    public void release(ByteBuffer buffer) {
+        free.offer(buffer);
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * @return the number of buffers allocated, as no free buffer was available
+     */
+    public long getAllocated() {
+        return allocated.sum();
+    }
+}
@@ -0,0 +1,152 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.HdrHistogram.Histogram;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.function.LongConsumer;
+
+/**
+ * Times the HTTP calls made through the harness's clients: every call is recorded in the {@link ClientMetrics},
+ * and in the histogram of the recording that is active on the calling thread, if any (see {@link LatencyBudgetExtension}).
+ * Calls to the members resource are recorded in the {@link TrafficRecorder} too, when traffic is recorded.
+ *
+ * Rest template calls are timed until their response is closed, so reading the body counts.
+ */
+public class CallTimer implements ClientHttpRequestInterceptor, Filter {
+    private static final ThreadLocal<Histogram> RECORDING = new ThreadLocal<>();
+
+    /**
+     * Record the latencies of the calls of the current thread in the given histogram, in nanoseconds,
+     * until {@link #stop()}.
+     */
+    static void start(Histogram histogram) {
+        RECORDING.set(histogram);
+    }
+
+    static void stop() {
+        RECORDING.remove();
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        Histogram histogram = RECORDING.get();
+        long start = System.nanoTime();
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException e) {
+            ClientMetrics.recordFailure(request.getMethodValue(), request.getURI().getPath(), e);
+            record(request, body, 0, start, System.nanoTime() - start, null, histogram);
+            throw e;
+        }
+        return new TimedResponse(response, latencyNanos -> record(request, body, rawStatus(response), start, latencyNanos,
+                response.getHeaders().getLocation(), histogram), start);
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        Histogram histogram = RECORDING.get();
+        long start = System.nanoTime();
+        int status = 0;
+        String location = null;
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            status = response.getStatusCode();
+            location = response.getHeader(HttpHeaders.LOCATION);
+            return response;
+        } catch (Exception e) {
+            // RestAssured rethrows I/O exceptions without declaring them
+            ClientMetrics.recordFailure(requestSpec.getMethod(), URI.create(requestSpec.getURI()).getPath(), e);
+            throw e;
+        } finally {
+            long latencyNanos = System.nanoTime() - start;
+            String path = URI.create(requestSpec.getURI()).getPath();
+            ApiUser user = ApiUser.fromAuthorization(requestSpec.getHeaders().getValue(HttpHeaders.AUTHORIZATION));
+            ClientMetrics.record(requestSpec.getMethod(), path, user, status, latencyNanos);
+            TrafficRecorder.record(requestSpec.getMethod(), path, user, requestSpec.getBody(), status, start, latencyNanos,
+                    location == null ? null : URI.create(location));
+            if (histogram != null) {
+                histogram.recordValue(latencyNanos);
+            }
+        }
+    }
+
+    private static void record(HttpRequest request, byte[] body, int status, long start, long latencyNanos, URI location,
+                               Histogram histogram) {
+        String path = request.getURI().getPath();
+        ApiUser user = ApiUser.fromAuthorization(request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+        ClientMetrics.record(request.getMethodValue(), path, user, status, latencyNanos);
+        TrafficRecorder.record(request.getMethodValue(), path, user, body, status, start, latencyNanos, location);
+        if (histogram != null) {
+            histogram.recordValue(latencyNanos);
+        }
+    }
+
+    private static int rawStatus(ClientHttpResponse response) {
+        try {
+            return response.getRawStatusCode();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static class TimedResponse implements ClientHttpResponse {
+        private final ClientHttpResponse response;
+        private final LongConsumer onClose;
+        private final long start;
+        private boolean closed;
+
+        TimedResponse(ClientHttpResponse response, LongConsumer onClose, long start) {
+            this.response = response;
+            this.onClose = onClose;
+            this.start = start;
+        }
+
+        @Override
+        public HttpStatus getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public int getRawStatusCode() throws IOException {
+            return response.getRawStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return response.getBody();
+        }
+
+        @Override
+        public void close() {
+            response.close();
+            if (!closed) {
+                closed = true;
+                onClose.accept(System.nanoTime() - start);
+            }
+        }
+    }
+}
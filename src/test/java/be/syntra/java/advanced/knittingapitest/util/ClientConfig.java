@@ -0,0 +1,73 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+
+/**
+ * Connection pool and timeout settings of the HTTP clients created by {@link ApiClients}.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class ClientConfig {
+    @Builder.Default
+    private final int maxConnections = 200;
+    @Builder.Default
+    private final int maxConnectionsPerRoute = 200;
+    @Builder.Default
+    private final Duration connectTimeout = Duration.ofSeconds(5);
+    @Builder.Default
+    private final Duration socketTimeout = Duration.ofSeconds(30);
+    /**
+     * How long an idle connection is kept for reuse, unless the server asks for less
+     */
+    @Builder.Default
+    private final Duration keepAlive = Duration.ofSeconds(30);
+
+    /**
+     * Read the configuration from system properties:
+     * {@code client.maxConnections}, {@code client.maxConnectionsPerRoute},
+     * {@code client.connectTimeout}, {@code client.socketTimeout} and {@code client.keepAlive}.
+     *
+     * @return the configuration, with defaults for missing properties
+     */
+    public static ClientConfig fromSystemProperties() {
+        ClientConfigBuilder builder = ClientConfig.builder();
+        String maxConnections = System.getProperty("client.maxConnections");
+        if (maxConnections != null) {
+            builder.maxConnections(Integer.parseInt(maxConnections));
+        }
+        String maxConnectionsPerRoute = System.getProperty("client.maxConnectionsPerRoute");
+        if (maxConnectionsPerRoute != null) {
+            builder.maxConnectionsPerRoute(Integer.parseInt(maxConnectionsPerRoute));
+        }
+        String connectTimeout = System.getProperty("client.connectTimeout");
+        if (connectTimeout != null) {
+            builder.connectTimeout(DurationStyle.detectAndParse(connectTimeout));
+        }
+        String socketTimeout = System.getProperty("client.socketTimeout");
+        if (socketTimeout != null) {
+            builder.socketTimeout(DurationStyle.detectAndParse(socketTimeout));
+        }
+        String keepAlive = System.getProperty("client.keepAlive");
+        if (keepAlive != null) {
+            builder.keepAlive(DurationStyle.detectAndParse(keepAlive));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Get a copy of this configuration that allows the given number of concurrent connections.
+     *
+     * @param connections the number of connections, in total and per route
+     * @return the new configuration
+     */
+    public ClientConfig withMaxConnections(int connections) {
+        return toBuilder()
+                .maxConnections(connections)
+                .maxConnectionsPerRoute(connections)
+                .build();
+    }
+}
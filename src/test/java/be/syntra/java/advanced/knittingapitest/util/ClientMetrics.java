@@ -0,0 +1,204 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Client-side metrics of the calls the harness makes, see {@link CallTimer}:
+ * a timer per method, uri template, role and status, a counter of failed calls,
+ * a counter of calls that got no response per cause (e.g. a timeout), a counter of retried calls,
+ * a counter of responses that violate their schema (see {@link SchemaCheck}),
+ * a counter of the faults injected by a {@link FaultProxy} and gauges of the connection pools.
+ *
+ * When the JVM exits, the metrics are written to {@code client-metrics.prom} (Prometheus text format)
+ * and {@code client-metrics.json} (summary) in the directory of the {@code client.metrics.dir} system property,
+ * {@code target} by default.
+ */
+public class ClientMetrics {
+    public static final String REQUESTS = "knitting.client.requests";
+    public static final String ERRORS = "knitting.client.errors";
+    public static final String SCHEMA_VIOLATIONS = "knitting.client.schema.violations";
+    public static final String FAILURES = "knitting.client.failures";
+    public static final String RETRIES = "knitting.client.retries";
+    public static final String PROXY_FAULTS = "knitting.proxy.faults";
+    public static final String POOL_CONNECTIONS = "knitting.client.pool.connections";
+    /**
+     * Status tag of calls that got no response
+     */
+    public static final String NO_RESPONSE = "CLIENT_ERROR";
+
+    private static final Pattern MEMBER_PATH = Pattern.compile(".*/members/\\d+");
+    private static final PrometheusMeterRegistry REGISTRY = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    private static final AtomicInteger POOLS = new AtomicInteger();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(
+                () -> export(Paths.get(System.getProperty("client.metrics.dir", "target"))),
+                "client-metrics-export"));
+    }
+
+    public static PrometheusMeterRegistry registry() {
+        return REGISTRY;
+    }
+
+    /**
+     * Record a call.
+     *
+     * @param method       the HTTP method
+     * @param path         the path of the request
+     * @param user         the authenticated user, null for none
+     * @param status       the status code of the response, 0 when no response was received
+     * @param latencyNanos the latency of the call
+     */
+    public static void record(String method, String path, ApiUser user, int status, long latencyNanos) {
+        Tags tags = Tags.of(
+                "method", method,
+                "uri", uriTemplate(path),
+                "role", user == null ? "anonymous" : user.getUsername(),
+                "status", status == 0 ? NO_RESPONSE : String.valueOf(status)
+        );
+        Timer.builder(REQUESTS)
+                .tags(tags)
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .publishPercentileHistogram()
+                .register(REGISTRY)
+                .record(latencyNanos, TimeUnit.NANOSECONDS);
+        if (status == 0 || status >= 400) {
+            Counter.builder(ERRORS).tags(tags).register(REGISTRY).increment();
+        }
+    }
+
+    /**
+     * Record a response that violates its schema.
+     *
+     * @param method the HTTP method
+     * @param path   the path of the request
+     */
+    public static void recordSchemaViolation(String method, String path) {
+        Counter.builder(SCHEMA_VIOLATIONS).tags("method", method, "uri", uriTemplate(path)).register(REGISTRY).increment();
+    }
+
+    /**
+     * Record a call that got no response.
+     *
+     * @param method the HTTP method
+     * @param path   the path of the request
+     * @param cause  why no response was received, e.g. a {@link java.net.SocketTimeoutException}
+     */
+    public static void recordFailure(String method, String path, Throwable cause) {
+        Counter.builder(FAILURES)
+                .tags("method", method, "uri", uriTemplate(path), "cause", cause.getClass().getSimpleName())
+                .register(REGISTRY)
+                .increment();
+    }
+
+    /**
+     * Record a call that is sent again by the HTTP client, after it got no response.
+     *
+     * @param method the HTTP method
+     * @param path   the path of the request
+     * @param cause  why no response was received
+     */
+    public static void recordRetry(String method, String path, Throwable cause) {
+        Counter.builder(RETRIES)
+                .tags("method", method, "uri", uriTemplate(path), "cause", cause.getClass().getSimpleName())
+                .register(REGISTRY)
+                .increment();
+    }
+
+    /**
+     * Record a fault injected by a {@link FaultProxy}.
+     *
+     * @param fault the kind of fault, e.g. {@link FaultProxy#FAULT_RESET}
+     */
+    public static void recordProxyFault(String fault) {
+        Counter.builder(PROXY_FAULTS).tags("fault", fault).register(REGISTRY).increment();
+    }
+
+    /**
+     * Register gauges of the leased, available, pending and maximum connections of a pool.
+     *
+     * @param connectionManager the pool
+     * @return the name of the pool in the {@code pool} tag
+     */
+    public static String monitor(PoolingHttpClientConnectionManager connectionManager) {
+        String pool = "pool-" + POOLS.incrementAndGet();
+        Gauge.builder(POOL_CONNECTIONS, connectionManager, m -> m.getTotalStats().getLeased())
+                .tags("pool", pool, "state", "leased").register(REGISTRY);
+        Gauge.builder(POOL_CONNECTIONS, connectionManager, m -> m.getTotalStats().getAvailable())
+                .tags("pool", pool, "state", "available").register(REGISTRY);
+        Gauge.builder(POOL_CONNECTIONS, connectionManager, m -> m.getTotalStats().getPending())
+                .tags("pool", pool, "state", "pending").register(REGISTRY);
+        Gauge.builder(POOL_CONNECTIONS, connectionManager, m -> m.getTotalStats().getMax())
+                .tags("pool", pool, "state", "max").register(REGISTRY);
+        return pool;
+    }
+
+    static String uriTemplate(String path) {
+        if (MEMBER_PATH.matcher(path).matches()) {
+            return "/members/{id}";
+        }
+        if (path.endsWith("/members")) {
+            return "/members";
+        }
+        return path;
+    }
+
+    /**
+     * Write the metrics in Prometheus text format and as a JSON summary.
+     *
+     * @param directory the directory to write {@code client-metrics.prom} and {@code client-metrics.json} to
+     */
+    public static void export(Path directory) {
+        if (REGISTRY.find(REQUESTS).timers().isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            Files.write(directory.resolve("client-metrics.prom"), REGISTRY.scrape().getBytes(StandardCharsets.UTF_8));
+            ObjectMappers.create().writerWithDefaultPrettyPrinter()
+                    .writeValue(directory.resolve("client-metrics.json").toFile(), summary());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to export the client metrics", e);
+        }
+    }
+
+    /**
+     * @return a summary of every timer: its tags, count, errors and latencies in milliseconds
+     */
+    static List<Map<String, Object>> summary() {
+        List<Map<String, Object>> summary = new ArrayList<>();
+        for (Timer timer : REGISTRY.find(REQUESTS).timers()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            timer.getId().getTags().forEach(tag -> entry.put(tag.getKey(), tag.getValue()));
+            entry.put("count", timer.count());
+            entry.put("meanMillis", timer.mean(TimeUnit.MILLISECONDS));
+            for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+                entry.put("p" + Math.round(percentile.percentile() * 100) + "Millis", percentile.value(TimeUnit.MILLISECONDS));
+            }
+            entry.put("maxMillis", timer.max(TimeUnit.MILLISECONDS));
+            summary.add(entry);
+        }
+        return summary;
+    }
+}
@@ -0,0 +1,92 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import be.syntra.java.advanced.knittingapitest.dto.Member;
+import be.syntra.java.advanced.knittingapitest.dto.MemberList;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static be.syntra.java.advanced.knittingapitest.util.TestHelper.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@MemberNamespace
+@Isolated
+public class ClientMetricsTest {
+
+    /**
+     * Test that calls are timed per method, uri template, role and status
+     */
+    @Test
+    void givenCalls_whenRecorded_thenShouldTagByMethodUriRoleAndStatus() {
+        // given
+        givenAtLeastOneMemberExists();
+        long id = anExistingId();
+        double membersBefore = count("GET", "/members/{id}", "user", "200");
+
+        // when
+        ApiClients.restTemplate(ApiUser.USER).getForObject(RESOURCE_URL + "/" + id, Member.class);
+        ApiClients.given(ApiUser.USER).get(RESOURCE_URL + "/" + id);
+
+        // then
+        assertEquals(membersBefore + 2, count("GET", "/members/{id}", "user", "200"));
+    }
+
+    /**
+     * Test that failed calls are counted as errors
+     */
+    @Test
+    void givenUnauthenticatedCall_whenRecorded_thenShouldCountError() {
+        // given
+        Counter errors = ClientMetrics.registry().counter(ClientMetrics.ERRORS,
+                "method", "GET", "uri", "/members", "role", "anonymous", "status", "401");
+        double errorsBefore = errors.count();
+
+        // when
+        ApiClients.restTemplate().getForEntity(RESOURCE_URL, MemberList.class);
+
+        // then
+        assertEquals(errorsBefore + 1, errors.count());
+    }
+
+    /**
+     * Test that the metrics are exported in Prometheus text format and as JSON summary, with the pool gauges
+     */
+    @Test
+    void givenRecordedCalls_whenExport_thenShouldWritePrometheusAndJson(@TempDir Path directory) throws IOException {
+        // given
+        ApiClients.restTemplate(ApiUser.ADMIN).getForObject(RESOURCE_URL, MemberList.class);
+
+        // when
+        ClientMetrics.export(directory);
+
+        // then
+        String prometheus = Files.readString(directory.resolve("client-metrics.prom"));
+        assertTrue(prometheus.contains("knitting_client_requests_seconds_count{method=\"GET\",role=\"admin\",status=\"200\",uri=\"/members\",}"));
+        assertTrue(prometheus.contains("knitting_client_pool_connections{pool=\"pool-1\",state=\"max\",}"));
+        String json = Files.readString(directory.resolve("client-metrics.json"));
+        assertTrue(json.contains("\"p99Millis\""));
+    }
+
+    /**
+     * Test that member paths are reduced to their uri template
+     */
+    @Test
+    void givenPaths_whenUriTemplate_thenShouldReplaceIds() {
+        assertEquals("/members", ClientMetrics.uriTemplate("/api/members"));
+        assertEquals("/members/{id}", ClientMetrics.uriTemplate("/members/123"));
+        assertEquals("/members/abc", ClientMetrics.uriTemplate("/members/abc"));
+    }
+
+    private static double count(String method, String uri, String role, String status) {
+        Timer timer = ClientMetrics.registry().find(ClientMetrics.REQUESTS)
+                .tags("method", method, "uri", uri, "role", role, "status", status)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
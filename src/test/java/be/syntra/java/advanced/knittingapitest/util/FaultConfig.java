@@ -0,0 +1,143 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * The faults a {@link FaultProxy} injects into the traffic it relays.
+ */
+@Getter
+@Builder
+public class FaultConfig {
+    /**
+     * Mean latency added to every chunk of data, in each direction
+     */
+    @Builder.Default
+    private final Duration latency = Duration.ZERO;
+    @Builder.Default
+    private final LatencyDistribution latencyDistribution = LatencyDistribution.FIXED;
+    /**
+     * Bytes per second per connection and direction, 0 for no limit
+     */
+    @Builder.Default
+    private final long bandwidth = 0;
+    /**
+     * Probability that a response is replaced by a connection reset
+     */
+    @Builder.Default
+    private final double resetProbability = 0;
+    /**
+     * Probability that only the start of a response is sent right away, and the rest trickles in
+     */
+    @Builder.Default
+    private final double partialProbability = 0;
+    /**
+     * Number of bytes of a partial response that is sent right away
+     */
+    @Builder.Default
+    private final int partialBytes = 64;
+    /**
+     * Interval between the bytes of a partial response that trickle in after its start
+     */
+    @Builder.Default
+    private final Duration trickleInterval = Duration.ofSeconds(1);
+    /**
+     * Seed of the random faults, the same seed gives the same faults for the same traffic
+     */
+    @Builder.Default
+    private final long seed = 42;
+
+    /**
+     * Read the configuration from system properties:
+     * {@code proxy.latency} (e.g. {@code 20ms}), {@code proxy.latencyDistribution} ({@code fixed}, {@code uniform}
+     * or {@code exponential}), {@code proxy.bandwidth} (e.g. {@code 100KB} per second), {@code proxy.resetProbability},
+     * {@code proxy.partialProbability}, {@code proxy.partialBytes}, {@code proxy.trickleInterval} and {@code proxy.seed}.
+     *
+     * @return the configuration, with defaults (no faults) for missing properties
+     */
+    public static FaultConfig fromSystemProperties() {
+        FaultConfigBuilder builder = FaultConfig.builder();
+        String latency = System.getProperty("proxy.latency");
+        if (latency != null) {
+            builder.latency(DurationStyle.detectAndParse(latency));
+        }
+        String latencyDistribution = System.getProperty("proxy.latencyDistribution");
+        if (latencyDistribution != null) {
+            builder.latencyDistribution(LatencyDistribution.valueOf(latencyDistribution.toUpperCase()));
+        }
+        String bandwidth = System.getProperty("proxy.bandwidth");
+        if (bandwidth != null) {
+            builder.bandwidth(DataSize.parse(bandwidth).toBytes());
+        }
+        String resetProbability = System.getProperty("proxy.resetProbability");
+        if (resetProbability != null) {
+            builder.resetProbability(Double.parseDouble(resetProbability));
+        }
+        String partialProbability = System.getProperty("proxy.partialProbability");
+        if (partialProbability != null) {
+            builder.partialProbability(Double.parseDouble(partialProbability));
+        }
+        String partialBytes = System.getProperty("proxy.partialBytes");
+        if (partialBytes != null) {
+            builder.partialBytes(Integer.parseInt(partialBytes));
+        }
+        String trickleInterval = System.getProperty("proxy.trickleInterval");
+        if (trickleInterval != null) {
+            builder.trickleInterval(DurationStyle.detectAndParse(trickleInterval));
+        }
+        String seed = System.getProperty("proxy.seed");
+        if (seed != null) {
+            builder.seed(Long.parseLong(seed));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Draw a latency from the distribution.
+     *
+     * @return the latency, in nanoseconds
+     */
+    long sampleLatencyNanos(Random random) {
+        return latencyDistribution.sample(latency.toNanos(), random);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("latency=%s %s bandwidth=%s resetProbability=%s partialProbability=%s",
+                latency, latencyDistribution, bandwidth == 0 ? "unlimited" : bandwidth + "B/s", resetProbability, partialProbability);
+    }
+
+    /**
+     * Distributions of the injected latency, each with the configured latency as its mean.
+     */
+    public enum LatencyDistribution {
+        /**
+         * Always the mean
+         */
+        FIXED,
+        /**
+         * Uniform between 0 and twice the mean
+         */
+        UNIFORM,
+        /**
+         * Exponential, mostly short with a long tail: 1% of the samples are above 4.6 times the mean
+         */
+        EXPONENTIAL;
+
+        long sample(long meanNanos, Random random) {
+            switch (this) {
+                case UNIFORM:
+                    return (long) (random.nextDouble() * 2 * meanNanos);
+                case EXPONENTIAL:
+                    return (long) (-Math.log(1 - random.nextDouble()) * meanNanos);
+                default:
+                    return meanNanos;
+            }
+        }
+    }
+}
@@ -0,0 +1,414 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A local TCP proxy in front of the API that injects network faults into the traffic it relays, see {@link FaultConfig}:
+ * latency, a bandwidth limit, connection resets instead of responses
+ * and partial responses of which the rest trickles in byte by byte, slow-loris style.
+ *
+ * The proxy does not parse HTTP: a response is the data the API sends after the client sent a request.
+ * All connections are relayed by a single thread, with non-blocking channels;
+ * data is held in memory until it is due, up to {@value #MAX_QUEUED_BYTES} bytes per connection and direction.
+ * Every injected reset and partial response is counted in the {@link ClientMetrics}.
+ */
+public class FaultProxy implements Closeable {
+    public static final String FAULT_RESET = "reset";
+    public static final String FAULT_PARTIAL = "partial";
+
+    private static final int CHUNK_SIZE = 16 * 1024;
+    private static final int MAX_QUEUED_BYTES = 1024 * 1024;
+
+    private final InetSocketAddress target;
+    private final String url;
+    private final FaultConfig config;
+    private final Random random;
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final List<Connection> connections = new ArrayList<>();
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(CHUNK_SIZE);
+    private final Thread thread;
+    private volatile boolean closed;
+
+    /**
+     * Start a proxy on a random local port.
+     *
+     * @param targetUrl the {@code http} url of the API, e.g. {@code http://localhost:8080}
+     * @param config    the faults to inject
+     * @throws UncheckedIOException when the proxy can not listen
+     */
+    public FaultProxy(String targetUrl, FaultConfig config) {
+        URI targetUri = URI.create(targetUrl);
+        if (!"http".equals(targetUri.getScheme())) {
+            throw new IllegalArgumentException("Only http urls can be proxied, not " + targetUrl);
+        }
+        this.target = new InetSocketAddress(targetUri.getHost(), targetUri.getPort() < 0 ? 80 : targetUri.getPort());
+        this.config = config;
+        this.random = new Random(config.getSeed());
+        try {
+            this.selector = Selector.open();
+            this.server = ServerSocketChannel.open();
+            server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            server.configureBlocking(false);
+            server.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to start the proxy to " + targetUrl, e);
+        }
+        this.url = "http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":" + getPort()
+                + (targetUri.getRawPath() == null ? "" : targetUri.getRawPath());
+        this.thread = new Thread(this::run, "fault-proxy-" + getPort());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public int getPort() {
+        return server.socket().getLocalPort();
+    }
+
+    /**
+     * Get the url to send requests to instead of the url of the API.
+     *
+     * @return the url of the API, with the host and port of the proxy
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    public FaultConfig getConfig() {
+        return config;
+    }
+
+    private void run() {
+        try {
+            while (!closed) {
+                long waitNanos = flush(System.nanoTime());
+                if (waitNanos <= 0) {
+                    selector.selectNow();
+                } else {
+                    selector.select(waitNanos == Long.MAX_VALUE ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos)));
+                }
+                for (SelectionKey key : selector.selectedKeys()) {
+                    if (key.isValid()) {
+                        handle(key);
+                    }
+                }
+                selector.selectedKeys().clear();
+            }
+        } catch (IOException e) {
+            if (!closed) {
+                throw new UncheckedIOException("The proxy to " + target + " stopped", e);
+            }
+        } finally {
+            connections.forEach(Connection::reset);
+            closeQuietly(server);
+            closeQuietly(selector);
+        }
+    }
+
+    /**
+     * Write the data that is due on every connection.
+     *
+     * @return the time until more data is due, in nanoseconds; {@link Long#MAX_VALUE} when no data is waiting
+     */
+    private long flush(long now) {
+        long waitNanos = Long.MAX_VALUE;
+        for (Connection connection : connections) {
+            waitNanos = Math.min(waitNanos, connection.flush(now));
+        }
+        connections.removeIf(Connection::isClosed);
+        return waitNanos;
+    }
+
+    private void handle(SelectionKey key) throws IOException {
+        if (key.isAcceptable()) {
+            accept();
+            return;
+        }
+        Connection connection = (Connection) key.attachment();
+        try {
+            if (key.isConnectable()) {
+                connection.upstream.finishConnect();
+            }
+            if (key.isReadable()) {
+                connection.read(key.channel() == connection.client ? connection.requests : connection.responses);
+            }
+            if (key.isValid() && key.isWritable()) {
+                connection.flush(System.nanoTime());
+            }
+        } catch (IOException e) {
+            connection.reset();
+        }
+        if (!connection.isClosed()) {
+            connection.updateInterest();
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel client = server.accept();
+        if (client == null) {
+            return;
+        }
+        SocketChannel upstream = SocketChannel.open();
+        try {
+            client.configureBlocking(false);
+            client.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            upstream.configureBlocking(false);
+            upstream.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            upstream.connect(target);
+        } catch (IOException e) {
+            closeQuietly(client);
+            closeQuietly(upstream);
+            return;
+        }
+        Connection connection = new Connection(client, upstream);
+        connection.clientKey = client.register(selector, SelectionKey.OP_READ, connection);
+        connection.upstreamKey = upstream.register(selector, SelectionKey.OP_CONNECT, connection);
+        connections.add(connection);
+    }
+
+    /**
+     * Stop relaying, resetting every open connection.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        selector.wakeup();
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // closing anyway
+        }
+    }
+
+    /**
+     * A client connection and the connection to the API it is relayed to.
+     */
+    private class Connection {
+        private final SocketChannel client;
+        private final SocketChannel upstream;
+        private final Pipe requests;
+        private final Pipe responses;
+        private SelectionKey clientKey;
+        private SelectionKey upstreamKey;
+        private boolean awaitingResponse;
+        private boolean closed;
+
+        Connection(SocketChannel client, SocketChannel upstream) {
+            this.client = client;
+            this.upstream = upstream;
+            this.requests = new Pipe(client, upstream);
+            this.responses = new Pipe(upstream, client);
+        }
+
+        void read(Pipe pipe) throws IOException {
+            readBuffer.clear();
+            if (config.getBandwidth() > 0) {
+                readBuffer.limit((int) Math.min(CHUNK_SIZE, Math.max(256, config.getBandwidth() / 50)));
+            }
+            int read = pipe.source.read(readBuffer);
+            if (read < 0) {
+                pipe.sourceEnded = true;
+                return;
+            }
+            long now = System.nanoTime();
+            if (pipe == requests) {
+                awaitingResponse = true;
+            } else if (awaitingResponse) {
+                awaitingResponse = false;
+                responses.partialBytesLeft = -1;
+                if (random.nextDouble() < config.getResetProbability()) {
+                    ClientMetrics.recordProxyFault(FAULT_RESET);
+                    reset();
+                    return;
+                }
+                if (random.nextDouble() < config.getPartialProbability()) {
+                    ClientMetrics.recordProxyFault(FAULT_PARTIAL);
+                    responses.partialBytesLeft = config.getPartialBytes();
+                }
+            }
+            readBuffer.flip();
+            if (pipe.partialBytesLeft >= 0) {
+                int sentRightAway = Math.min(pipe.partialBytesLeft, readBuffer.remaining());
+                pipe.partialBytesLeft -= sentRightAway;
+                int limit = readBuffer.limit();
+                readBuffer.limit(readBuffer.position() + sentRightAway);
+                pipe.enqueue(readBuffer, false, now);
+                readBuffer.limit(limit);
+                pipe.enqueue(readBuffer, true, now);
+            } else {
+                pipe.enqueue(readBuffer, false, now);
+            }
+        }
+
+        long flush(long now) {
+            if (closed) {
+                return Long.MAX_VALUE;
+            }
+            try {
+                long waitNanos = Math.min(requests.flush(now), responses.flush(now));
+                if (requests.isDone() && responses.isDone()) {
+                    close();
+                } else {
+                    updateInterest();
+                }
+                return waitNanos;
+            } catch (IOException e) {
+                reset();
+                return Long.MAX_VALUE;
+            }
+        }
+
+        void updateInterest() {
+            if (closed) {
+                return;
+            }
+            clientKey.interestOps((requests.canRead() ? SelectionKey.OP_READ : 0) | (responses.blocked ? SelectionKey.OP_WRITE : 0));
+            upstreamKey.interestOps(!upstream.isConnected() ? SelectionKey.OP_CONNECT
+                    : (responses.canRead() ? SelectionKey.OP_READ : 0) | (requests.blocked ? SelectionKey.OP_WRITE : 0));
+        }
+
+        boolean isClosed() {
+            return closed;
+        }
+
+        /**
+         * Close both connections abruptly, so the client gets a connection reset rather than an end of stream.
+         */
+        void reset() {
+            try {
+                client.setOption(StandardSocketOptions.SO_LINGER, 0);
+            } catch (IOException e) {
+                // closed already
+            }
+            close();
+        }
+
+        void close() {
+            closed = true;
+            closeQuietly(client);
+            closeQuietly(upstream);
+        }
+    }
+
+    /**
+     * The data of one direction of a connection, queued until it is due.
+     */
+    private class Pipe {
+        private final SocketChannel source;
+        private final SocketChannel sink;
+        private final ArrayDeque<Chunk> chunks = new ArrayDeque<>();
+        private long queuedBytes;
+        private long lastDueNanos;
+        private boolean sourceEnded;
+        private boolean sinkShutDown;
+        private boolean blocked;
+        /**
+         * Bytes of a partial response that are still sent right away, before the rest trickles in; -1 when not partial
+         */
+        private int partialBytesLeft = -1;
+
+        Pipe(SocketChannel source, SocketChannel sink) {
+            this.source = source;
+            this.sink = sink;
+        }
+
+        void enqueue(ByteBuffer data, boolean trickle, long now) {
+            if (!data.hasRemaining()) {
+                return;
+            }
+            int length = data.remaining();
+            long due = Math.max(now + config.sampleLatencyNanos(random), lastDueNanos);
+            if (config.getBandwidth() > 0) {
+                due += length * TimeUnit.SECONDS.toNanos(1) / config.getBandwidth();
+            }
+            lastDueNanos = due;
+            ByteBuffer copy = ByteBuffer.allocate(length).put(data).flip();
+            chunks.add(new Chunk(copy, due, trickle));
+            queuedBytes += length;
+        }
+
+        /**
+         * Write the chunks that are due, shutting down the output of the sink once the source ended and every chunk is written.
+         *
+         * @return the time until the next chunk is due, in nanoseconds; {@link Long#MAX_VALUE} when none is waiting
+         */
+        long flush(long now) throws IOException {
+            blocked = false;
+            while (!chunks.isEmpty()) {
+                Chunk chunk = chunks.peek();
+                if (chunk.dueNanos > now) {
+                    return chunk.dueNanos - now;
+                }
+                if (!sink.isConnected()) {
+                    return Long.MAX_VALUE;
+                }
+                int written;
+                if (chunk.trickle) {
+                    ByteBuffer oneByte = chunk.data.duplicate();
+                    oneByte.limit(oneByte.position() + 1);
+                    written = sink.write(oneByte);
+                    chunk.data.position(chunk.data.position() + written);
+                    chunk.dueNanos = now + config.getTrickleInterval().toNanos();
+                } else {
+                    written = sink.write(chunk.data);
+                }
+                queuedBytes -= written;
+                if (!chunk.data.hasRemaining()) {
+                    chunks.poll();
+                } else if (written == 0 || !chunk.trickle) {
+                    blocked = true;
+                    return Long.MAX_VALUE;
+                }
+            }
+            if (sourceEnded && !sinkShutDown) {
+                sinkShutDown = true;
+                sink.shutdownOutput();
+            }
+            return Long.MAX_VALUE;
+        }
+
+        boolean canRead() {
+            return !sourceEnded && queuedBytes < MAX_QUEUED_BYTES;
+        }
+
+        boolean isDone() {
+            return sinkShutDown;
+        }
+    }
+
+    private static class Chunk {
+        private final ByteBuffer data;
+        private final boolean trickle;
+        private long dueNanos;
+
+        Chunk(ByteBuffer data, long dueNanos, boolean trickle) {
+            this.data = data;
+            this.dueNanos = dueNanos;
+            this.trickle = trickle;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import be.syntra.java.advanced.knittingapitest.dto.MemberList;
+import io.micrometer.core.instrument.Counter;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FaultProxyTest {
+
+    /**
+     * Test that the latency is added to the request and to the response
+     */
+    @Test
+    void givenFixedLatency_whenGetMembers_thenShouldTakeTheLatencyBothWays() {
+        // given
+        FaultConfig config = FaultConfig.builder().latency(Duration.ofMillis(100)).build();
+
+        try (FaultProxy proxy = new FaultProxy(KnittingApi.baseUrl(), config)) {
+            // when
+            long start = System.nanoTime();
+            ResponseEntity<MemberList> response = ApiClients.restTemplate(ApiUser.USER)
+                    .getForEntity(proxy.getUrl() + "/members", MemberList.class);
+            long elapsedNanos = System.nanoTime() - start;
+
+            // then
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertTrue(elapsedNanos >= TimeUnit.MILLISECONDS.toNanos(200), elapsedNanos + " ns");
+        }
+    }
+
+    /**
+     * Test that a reset is retried by the client, as a GET is idempotent, and that the retries are counted
+     */
+    @Test
+    void givenResetEveryResponse_whenGetMembers_thenShouldRetryAndFail() {
+        // given
+        FaultConfig config = FaultConfig.builder().resetProbability(1).build();
+        double retriesBefore = count(ClientMetrics.RETRIES);
+        double resetsBefore = ClientMetrics.registry().counter(ClientMetrics.PROXY_FAULTS, "fault", FaultProxy.FAULT_RESET).count();
+
+        try (FaultProxy proxy = new FaultProxy(KnittingApi.baseUrl(), config)) {
+            // when
+            ResourceAccessException exception = assertThrows(ResourceAccessException.class, () -> ApiClients.restTemplate(ApiUser.USER)
+                    .getForEntity(proxy.getUrl() + "/members", MemberList.class));
+
+            // then
+            assertTrue(exception.getCause() instanceof IOException, exception.toString());
+            assertEquals(3, count(ClientMetrics.RETRIES) - retriesBefore);
+            assertEquals(4, ClientMetrics.registry().counter(ClientMetrics.PROXY_FAULTS, "fault", FaultProxy.FAULT_RESET).count() - resetsBefore);
+        }
+    }
+
+    /**
+     * Test that a response that stops halfway fails the call once the socket timeout passes, without retrying it
+     */
+    @Test
+    void givenPartialResponse_whenGetMembersWithShortSocketTimeout_thenShouldTimeOut() throws IOException {
+        // given
+        FaultConfig config = FaultConfig.builder()
+                .partialProbability(1)
+                .partialBytes(20)
+                .trickleInterval(Duration.ofSeconds(5))
+                .build();
+        ClientConfig clientConfig = ClientConfig.builder().socketTimeout(Duration.ofMillis(500)).build();
+        double timeoutsBefore = count(ClientMetrics.FAILURES, SocketTimeoutException.class);
+
+        try (FaultProxy proxy = new FaultProxy(KnittingApi.baseUrl(), config);
+             CloseableHttpClient httpClient = ApiClients.newHttpClient(clientConfig)) {
+            // when
+            long start = System.nanoTime();
+            ResourceAccessException exception = assertThrows(ResourceAccessException.class, () -> ApiClients.newTestRestTemplate(httpClient)
+                    .exchange(proxy.getUrl() + "/members", HttpMethod.GET, new HttpEntity<>(ApiUser.USER.getHeaders()), MemberList.class));
+            long elapsedNanos = System.nanoTime() - start;
+
+            // then
+            assertTrue(exception.getCause() instanceof SocketTimeoutException, exception.toString());
+            assertTrue(elapsedNanos < TimeUnit.SECONDS.toNanos(3), elapsedNanos + " ns");
+            assertEquals(1, count(ClientMetrics.FAILURES, SocketTimeoutException.class) - timeoutsBefore);
+        }
+    }
+
+    private static double count(String counter) {
+        return ClientMetrics.registry().find(counter).tag("uri", "/members").counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    private static double count(String counter, Class<? extends Throwable> cause) {
+        return ClientMetrics.registry().find(counter).tags("uri", "/members", "cause", cause.getSimpleName()).counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+}
@@ -0,0 +1,388 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A declared JSON schema, compiled on {@link ObjectSchemaBuilder#build()} into a validator
+ * that checks a document in a single pass over its raw bytes, without building a tree or binding it to objects.
+ *
+ * Objects are closed: undeclared fields are violations, like missing required fields and null values of required fields.
+ * Violations are reported with the JSON pointer of the offending value, e.g. {@code /members/0/firstName: unexpected field}.
+ * Schemas are immutable and safe to share between threads.
+ */
+public abstract class JsonSchema {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int MAX_VIOLATIONS = 10;
+
+    public static JsonSchema string() {
+        return new StringSchema(null, false);
+    }
+
+    /**
+     * @return a schema of an ISO date string, e.g. {@code 2020-02-29}
+     */
+    public static JsonSchema date() {
+        return new StringSchema(null, true);
+    }
+
+    /**
+     * @return a schema of a string that is the name of one of the constants of the enum
+     */
+    public static <E extends Enum<E>> JsonSchema enumOf(Class<E> type) {
+        return new StringSchema(EnumSet.allOf(type).stream().map(Enum::name).collect(Collectors.toSet()), false);
+    }
+
+    public static JsonSchema integer() {
+        return new IntegerSchema(Long.MIN_VALUE);
+    }
+
+    /**
+     * @param min the minimum value, inclusive
+     */
+    public static JsonSchema integer(long min) {
+        return new IntegerSchema(min);
+    }
+
+    public static JsonSchema array(JsonSchema items) {
+        return new ArraySchema(items, 0);
+    }
+
+    /**
+     * @param items    the schema of every item, which must not be null
+     * @param minItems the minimum number of items
+     */
+    public static JsonSchema array(JsonSchema items, int minItems) {
+        return new ArraySchema(items, minItems);
+    }
+
+    public static ObjectSchemaBuilder object() {
+        return new ObjectSchemaBuilder();
+    }
+
+    /**
+     * Validate a document.
+     *
+     * @param json the document, as UTF-8 bytes
+     * @return the violations, at most {@value #MAX_VIOLATIONS} and a count of the others; empty when the document is valid
+     */
+    public List<String> validate(byte[] json) {
+        return validate(json, 0, json.length);
+    }
+
+    /**
+     * Validate a document.
+     *
+     * @param json   the buffer holding the document, as UTF-8 bytes
+     * @param offset the offset of the document in the buffer
+     * @param length the length of the document
+     * @return the violations, at most {@value #MAX_VIOLATIONS} and a count of the others; empty when the document is valid
+     */
+    public List<String> validate(byte[] json, int offset, int length) {
+        try {
+            return validate(JSON_FACTORY.createParser(json, offset, length));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Validate a document, e.g. a {@link PooledBody}, reading it through the parser's own recycled buffer.
+     *
+     * @param json the document, as UTF-8 bytes; the stream is not closed
+     * @return the violations, at most {@value #MAX_VIOLATIONS} and a count of the others; empty when the document is valid
+     * @throws IOException when the stream can not be read
+     */
+    public List<String> validate(InputStream json) throws IOException {
+        JsonParser parser = JSON_FACTORY.createParser(json);
+        parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        return validate(parser);
+    }
+
+    private List<String> validate(JsonParser parser) throws IOException {
+        Violations violations = new Violations();
+        try (parser) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                violations.add("empty document");
+            } else if (token == JsonToken.VALUE_NULL) {
+                violations.add(parser, "must not be null");
+            } else {
+                check(parser, token, violations);
+                if (parser.nextToken() != null) {
+                    violations.add("unexpected content after the document");
+                }
+            }
+        } catch (JsonProcessingException e) {
+            violations.add(parser, "malformed JSON, " + e.getOriginalMessage());
+        }
+        return violations.list();
+    }
+
+    /**
+     * Check the value the parser is on, leaving the parser on the last token of the value.
+     *
+     * @param token the current token, the start of a value other than null
+     */
+    abstract void check(JsonParser parser, JsonToken token, Violations violations) throws IOException;
+
+    private static void unexpected(JsonParser parser, JsonToken token, String expected, Violations violations) throws IOException {
+        violations.add(parser, "expected " + expected + ", got " + describe(token));
+        parser.skipChildren();
+    }
+
+    private static String describe(JsonToken token) {
+        switch (token) {
+            case START_OBJECT:
+                return "an object";
+            case START_ARRAY:
+                return "an array";
+            case VALUE_STRING:
+                return "a string";
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                return "a number";
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                return "a boolean";
+            default:
+                return token.toString();
+        }
+    }
+
+    private static class StringSchema extends JsonSchema {
+        private final Set<String> values;
+        private final char[][] valueChars;
+        private final boolean date;
+
+        StringSchema(Set<String> values, boolean date) {
+            this.values = values;
+            this.valueChars = values == null ? null : values.stream().map(String::toCharArray).toArray(char[][]::new);
+            this.date = date;
+        }
+
+        @Override
+        void check(JsonParser parser, JsonToken token, Violations violations) throws IOException {
+            if (token != JsonToken.VALUE_STRING) {
+                unexpected(parser, token, values != null ? "one of " + values : date ? "a date" : "a string", violations);
+            } else if (values != null && !isValue(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength())) {
+                violations.add(parser, "unexpected value " + parser.getText());
+            } else if (date && !isIsoDate(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength())) {
+                violations.add(parser, "expected a date, got " + parser.getText());
+            }
+        }
+
+        /**
+         * Whether the text is one of the values, compared in the parser's buffer to not create a string per value.
+         */
+        private boolean isValue(char[] text, int offset, int length) {
+            for (char[] value : valueChars) {
+                if (Arrays.equals(value, 0, value.length, text, offset, offset + length)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean isIsoDate(char[] text, int offset, int length) {
+            if (length != 10) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                char c = text[offset + i];
+                if (i == 4 || i == 7 ? c != '-' : c < '0' || c > '9') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static class IntegerSchema extends JsonSchema {
+        private final long min;
+
+        IntegerSchema(long min) {
+            this.min = min;
+        }
+
+        @Override
+        void check(JsonParser parser, JsonToken token, Violations violations) throws IOException {
+            if (token != JsonToken.VALUE_NUMBER_INT) {
+                unexpected(parser, token, "an integer", violations);
+            } else if (min != Long.MIN_VALUE && parser.getLongValue() < min) {
+                violations.add(parser, "expected at least " + min + ", got " + parser.getLongValue());
+            }
+        }
+    }
+
+    private static class ArraySchema extends JsonSchema {
+        private final JsonSchema items;
+        private final int minItems;
+
+        ArraySchema(JsonSchema items, int minItems) {
+            this.items = items;
+            this.minItems = minItems;
+        }
+
+        @Override
+        void check(JsonParser parser, JsonToken token, Violations violations) throws IOException {
+            if (token != JsonToken.START_ARRAY) {
+                unexpected(parser, token, "an array", violations);
+                return;
+            }
+            int count = 0;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                count++;
+                if (token == JsonToken.VALUE_NULL) {
+                    violations.add(parser, "must not be null");
+                } else {
+                    items.check(parser, token, violations);
+                }
+            }
+            if (count < minItems) {
+                violations.add(parser, "expected at least " + minItems + " items, got " + count);
+            }
+        }
+    }
+
+    private static class ObjectSchema extends JsonSchema {
+        private final Map<String, Field> fields;
+        private final long requiredMask;
+
+        ObjectSchema(Map<String, Field> fields) {
+            this.fields = new HashMap<>(fields);
+            this.requiredMask = fields.values().stream()
+                    .filter(field -> field.required)
+                    .mapToLong(field -> field.bit)
+                    .reduce(0, (a, b) -> a | b);
+        }
+
+        @Override
+        void check(JsonParser parser, JsonToken token, Violations violations) throws IOException {
+            if (token != JsonToken.START_OBJECT) {
+                unexpected(parser, token, "an object", violations);
+                return;
+            }
+            long present = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                Field field = fields.get(parser.getCurrentName());
+                token = parser.nextToken();
+                if (field == null) {
+                    violations.add(parser, "unexpected field");
+                    parser.skipChildren();
+                    continue;
+                }
+                present |= field.bit;
+                if (token != JsonToken.VALUE_NULL) {
+                    field.schema.check(parser, token, violations);
+                } else if (field.required) {
+                    violations.add(parser, "must not be null");
+                }
+            }
+            if ((present & requiredMask) != requiredMask) {
+                for (Field field : fields.values()) {
+                    if (field.required && (present & field.bit) == 0) {
+                        violations.add(parser, "missing field " + field.name);
+                    }
+                }
+            }
+        }
+    }
+
+    private static class Field {
+        private final String name;
+        private final JsonSchema schema;
+        private final boolean required;
+        private final long bit;
+
+        Field(String name, JsonSchema schema, boolean required, long bit) {
+            this.name = name;
+            this.schema = schema;
+            this.required = required;
+            this.bit = bit;
+        }
+    }
+
+    public static class ObjectSchemaBuilder {
+        private final Map<String, Field> fields = new LinkedHashMap<>();
+
+        private ObjectSchemaBuilder() {
+        }
+
+        /**
+         * Declare a field that must be present and not null.
+         */
+        public ObjectSchemaBuilder required(String name, JsonSchema schema) {
+            return field(name, schema, true);
+        }
+
+        /**
+         * Declare a field that may be absent or null.
+         */
+        public ObjectSchemaBuilder optional(String name, JsonSchema schema) {
+            return field(name, schema, false);
+        }
+
+        private ObjectSchemaBuilder field(String name, JsonSchema schema, boolean required) {
+            if (fields.size() == Long.SIZE) {
+                throw new IllegalStateException("An object schema has at most " + Long.SIZE + " fields");
+            }
+            if (fields.putIfAbsent(name, new Field(name, schema, required, 1L << fields.size())) != null) {
+                throw new IllegalArgumentException("Field " + name + " is declared twice");
+            }
+            return this;
+        }
+
+        public JsonSchema build() {
+            return new ObjectSchema(fields);
+        }
+    }
+
+    /**
+     * The violations found in a document. The messages are only built once a violation is found.
+     */
+    static class Violations {
+        private List<String> messages;
+        private int count;
+
+        void add(JsonParser parser, String message) {
+            String pointer = parser.getParsingContext().pathAsPointer().toString();
+            add((pointer.isEmpty() ? "document" : pointer) + ": " + message);
+        }
+
+        void add(String message) {
+            if (messages == null) {
+                messages = new ArrayList<>();
+            }
+            if (++count <= MAX_VIOLATIONS) {
+                messages.add(message);
+            }
+        }
+
+        List<String> list() {
+            if (messages == null) {
+                return Collections.emptyList();
+            }
+            if (count > MAX_VIOLATIONS) {
+                messages.add("and " + (count - MAX_VIOLATIONS) + " more violations");
+            }
+            return Collections.unmodifiableList(messages);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import be.syntra.java.advanced.knittingapitest.dto.Member;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonSchemaTest {
+    private final ObjectMapper objectMapper = ObjectMappers.create();
+
+    /**
+     * Test that a member as the object mapper writes it is valid
+     */
+    @Test
+    void givenMember_whenValidate_thenShouldHaveNoViolations() throws IOException {
+        // given
+        Member member = new MemberGenerator(3).member(42);
+        member.setId(7L);
+        member.getAddress().setPoBox(null);
+
+        // when
+        List<String> violations = MemberSchemas.MEMBER.validate(objectMapper.writeValueAsBytes(member));
+
+        // then
+        assertEquals(List.of(), violations);
+    }
+
+    /**
+     * Test that personal details leaking into the member list are reported with their location
+     */
+    @Test
+    void givenListItemWithFirstName_whenValidate_thenShouldReportUnexpectedField() {
+        // given
+        String json = "{\"members\":["
+                + "{\"id\":1,\"name\":\"Jane Doe\",\"email\":\"jane@doe.com\",\"knownStitches\":2,\"role\":\"MEMBER\"},"
+                + "{\"id\":2,\"name\":\"John Doe\",\"email\":\"john@doe.com\",\"knownStitches\":1,\"role\":\"MEMBER\","
+                + "\"firstName\":\"John\",\"address\":{\"city\":\"Gent\"}}"
+                + "]}";
+
+        // when
+        List<String> violations = validate(MemberSchemas.MEMBER_LIST, json);
+
+        // then
+        assertEquals(List.of("/members/1/firstName: unexpected field", "/members/1/address: unexpected field"), violations);
+    }
+
+    /**
+     * Test that wrong types, null values, values below their minimum and unknown enum values are reported
+     */
+    @Test
+    void givenInvalidListItem_whenValidate_thenShouldReportEveryViolation() {
+        // given
+        String json = "{\"id\":\"1\",\"name\":null,\"knownStitches\":0,\"role\":\"KING\",\"email\":[\"a\"]}";
+
+        // when
+        List<String> violations = validate(MemberSchemas.MEMBER_LIST_ITEM, json);
+
+        // then
+        assertEquals(List.of(
+                "/id: expected an integer, got a string",
+                "/name: must not be null",
+                "/knownStitches: expected at least 1, got 0",
+                "/role: unexpected value KING",
+                "/email: expected a string, got an array"
+        ), violations);
+    }
+
+    /**
+     * Test that optional fields may be null or absent, and that dates are checked
+     */
+    @Test
+    void givenAddressWithoutPoBox_whenValidate_thenShouldOnlyReportRequiredFields() {
+        // given
+        JsonSchema schema = JsonSchema.object()
+                .required("address", MemberSchemas.ADDRESS)
+                .optional("birthDate", JsonSchema.date())
+                .build();
+        String json = "{\"address\":{\"street\":\"Kerkstraat\",\"number\":1,\"poBox\":null,\"zipCode\":9000},\"birthDate\":\"01/02/2000\"}";
+
+        // when
+        List<String> violations = validate(schema, json);
+
+        // then
+        assertEquals(List.of("/address: missing field city", "/birthDate: expected a date, got 01/02/2000"), violations);
+    }
+
+    /**
+     * Test that a truncated document is reported rather than thrown
+     */
+    @Test
+    void givenTruncatedDocument_whenValidate_thenShouldReportMalformedJson() {
+        // when
+        List<String> violations = validate(MemberSchemas.MEMBER_LIST, "{\"members\":[{\"id\":1,");
+
+        // then
+        assertEquals(1, violations.size());
+        assertTrue(violations.get(0).contains("malformed JSON"), violations.get(0));
+    }
+
+    private static List<String> validate(JsonSchema schema, String json) {
+        return schema.validate(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,51 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import be.syntra.java.advanced.knittingapitest.KnittingApiTestApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+
+public class KnittingApi {
+    /**
+     * System property with the base url of an externally deployed API, e.g. {@code http://localhost:8080}
+     */
+    public static final String URL_PROPERTY = "knitting.api.url";
+    /**
+     * System property to switch off cleartext HTTP/2 on the in-memory reference API, on by default
+     */
+    public static final String H2C_PROPERTY = "knitting.api.h2c";
+    /**
+     * System property to route the harness through a {@link FaultProxy}, configured from {@link FaultConfig#fromSystemProperties()}
+     */
+    public static final String PROXY_PROPERTY = "knitting.api.proxy";
+
+    private static String baseUrl;
+
+    /**
+     * Get the base url of the API under test.
+     * Uses the value of {@link #URL_PROPERTY} when set,
+     * otherwise starts the in-memory reference API on a random port (once per JVM),
+     * serving HTTP/1.1 and, unless {@link #H2C_PROPERTY} is false, cleartext HTTP/2.
+     * When {@link #PROXY_PROPERTY} is true, the url of a {@link FaultProxy} in front of the API.
+     *
+     * @return the base url of the API, without trailing slash
+     */
+    public static synchronized String baseUrl() {
+        if (baseUrl == null) {
+            String configuredUrl = System.getProperty(URL_PROPERTY);
+            baseUrl = configuredUrl != null && !configuredUrl.isBlank()
+                    ? configuredUrl.replaceAll("/+$", "")
+                    : "http://localhost:" + startEmbeddedApi();
+            if (Boolean.getBoolean(PROXY_PROPERTY)) {
+                baseUrl = new FaultProxy(baseUrl, FaultConfig.fromSystemProperties()).getUrl();
+            }
+        }
+        return baseUrl;
+    }
+
+    private static int startEmbeddedApi() {
+        WebServerApplicationContext context = (WebServerApplicationContext) new SpringApplicationBuilder(KnittingApiTestApplication.class)
+                .properties("server.port=0", H2C_PROPERTY + "=" + System.getProperty(H2C_PROPERTY, "true"))
+                .run();
+        return context.getWebServer().getPort();
+    }
+}
@@ -0,0 +1,50 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fail a test when the HTTP calls it makes are too slow.
+ *
+ * The test is run {@link #warmups()} times and then {@link #repetitions()} times,
+ * timing every call made through the shared clients ({@link ApiClients}) during the repetitions.
+ * The test fails when the {@link #percentile()} of those latencies exceeds {@link #maxMillis()}.
+ * On a class, the budget applies to every test of the class without a budget of its own.
+ *
+ * Only use it on tests that can be repeated, e.g. not on tests that delete a given member.
+ *
+ * In parallel runs, budgeted tests do not run alongside tests that load the server,
+ * i.e. tests that lock {@link #SERVER_LOAD} exclusively.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@ExtendWith(LatencyBudgetExtension.class)
+@ResourceLock(value = LatencyBudget.SERVER_LOAD, mode = ResourceAccessMode.READ)
+public @interface LatencyBudget {
+    /**
+     * Resource lock of the capacity of the API under test
+     */
+    String SERVER_LOAD = "knitting.server.load";
+
+    /**
+     * The maximum latency at the percentile, in milliseconds
+     */
+    double maxMillis();
+
+    double percentile() default 99;
+
+    int repetitions() default 100;
+
+    /**
+     * Runs before the repetitions that are not timed, to warm up the connections and the JIT
+     */
+    int warmups() default 5;
+}
@@ -0,0 +1,85 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.ReflectionSupport;
+import org.opentest4j.AssertionFailedError;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enforces {@link LatencyBudget}s: repeats the annotated tests and fails them,
+ * with a summary of the latency histogram, when their calls exceed the budget.
+ */
+public class LatencyBudgetExtension implements InvocationInterceptor {
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Override
+    public void interceptTestMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
+                                    ExtensionContext extensionContext) throws Throwable {
+        LatencyBudget budget = AnnotationSupport.findAnnotation(extensionContext.getRequiredTestMethod(), LatencyBudget.class)
+                .or(() -> AnnotationSupport.findAnnotation(extensionContext.getRequiredTestClass(), LatencyBudget.class))
+                .orElse(null);
+        if (budget == null) {
+            invocation.proceed();
+            return;
+        }
+
+        Histogram histogram = new Histogram(3);
+        try {
+            // the invocation itself can only be proceeded once, repetitions call the test method directly
+            time(budget, 0, histogram);
+            invocation.proceed();
+            for (int i = 1; i < budget.warmups() + budget.repetitions(); i++) {
+                time(budget, i, histogram);
+                ReflectionSupport.invokeMethod(invocationContext.getExecutable(), invocationContext.getTarget().orElse(null),
+                        invocationContext.getArguments().toArray());
+            }
+        } finally {
+            CallTimer.stop();
+        }
+
+        if (histogram.getTotalCount() == 0) {
+            throw new AssertionFailedError("The test has a latency budget, but made no HTTP calls");
+        }
+        double latencyMillis = histogram.getValueAtPercentile(budget.percentile()) / NANOS_PER_MILLI;
+        extensionContext.publishReportEntry("latency",
+                String.format("p%s %.3f ms of %d calls", format(budget.percentile()), latencyMillis, histogram.getTotalCount()));
+        if (latencyMillis > budget.maxMillis()) {
+            throw new AssertionFailedError(String.format("p%s latency of %d calls was %.3f ms, over the budget of %s ms%n%s",
+                    format(budget.percentile()), histogram.getTotalCount(), latencyMillis, format(budget.maxMillis()),
+                    summary(histogram)));
+        }
+    }
+
+    private static void time(LatencyBudget budget, int run, Histogram histogram) {
+        if (run < budget.warmups()) {
+            CallTimer.stop();
+        } else {
+            CallTimer.start(histogram);
+        }
+    }
+
+    private static String summary(Histogram histogram) {
+        ByteArrayOutputStream distribution = new ByteArrayOutputStream();
+        histogram.outputPercentileDistribution(new PrintStream(distribution, true, StandardCharsets.UTF_8), 1, NANOS_PER_MILLI);
+        return String.format("min %.3f ms, p50 %.3f ms, p90 %.3f ms, p99 %.3f ms, max %.3f ms%n%s",
+                histogram.getMinValue() / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(90) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                histogram.getMaxValue() / NANOS_PER_MILLI,
+                distribution.toString(StandardCharsets.UTF_8));
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.valueOf(value);
+    }
+}
@@ -0,0 +1,92 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import be.syntra.java.advanced.knittingapitest.dto.MemberList;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.testkit.engine.EngineTestKit;
+import org.junit.platform.testkit.engine.Events;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static be.syntra.java.advanced.knittingapitest.util.TestHelper.RESOURCE_URL;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+public class LatencyBudgetExtensionTest {
+    private static final AtomicInteger RUNS = new AtomicInteger();
+
+    /**
+     * Test that a test within its budget passes after its warmups and repetitions
+     */
+    @Test
+    void givenGenerousBudget_whenRunTest_thenShouldRepeatAndPass() {
+        // given
+        RUNS.set(0);
+
+        // when
+        Events events = run(WithinBudget.class);
+
+        // then
+        events.assertStatistics(stats -> stats.started(1).succeeded(1));
+        assertEquals(2 + 10, RUNS.get());
+    }
+
+    /**
+     * Test that a test over its budget fails with the latency histogram
+     */
+    @Test
+    void givenImpossibleBudget_whenRunTest_thenShouldFailWithHistogram() {
+        // when
+        Events events = run(OverBudget.class);
+
+        // then
+        events.assertStatistics(stats -> stats.started(1).failed(1));
+        Throwable failure = events.failed().stream().findFirst().orElseThrow()
+                .getPayload(org.junit.platform.engine.TestExecutionResult.class).orElseThrow()
+                .getThrowable().orElseThrow();
+        assertTrue(failure.getMessage().startsWith("p99 latency of 5 calls was"), failure.getMessage());
+        assertTrue(failure.getMessage().contains("Percentile"), failure.getMessage());
+    }
+
+    /**
+     * Test that a budget on a test without HTTP calls fails
+     */
+    @Test
+    void givenTestWithoutCalls_whenRunTest_thenShouldFail() {
+        // when
+        Events events = run(WithoutCalls.class);
+
+        // then
+        events.assertStatistics(stats -> stats.started(1).failed(1));
+    }
+
+    private static Events run(Class<?> testClass) {
+        return EngineTestKit.engine("junit-jupiter")
+                .selectors(selectClass(testClass))
+                .execute()
+                .testEvents();
+    }
+
+    static class WithinBudget {
+        @Test
+        @LatencyBudget(maxMillis = 60_000, repetitions = 10, warmups = 2)
+        void getMembers() {
+            RUNS.incrementAndGet();
+            ApiClients.restTemplate(ApiUser.USER).getForObject(RESOURCE_URL, MemberList.class);
+        }
+    }
+
+    @LatencyBudget(maxMillis = 0, repetitions = 5, warmups = 0)
+    static class OverBudget {
+        @Test
+        void getMembers() {
+            ApiClients.restTemplate(ApiUser.USER).getForObject(RESOURCE_URL, MemberList.class);
+        }
+    }
+
+    static class WithoutCalls {
+        @Test
+        @LatencyBudget(maxMillis = 100, repetitions = 5)
+        void noCalls() {
+        }
+    }
+}
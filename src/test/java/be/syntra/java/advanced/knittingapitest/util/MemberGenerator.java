@@ -0,0 +1,193 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import be.syntra.java.advanced.knittingapitest.dto.Address;
+import be.syntra.java.advanced.knittingapitest.dto.KnittingStitch;
+import be.syntra.java.advanced.knittingapitest.dto.Member;
+import be.syntra.java.advanced.knittingapitest.dto.Role;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Generates distinct, valid members, deterministically: the same seed and sequence number always give the same member,
+ * whichever thread asks for it and in whatever order.
+ *
+ * Emails are unique per sequence number. Names, streets and cities come from fixed pools,
+ * zip codes are the Belgian zip code of the city.
+ * Roles and known stitches follow a Zipf distribution over their popularity (most members are plain members
+ * that know garter stitch), with configurable skew.
+ *
+ * Safe to share between threads.
+ */
+public class MemberGenerator {
+    private static final String[] FIRST_NAMES = {
+            "Emma", "Noah", "Olivia", "Louis", "Louise", "Arthur", "Mila", "Jules", "Elena", "Adam",
+            "Marie", "Victor", "Lina", "Liam", "Nora", "Lucas", "Anna", "Finn", "Julia", "Mathis",
+            "Sofie", "Wout", "Hanne", "Pieter", "Lotte", "Jan", "An", "Tom", "Els", "Koen"
+    };
+    private static final String[] LAST_NAMES = {
+            "Peeters", "Janssens", "Maes", "Jacobs", "Mertens", "Willems", "Claes", "Goossens", "Wouters", "De Smet",
+            "Dubois", "Lambert", "Dupont", "Martin", "Vermeulen", "Van den Broeck", "Hermans", "Aerts", "Michiels", "Smets"
+    };
+    private static final String[] EMAIL_FIRST_NAMES = emailNames(FIRST_NAMES);
+    private static final String[] EMAIL_LAST_NAMES = emailNames(LAST_NAMES);
+    private static final String[] EMAIL_DOMAINS = {"knitting.be", "telenet.be", "skynet.be", "gmail.com", "proximus.be"};
+    private static final String[] STREETS = {
+            "Kerkstraat", "Stationsstraat", "Dorpsstraat", "Molenstraat", "Nieuwstraat",
+            "Schoolstraat", "Rue de la Station", "Rue de l'Église", "Grote Markt", "Kapelstraat"
+    };
+    private static final String[] CITIES = {
+            "Brussel", "Antwerpen", "Gent", "Leuven", "Brugge", "Hasselt", "Mechelen", "Kortrijk",
+            "Liège", "Namur", "Charleroi", "Mons", "Aalst", "Genk", "Wavre", "Arlon"
+    };
+    private static final int[] ZIP_CODES = {
+            1000, 2000, 9000, 3000, 8000, 3500, 2800, 8500,
+            4000, 5000, 6000, 7000, 9300, 3600, 1300, 6700
+    };
+    private static final String[] AREA_CODES = {"02", "03", "09", "016", "050", "011", "015", "056", "04", "081"};
+    private static final Role[] ROLES_BY_POPULARITY = {
+            Role.MEMBER, Role.SECRETARY, Role.TREASURER, Role.VICE_PRESIDENT, Role.PRESIDENT
+    };
+    private static final KnittingStitch[] STITCHES_BY_POPULARITY = {
+            KnittingStitch.GARTER, KnittingStitch.STOCKINETTE, KnittingStitch.RIB,
+            KnittingStitch.SEED, KnittingStitch.CABLE, KnittingStitch.BEGINNER_LACE
+    };
+    private static final long YOUNGEST_BIRTH_DAY = LocalDate.of(2002, Month.JANUARY, 1).toEpochDay();
+    private static final long OLDEST_BIRTH_DAY = LocalDate.of(1930, Month.JANUARY, 1).toEpochDay();
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final long seed;
+    private final Zipf roles;
+    private final Zipf stitches;
+    private final Zipf stitchCounts;
+
+    /**
+     * A generator with moderately skewed roles and stitches.
+     */
+    public MemberGenerator(long seed) {
+        this(seed, 1.5, 1.0);
+    }
+
+    /**
+     * @param seed       the seed, generators with the same seed generate the same members
+     * @param roleSkew   the Zipf exponent of the roles, 0 for uniform
+     * @param stitchSkew the Zipf exponent of the known stitches and of their number, 0 for uniform
+     */
+    public MemberGenerator(long seed, double roleSkew, double stitchSkew) {
+        this.seed = seed;
+        this.roles = new Zipf(ROLES_BY_POPULARITY.length, roleSkew);
+        this.stitches = new Zipf(STITCHES_BY_POPULARITY.length, stitchSkew);
+        this.stitchCounts = new Zipf(STITCHES_BY_POPULARITY.length, stitchSkew);
+    }
+
+    /**
+     * Get the member with the given sequence number.
+     *
+     * @param sequence the sequence number, members with different sequence numbers have different emails
+     * @return a new member, without id
+     */
+    public Member member(long sequence) {
+        Member member = Member.builder()
+                .knownStitches(EnumSet.noneOf(KnittingStitch.class))
+                .address(Address.builder().build())
+                .build();
+        return fill(member, sequence);
+    }
+
+    /**
+     * Overwrite a member with the member with the given sequence number, reusing its address and stitch set
+     * when possible, e.g. to serialize many members with a single instance per thread.
+     *
+     * @param member   the member to overwrite
+     * @param sequence the sequence number
+     * @return the member
+     */
+    public Member fill(Member member, long sequence) {
+        SplittableRandom random = new SplittableRandom(seed + sequence * GOLDEN_GAMMA);
+        int firstName = random.nextInt(FIRST_NAMES.length);
+        int lastName = random.nextInt(LAST_NAMES.length);
+
+        member.setId(null);
+        member.setFirstName(FIRST_NAMES[firstName]);
+        member.setLastName(LAST_NAMES[lastName]);
+        member.setEmail(EMAIL_FIRST_NAMES[firstName] + '.' + EMAIL_LAST_NAMES[lastName] + '.' + sequence
+                + '@' + EMAIL_DOMAINS[random.nextInt(EMAIL_DOMAINS.length)]);
+        member.setPhoneNumber(phoneNumber(random));
+        member.setBirthDate(LocalDate.ofEpochDay(random.nextLong(OLDEST_BIRTH_DAY, YOUNGEST_BIRTH_DAY)));
+        member.setRole(ROLES_BY_POPULARITY[roles.sample(random)]);
+        member.setKnownStitches(knownStitches(member.getKnownStitches(), random));
+        member.setAddress(address(member.getAddress(), random));
+        return member;
+    }
+
+    private Set<KnittingStitch> knownStitches(Set<KnittingStitch> reusable, SplittableRandom random) {
+        Set<KnittingStitch> knownStitches = reusable instanceof EnumSet ? reusable : EnumSet.noneOf(KnittingStitch.class);
+        knownStitches.clear();
+        int count = stitchCounts.sample(random) + 1;
+        while (knownStitches.size() < count) {
+            knownStitches.add(STITCHES_BY_POPULARITY[stitches.sample(random)]);
+        }
+        return knownStitches;
+    }
+
+    private static Address address(Address reusable, SplittableRandom random) {
+        Address address = reusable != null ? reusable : Address.builder().build();
+        int city = random.nextInt(CITIES.length);
+        address.setStreet(STREETS[random.nextInt(STREETS.length)]);
+        address.setNumber(random.nextInt(1, 250));
+        address.setPoBox(random.nextInt(20) == 0 ? String.valueOf((char) ('A' + random.nextInt(4))) : null);
+        address.setZipCode(ZIP_CODES[city]);
+        address.setCity(CITIES[city]);
+        return address;
+    }
+
+    private static String phoneNumber(SplittableRandom random) {
+        String areaCode = AREA_CODES[random.nextInt(AREA_CODES.length)];
+        int subscriber = random.nextInt(areaCode.length() == 2 ? 10_000_000 : 1_000_000);
+        StringBuilder phoneNumber = new StringBuilder(14).append(areaCode).append('/');
+        String digits = Integer.toString(subscriber);
+        for (int i = digits.length(); i < 9 - areaCode.length(); i++) {
+            phoneNumber.append('0');
+        }
+        return phoneNumber.append(digits).toString();
+    }
+
+    private static String[] emailNames(String[] names) {
+        String[] emailNames = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            emailNames[i] = names[i].toLowerCase().replace(" ", "");
+        }
+        return emailNames;
+    }
+
+    /**
+     * Zipf distribution over {@code 0..n-1}: rank {@code k} has a weight of {@code 1 / (k + 1)^exponent}.
+     */
+    static class Zipf {
+        private final double[] cumulative;
+
+        Zipf(int n, double exponent) {
+            cumulative = new double[n];
+            double total = 0;
+            for (int k = 0; k < n; k++) {
+                total += 1 / Math.pow(k + 1, exponent);
+                cumulative[k] = total;
+            }
+            for (int k = 0; k < n; k++) {
+                cumulative[k] /= total;
+            }
+        }
+
+        int sample(SplittableRandom random) {
+            double u = random.nextDouble();
+            int k = 0;
+            while (k < cumulative.length - 1 && cumulative[k] <= u) {
+                k++;
+            }
+            return k;
+        }
+    }
+}
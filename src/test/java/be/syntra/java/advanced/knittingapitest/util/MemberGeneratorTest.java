@@ -0,0 +1,89 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import be.syntra.java.advanced.knittingapitest.dto.Member;
+import be.syntra.java.advanced.knittingapitest.dto.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static be.syntra.java.advanced.knittingapitest.util.TestHelper.RESOURCE_URL;
+import static org.junit.jupiter.api.Assertions.*;
+
+@MemberNamespace
+public class MemberGeneratorTest {
+    private final MemberGenerator generator = new MemberGenerator(7);
+
+    /**
+     * Test that the same seed and sequence number give the same member, reused or not
+     */
+    @Test
+    void givenSameSeedAndSequence_whenGenerate_thenShouldGenerateSameMember() {
+        // given
+        Member reused = generator.member(1);
+
+        // when
+        Member member = new MemberGenerator(7).member(12345);
+        Member filled = generator.fill(reused, 12345);
+
+        // then
+        assertEquals(member, filled);
+        assertNotEquals(member, new MemberGenerator(8).member(12345));
+    }
+
+    /**
+     * Test that generated members have unique emails and values within the ranges the API accepts
+     */
+    @Test
+    void givenManySequences_whenGenerate_thenShouldHaveUniqueEmailsAndValidValues() {
+        // when
+        Set<String> emails = new HashSet<>();
+        for (long sequence = 0; sequence < 100_000; sequence++) {
+            Member member = generator.member(sequence);
+            emails.add(member.getEmail());
+
+            // then
+            assertTrue(member.getAddress().getZipCode() >= 1 && member.getAddress().getZipCode() <= 9999);
+            assertTrue(member.getBirthDate().isBefore(LocalDate.now()));
+            assertFalse(member.getKnownStitches().isEmpty());
+        }
+        assertEquals(100_000, emails.size());
+    }
+
+    /**
+     * Test that roles follow their popularity
+     */
+    @Test
+    void givenSkewedRoles_whenGenerate_thenShouldMostlyGenerateMembers() {
+        // when
+        Map<Role, Integer> roles = new EnumMap<>(Role.class);
+        for (long sequence = 0; sequence < 10_000; sequence++) {
+            roles.merge(generator.member(sequence).getRole(), 1, Integer::sum);
+        }
+
+        // then
+        assertTrue(roles.get(Role.MEMBER) > roles.get(Role.SECRETARY));
+        assertTrue(roles.get(Role.SECRETARY) > roles.get(Role.PRESIDENT));
+        assertEquals(Role.values().length, roles.size());
+    }
+
+    /**
+     * Test that the API accepts generated members
+     */
+    @Test
+    void givenGeneratedMembers_whenPost_thenShouldBeCreated() {
+        for (long sequence = 0; sequence < 20; sequence++) {
+            // when
+            ResponseEntity<Void> response = ApiClients.restTemplate(ApiUser.ADMIN)
+                    .postForEntity(RESOURCE_URL, generator.member(sequence), Void.class);
+
+            // then
+            assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        }
+    }
+}
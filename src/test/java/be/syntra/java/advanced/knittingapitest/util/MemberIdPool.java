@@ -0,0 +1,195 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Ids of the members that exist on the server, so tests can pick one without downloading the member list.
+ *
+ * The pool loads the member list once, on first use, and is then kept up to date by the harness's own calls
+ * (see {@link MemberIdTracker}): created members are added, deleted members are removed
+ * and members the server reports as not found are dropped.
+ * When too many ids turned out to be missing, or the pool runs empty, the next request for an id reloads the list.
+ *
+ * Ids are handed out either shared ({@link #randomId()}) or exclusive ({@link #takeExclusive()}):
+ * an exclusive id is not handed out again until it is released, so it can safely be deleted.
+ */
+public class MemberIdPool {
+    private static final Map<String, MemberIdPool> POOLS = new ConcurrentHashMap<>();
+    private static final int MIN_MISSES_BEFORE_RESYNC = 16;
+
+    private final Supplier<Collection<Long>> loader;
+    private long[] ids = new long[16];
+    private final Map<Long, Integer> indexes = new HashMap<>();
+    private final Set<Long> leased = new HashSet<>();
+    private int size;
+    private int misses;
+    private boolean loaded;
+
+    MemberIdPool(Supplier<Collection<Long>> loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Get the pool of the given members resource, creating it when needed.
+     *
+     * @param resourceUrl the url of the members resource
+     * @return the pool
+     */
+    public static MemberIdPool of(String resourceUrl) {
+        return POOLS.computeIfAbsent(resourceUrl, url -> new MemberIdPool(() -> loadIds(url)));
+    }
+
+    /**
+     * Get the pool of the given members resource, if one was created.
+     *
+     * @param resourceUrl the url of the members resource
+     * @return the pool, or null
+     */
+    static MemberIdPool find(String resourceUrl) {
+        return POOLS.get(resourceUrl);
+    }
+
+    private static Collection<Long> loadIds(String resourceUrl) {
+        List<Long> ids = new ArrayList<>();
+        MemberListReader.of(resourceUrl, ApiUser.USER).forEachId(ids::add);
+        return ids;
+    }
+
+    /**
+     * Get the id of a random member, without excluding it for others.
+     *
+     * @return the id of an existing member
+     * @throws RuntimeException if no member exists on the server
+     */
+    public synchronized long randomId() {
+        ensureLoaded();
+        if (size == 0) {
+            throw new RuntimeException("No members exist on the server");
+        }
+        return ids[ThreadLocalRandom.current().nextInt(size)];
+    }
+
+    /**
+     * Take the id of a random member, so it is not handed out again until it is {@link #release(long) released}
+     * or deleted.
+     *
+     * @return the id of an existing member, empty if no member is available
+     */
+    public synchronized OptionalLong takeExclusive() {
+        ensureLoaded();
+        if (size == 0) {
+            return OptionalLong.empty();
+        }
+        long id = ids[ThreadLocalRandom.current().nextInt(size)];
+        removeAvailable(id);
+        leased.add(id);
+        return OptionalLong.of(id);
+    }
+
+    /**
+     * Hand out an exclusive id again.
+     */
+    public synchronized void release(long id) {
+        if (leased.remove(id)) {
+            addAvailable(id);
+        }
+    }
+
+    /**
+     * Whether no members are available, loading the pool if needed.
+     */
+    public synchronized boolean isEmpty() {
+        ensureLoaded();
+        return size == 0;
+    }
+
+    /**
+     * @return the number of available (not exclusively taken) ids
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Register a member the harness created.
+     */
+    public synchronized void added(long id) {
+        if (loaded && !leased.contains(id)) {
+            addAvailable(id);
+        }
+    }
+
+    /**
+     * Register a member the harness deleted.
+     */
+    public synchronized void removed(long id) {
+        leased.remove(id);
+        removeAvailable(id);
+    }
+
+    /**
+     * Register a member the server reported as not found, i.e. it was deleted by someone else.
+     */
+    public synchronized void missing(long id) {
+        if (leased.remove(id) | removeAvailable(id)) {
+            misses++;
+        }
+    }
+
+    /**
+     * Reload the pool from the server on its next use.
+     */
+    public synchronized void invalidate() {
+        loaded = false;
+    }
+
+    private void ensureLoaded() {
+        if (loaded && size > 0 && misses < Math.max(MIN_MISSES_BEFORE_RESYNC, size / 10)) {
+            return;
+        }
+        size = 0;
+        indexes.clear();
+        for (long id : loader.get()) {
+            if (!leased.contains(id)) {
+                addAvailable(id);
+            }
+        }
+        misses = 0;
+        loaded = true;
+    }
+
+    private void addAvailable(long id) {
+        if (indexes.putIfAbsent(id, size) != null) {
+            return;
+        }
+        if (size == ids.length) {
+            long[] grown = new long[size * 2];
+            System.arraycopy(ids, 0, grown, 0, size);
+            ids = grown;
+        }
+        ids[size++] = id;
+    }
+
+    private boolean removeAvailable(long id) {
+        Integer index = indexes.remove(id);
+        if (index == null) {
+            return false;
+        }
+        long last = ids[--size];
+        if (index < size) {
+            ids[index] = last;
+            indexes.put(last, index);
+        }
+        return true;
+    }
+}
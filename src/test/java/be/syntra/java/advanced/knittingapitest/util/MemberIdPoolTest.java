@@ -0,0 +1,120 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static be.syntra.java.advanced.knittingapitest.util.TestHelper.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Isolated
+public class MemberIdPoolTest {
+    private final AtomicInteger loads = new AtomicInteger();
+    private List<Long> serverIds = List.of(1L, 2L, 3L);
+    private final MemberIdPool pool = new MemberIdPool(() -> {
+        loads.incrementAndGet();
+        return serverIds;
+    });
+
+    /**
+     * Test that the member list is loaded once, however many ids are handed out
+     */
+    @Test
+    void givenPool_whenRandomIds_thenShouldLoadOnceAndReturnExistingIds() {
+        // when
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            ids.add(pool.randomId());
+        }
+
+        // then
+        assertEquals(1, loads.get());
+        assertEquals(Set.of(1L, 2L, 3L), ids);
+    }
+
+    /**
+     * Test that an exclusive id is not handed out again until released
+     */
+    @Test
+    void givenExclusiveId_whenRandomIds_thenShouldNotReturnExclusiveId() {
+        // given
+        long exclusiveId = pool.takeExclusive().orElseThrow();
+
+        // when
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            ids.add(pool.randomId());
+        }
+        pool.release(exclusiveId);
+
+        // then
+        assertFalse(ids.contains(exclusiveId));
+        assertEquals(3, pool.size());
+    }
+
+    /**
+     * Test that created and deleted members are tracked without reloading
+     */
+    @Test
+    void givenLoadedPool_whenMembersCreatedAndDeleted_thenShouldTrackIds() {
+        // given
+        pool.isEmpty();
+
+        // when
+        pool.added(4);
+        pool.removed(1);
+
+        // then
+        assertEquals(3, pool.size());
+        assertEquals(1, loads.get());
+    }
+
+    /**
+     * Test that the pool reloads once too many ids turned out to be missing
+     */
+    @Test
+    void givenManyMissingIds_whenRandomId_thenShouldReload() {
+        // given
+        serverIds = new ArrayList<>();
+        for (long id = 1; id <= 40; id++) {
+            serverIds.add(id);
+        }
+        pool.isEmpty();
+        for (long id = 1; id <= 16; id++) {
+            pool.missing(id);
+        }
+
+        // when
+        pool.randomId();
+
+        // then
+        assertEquals(2, loads.get());
+        assertEquals(40, pool.size());
+    }
+
+    /**
+     * Test that members created and deleted through the shared rest templates are tracked in the pool
+     */
+    @Test
+    void givenSharedPool_whenCreateAndDeleteMember_thenShouldTrackId() {
+        // given
+        MemberIdPool sharedPool = memberIdPool();
+        givenAtLeastOneMemberExists();
+        int initialSize = sharedPool.size();
+
+        // when
+        URI location = ApiClients.restTemplate(ApiUser.ADMIN).postForLocation(RESOURCE_URL, aMember());
+        int sizeAfterPost = sharedPool.size();
+        ApiClients.restTemplate(ApiUser.SUPER_ADMIN).delete(location);
+
+        // then
+        assertEquals(initialSize + 1, sizeAfterPost);
+        assertEquals(initialSize, sharedPool.size());
+    }
+}
@@ -0,0 +1,93 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Keeps the {@link MemberIdPool}s up to date with the members the harness creates and deletes through its rest templates.
+ */
+public class MemberIdTracker implements ClientHttpRequestInterceptor {
+    private static final String RESOURCE_PATH = "/members";
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        ClientHttpResponse response = execution.execute(request, body);
+        track(request.getMethod(), request.getURI(), response.getRawStatusCode(), response.getHeaders().getLocation());
+        return response;
+    }
+
+    /**
+     * Update the pool of the called members resource, if there is one,
+     * and the {@link TestMembers} namespace of the running test, if it has one.
+     *
+     * @param method   the method of the request
+     * @param uri      the uri of the request
+     * @param status   the status code of the response
+     * @param location the location header of the response, may be null
+     */
+    static void track(HttpMethod method, URI uri, int status, URI location) {
+        String path = uri.getPath();
+        int resourceIndex = path.lastIndexOf(RESOURCE_PATH);
+        if (resourceIndex < 0) {
+            return;
+        }
+        int resourceEnd = resourceIndex + RESOURCE_PATH.length();
+        String resourceUrl = uri.getScheme() + "://" + uri.getRawAuthority() + path.substring(0, resourceEnd);
+        MemberIdPool pool = MemberIdPool.find(resourceUrl);
+        TestMembers members = TestMembers.current();
+        if (members != null && !members.getResourceUrl().equals(resourceUrl)) {
+            members = null;
+        }
+        if (pool == null && members == null) {
+            return;
+        }
+
+        if (resourceEnd == path.length()) {
+            if (method == HttpMethod.POST && status == 201 && location != null) {
+                long id = idOf(location.getPath());
+                if (id >= 0) {
+                    if (pool != null) {
+                        pool.added(id);
+                    }
+                    if (members != null) {
+                        members.own(id);
+                    }
+                }
+            }
+        } else if (path.charAt(resourceEnd) == '/') {
+            long id = parseId(path.substring(resourceEnd + 1));
+            if (id < 0) {
+                return;
+            }
+            boolean deleted = method == HttpMethod.DELETE && status >= 200 && status < 300;
+            if (pool != null) {
+                if (status == 404) {
+                    pool.missing(id);
+                } else if (deleted) {
+                    pool.removed(id);
+                }
+            }
+            if (members != null && (deleted || status == 404)) {
+                members.disown(id);
+            }
+        }
+    }
+
+    private static long idOf(String path) {
+        return parseId(path.substring(path.lastIndexOf('/') + 1));
+    }
+
+    private static long parseId(String id) {
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import be.syntra.java.advanced.knittingapitest.dto.Address;
+import be.syntra.java.advanced.knittingapitest.dto.KnittingStitch;
+import be.syntra.java.advanced.knittingapitest.dto.Member;
+import be.syntra.java.advanced.knittingapitest.dto.MemberList;
+import be.syntra.java.advanced.knittingapitest.dto.MemberListItem;
+import be.syntra.java.advanced.knittingapitest.dto.Role;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Hand-written streaming JSON codec for the dto's, writing the same JSON as {@link ObjectMappers#create()}.
+ * Serves as the lower bound of the Jackson mapping cost in the benchmarks.
+ *
+ * Reading ignores unknown fields, like the object mapper does.
+ */
+public class MemberJsonCodec {
+
+    public static void writeMember(JsonGenerator generator, Member member) throws IOException {
+        generator.writeStartObject();
+        writeNumberField(generator, "id", member.getId());
+        generator.writeStringField("firstName", member.getFirstName());
+        generator.writeStringField("lastName", member.getLastName());
+        generator.writeStringField("email", member.getEmail());
+        generator.writeStringField("phoneNumber", member.getPhoneNumber());
+        generator.writeStringField("birthDate", member.getBirthDate() == null ? null : member.getBirthDate().toString());
+        generator.writeStringField("role", member.getRole() == null ? null : member.getRole().name());
+        if (member.getKnownStitches() == null) {
+            generator.writeNullField("knownStitches");
+        } else {
+            generator.writeArrayFieldStart("knownStitches");
+            for (KnittingStitch stitch : member.getKnownStitches()) {
+                generator.writeString(stitch.name());
+            }
+            generator.writeEndArray();
+        }
+        generator.writeFieldName("address");
+        writeAddress(generator, member.getAddress());
+        generator.writeEndObject();
+    }
+
+    public static Member readMember(JsonParser parser) throws IOException {
+        Member.MemberBuilder member = Member.builder();
+        expectStartObject(parser);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "id":
+                    member.id(parser.getLongValue());
+                    break;
+                case "firstName":
+                    member.firstName(parser.getText());
+                    break;
+                case "lastName":
+                    member.lastName(parser.getText());
+                    break;
+                case "email":
+                    member.email(parser.getText());
+                    break;
+                case "phoneNumber":
+                    member.phoneNumber(parser.getText());
+                    break;
+                case "birthDate":
+                    member.birthDate(LocalDate.parse(parser.getText()));
+                    break;
+                case "role":
+                    member.role(Role.valueOf(parser.getText()));
+                    break;
+                case "knownStitches":
+                    member.knownStitches(readStitches(parser));
+                    break;
+                case "address":
+                    member.address(readAddress(parser));
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return member.build();
+    }
+
+    public static void writeMemberList(JsonGenerator generator, MemberList memberList) throws IOException {
+        generator.writeStartObject();
+        if (memberList.getMembers() == null) {
+            generator.writeNullField("members");
+        } else {
+            generator.writeArrayFieldStart("members");
+            for (MemberListItem item : memberList.getMembers()) {
+                writeMemberListItem(generator, item);
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+
+    public static MemberList readMemberList(JsonParser parser) throws IOException {
+        MemberList memberList = new MemberList();
+        expectStartObject(parser);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("members".equals(field) && value == JsonToken.START_ARRAY) {
+                List<MemberListItem> members = new ArrayList<>();
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    members.add(readMemberListItem(parser));
+                }
+                memberList.setMembers(members);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return memberList;
+    }
+
+    private static void writeMemberListItem(JsonGenerator generator, MemberListItem item) throws IOException {
+        generator.writeStartObject();
+        writeNumberField(generator, "id", item.getId());
+        generator.writeStringField("name", item.getName());
+        generator.writeStringField("email", item.getEmail());
+        generator.writeNumberField("knownStitches", item.getKnownStitches());
+        generator.writeEndObject();
+    }
+
+    /**
+     * Read a member list item, the parser being on its start.
+     */
+    private static MemberListItem readMemberListItem(JsonParser parser) throws IOException {
+        MemberListItem.MemberListItemBuilder item = MemberListItem.builder();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "id":
+                    item.id(parser.getLongValue());
+                    break;
+                case "name":
+                    item.name(parser.getText());
+                    break;
+                case "email":
+                    item.email(parser.getText());
+                    break;
+                case "knownStitches":
+                    item.knownStitches(parser.getIntValue());
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return item.build();
+    }
+
+    private static void writeAddress(JsonGenerator generator, Address address) throws IOException {
+        if (address == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartObject();
+        generator.writeStringField("street", address.getStreet());
+        generator.writeNumberField("number", address.getNumber());
+        generator.writeStringField("poBox", address.getPoBox());
+        generator.writeNumberField("zipCode", address.getZipCode());
+        generator.writeStringField("city", address.getCity());
+        generator.writeEndObject();
+    }
+
+    private static Address readAddress(JsonParser parser) throws IOException {
+        Address.AddressBuilder address = Address.builder();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "street":
+                    address.street(parser.getText());
+                    break;
+                case "number":
+                    address.number(parser.getIntValue());
+                    break;
+                case "poBox":
+                    address.poBox(parser.getText());
+                    break;
+                case "zipCode":
+                    address.zipCode(parser.getIntValue());
+                    break;
+                case "city":
+                    address.city(parser.getText());
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return address.build();
+    }
+
+    private static Set<KnittingStitch> readStitches(JsonParser parser) throws IOException {
+        Set<KnittingStitch> stitches = EnumSet.noneOf(KnittingStitch.class);
+        while (parser.nextToken() == JsonToken.VALUE_STRING) {
+            stitches.add(KnittingStitch.valueOf(parser.getText()));
+        }
+        return stitches;
+    }
+
+    private static void writeNumberField(JsonGenerator generator, String name, Long value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(name);
+        } else {
+            generator.writeNumberField(name, value);
+        }
+    }
+
+    private static void expectStartObject(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken() != null ? parser.currentToken() : parser.nextToken();
+        if (token != JsonToken.START_OBJECT) {
+            throw new IOException("Expected an object, got " + token);
+        }
+    }
+}
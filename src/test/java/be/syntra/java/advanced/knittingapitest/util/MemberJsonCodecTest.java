@@ -0,0 +1,70 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import be.syntra.java.advanced.knittingapitest.dto.Member;
+import be.syntra.java.advanced.knittingapitest.dto.MemberList;
+import be.syntra.java.advanced.knittingapitest.dto.MemberListItem;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MemberJsonCodecTest {
+    private final ObjectMapper objectMapper = ObjectMappers.create();
+
+    /**
+     * Test that the codec and the object mapper read each other's members
+     */
+    @Test
+    void givenMember_whenWriteAndRead_thenShouldMatchObjectMapper() throws IOException {
+        // given
+        Member member = new MemberGenerator(3).member(42);
+        member.setId(7L);
+
+        // when
+        StringWriter json = new StringWriter();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(json)) {
+            MemberJsonCodec.writeMember(generator, member);
+        }
+        Member read;
+        try (JsonParser parser = objectMapper.getFactory().createParser(objectMapper.writeValueAsBytes(member))) {
+            read = MemberJsonCodec.readMember(parser);
+        }
+
+        // then
+        assertEquals(member, objectMapper.readValue(json.toString(), Member.class));
+        assertEquals(member, read);
+    }
+
+    /**
+     * Test that the codec and the object mapper read each other's member lists
+     */
+    @Test
+    void givenMemberList_whenWriteAndRead_thenShouldMatchObjectMapper() throws IOException {
+        // given
+        MemberList memberList = new MemberList();
+        memberList.setMembers(List.of(
+                new MemberListItem(1L, "Jane Doe", "jane@doe.com", 3),
+                new MemberListItem(2L, "John Doe", null, 0)
+        ));
+
+        // when
+        StringWriter json = new StringWriter();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(json)) {
+            MemberJsonCodec.writeMemberList(generator, memberList);
+        }
+        MemberList read;
+        try (JsonParser parser = objectMapper.getFactory().createParser(objectMapper.writeValueAsBytes(memberList))) {
+            read = MemberJsonCodec.readMemberList(parser);
+        }
+
+        // then
+        assertEquals(memberList, objectMapper.readValue(json.toString(), MemberList.class));
+        assertEquals(memberList, read);
+    }
+}
@@ -0,0 +1,215 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import be.syntra.java.advanced.knittingapitest.dto.MemberListItem;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Reads the {@code GET /members} response while it arrives, one member at a time,
+ * so the whole member list never has to be in memory.
+ *
+ * Every operation fetches the list again. Operations that only need a single member stop reading as soon as they found it.
+ */
+public class MemberListReader {
+    private static final ObjectMapper OBJECT_MAPPER = ObjectMappers.create();
+    private static final ObjectReader ITEM_READER = OBJECT_MAPPER.readerFor(MemberListItem.class);
+
+    private final RestTemplate restTemplate;
+    private final String resourceUrl;
+
+    private MemberListReader(RestTemplate restTemplate, String resourceUrl) {
+        this.restTemplate = restTemplate;
+        this.resourceUrl = resourceUrl;
+    }
+
+    /**
+     * @param resourceUrl the url of the members resource
+     * @param user        the user to get the member list as
+     * @return a reader of the member list
+     */
+    public static MemberListReader of(String resourceUrl, ApiUser user) {
+        return new MemberListReader(ApiClients.restTemplate(user).getRestTemplate(), resourceUrl);
+    }
+
+    /**
+     * Count the members, without binding them.
+     */
+    public long count() {
+        return fetch(MemberListReader::count);
+    }
+
+    /**
+     * Pass every member to the consumer, e.g. to validate them.
+     */
+    public void forEach(Consumer<MemberListItem> consumer) {
+        fetch(body -> {
+            forEach(body, item -> {
+                consumer.accept(item);
+                return true;
+            });
+            return null;
+        });
+    }
+
+    /**
+     * Pass the id of every member to the consumer, without binding the other fields.
+     */
+    public void forEachId(LongConsumer consumer) {
+        fetch(body -> {
+            forEachId(body, consumer);
+            return null;
+        });
+    }
+
+    /**
+     * Find the first member that matches the predicate, reading no further than that member.
+     */
+    public Optional<MemberListItem> findFirst(Predicate<MemberListItem> predicate) {
+        return fetch(body -> findFirst(body, predicate));
+    }
+
+    /**
+     * Whether any member matches the predicate, reading no further than the first match.
+     */
+    public boolean anyMatch(Predicate<MemberListItem> predicate) {
+        return findFirst(predicate).isPresent();
+    }
+
+    /**
+     * Pick members uniformly at random (reservoir sampling), keeping at most {@code size} members in memory.
+     *
+     * @param size the maximum number of members to pick
+     * @return the picked members, fewer if the list holds less than {@code size} members
+     */
+    public List<MemberListItem> sample(int size) {
+        return fetch(body -> sample(body, size));
+    }
+
+    private <T> T fetch(StreamReader<T> reader) {
+        return restTemplate.execute(resourceUrl, HttpMethod.GET, null, response -> {
+            if (response.getStatusCode() != HttpStatus.OK) {
+                throw new RuntimeException("Unable to get the members: " + response.getStatusCode());
+            }
+            try (InputStream body = response.getBody()) {
+                return reader.read(body);
+            }
+        });
+    }
+
+    // Stream operations, on a member list response body
+
+    static long count(InputStream body) throws IOException {
+        long count = 0;
+        try (JsonParser parser = membersArray(body)) {
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                count++;
+            }
+        }
+        return count;
+    }
+
+    static Optional<MemberListItem> findFirst(InputStream body, Predicate<MemberListItem> predicate) throws IOException {
+        MemberListItem[] found = new MemberListItem[1];
+        forEach(body, item -> {
+            if (predicate.test(item)) {
+                found[0] = item;
+                return false;
+            }
+            return true;
+        });
+        return Optional.ofNullable(found[0]);
+    }
+
+    static List<MemberListItem> sample(InputStream body, int size) throws IOException {
+        List<MemberListItem> sample = new ArrayList<>(size);
+        long[] seen = new long[1];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        forEach(body, item -> {
+            long index = seen[0]++;
+            if (index < size) {
+                sample.add(item);
+            } else {
+                long slot = random.nextLong(index + 1);
+                if (slot < size) {
+                    sample.set((int) slot, item);
+                }
+            }
+            return true;
+        });
+        return sample;
+    }
+
+    static void forEachId(InputStream body, LongConsumer consumer) throws IOException {
+        try (JsonParser parser = membersArray(body)) {
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    parser.nextToken();
+                    if ("id".equals(field)) {
+                        consumer.accept(parser.getLongValue());
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Bind the members one by one until the visitor returns false.
+     */
+    static void forEach(InputStream body, ItemVisitor visitor) throws IOException {
+        try (JsonParser parser = membersArray(body)) {
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                if (!visitor.visit(ITEM_READER.readValue(parser))) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Open a parser on the response body, positioned on the start of the members array.
+     */
+    private static JsonParser membersArray(InputStream body) throws IOException {
+        JsonParser parser = OBJECT_MAPPER.getFactory().createParser(body);
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a member list object");
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("members".equals(field) && value == JsonToken.START_ARRAY) {
+                return parser;
+            }
+            parser.skipChildren();
+        }
+        throw new IOException("Expected a members array");
+    }
+
+    @FunctionalInterface
+    interface ItemVisitor {
+        boolean visit(MemberListItem item);
+    }
+
+    @FunctionalInterface
+    private interface StreamReader<T> {
+        T read(InputStream body) throws IOException;
+    }
+}
@@ -0,0 +1,142 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import be.syntra.java.advanced.knittingapitest.dto.MemberListItem;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MemberListReaderTest {
+
+    /**
+     * Test that a member list far larger than any buffer is counted while streaming
+     */
+    @Test
+    void givenLargeMemberList_whenCount_thenShouldCountAllMembers() throws IOException {
+        // given
+        InputStream body = new MemberListStream(200_000);
+
+        // when
+        long count = MemberListReader.count(body);
+
+        // then
+        assertEquals(200_000, count);
+    }
+
+    /**
+     * Test that the ids are read in order, whatever the position of the id field
+     */
+    @Test
+    void givenMemberList_whenForEachId_thenShouldReadAllIds() throws IOException {
+        // given
+        InputStream body = json("{\"members\":["
+                + "{\"name\":\"Jane Doe\",\"id\":3,\"knownStitches\":2},"
+                + "{\"id\":5,\"email\":\"john@doe.com\"}"
+                + "]}");
+
+        // when
+        List<Long> ids = new ArrayList<>();
+        MemberListReader.forEachId(body, ids::add);
+
+        // then
+        assertEquals(List.of(3L, 5L), ids);
+    }
+
+    /**
+     * Test that finding a member does not read beyond it
+     */
+    @Test
+    void givenMemberList_whenFindFirst_thenShouldStopReadingAtMatch() throws IOException {
+        // given -- a body that is malformed after the second member
+        InputStream body = json("{\"members\":[{\"id\":1,\"name\":\"A\"},{\"id\":2,\"name\":\"B\"},not json");
+
+        // when
+        Optional<MemberListItem> found = MemberListReader.findFirst(body, item -> item.getId() == 2L);
+
+        // then
+        assertEquals("B", found.orElseThrow().getName());
+    }
+
+    /**
+     * Test that a sample holds distinct members of the list, at most the requested number
+     */
+    @Test
+    void givenLargeMemberList_whenSample_thenShouldReturnRequestedNumberOfListedMembers() throws IOException {
+        // when
+        List<MemberListItem> sample = MemberListReader.sample(new MemberListStream(10_000), 50);
+        List<MemberListItem> smallSample = MemberListReader.sample(new MemberListStream(3), 50);
+
+        // then
+        Set<Long> ids = sample.stream().map(MemberListItem::getId).collect(Collectors.toSet());
+        assertEquals(50, ids.size());
+        assertTrue(ids.stream().allMatch(id -> id >= 1 && id <= 10_000));
+        assertEquals(3, smallSample.size());
+    }
+
+    /**
+     * Test that other fields of the member list are skipped
+     */
+    @Test
+    void givenMemberListWithOtherFields_whenForEach_thenShouldBindMembersOnly() throws IOException {
+        // given
+        InputStream body = json("{\"page\":{\"size\":1},\"members\":[{\"id\":1,\"knownStitches\":4,\"role\":\"ADMIN\"}],\"total\":1}");
+
+        // when
+        Set<MemberListItem> items = new HashSet<>();
+        MemberListReader.forEach(body, items::add);
+
+        // then
+        assertEquals(1, items.size());
+        assertEquals(4, items.iterator().next().getKnownStitches());
+    }
+
+    private static InputStream json(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Generates a member list of the given size, one member at a time.
+     */
+    private static class MemberListStream extends InputStream {
+        private final int size;
+        private int next = 1;
+        private byte[] chunk = "{\"members\":[".getBytes(StandardCharsets.UTF_8);
+        private int position;
+
+        MemberListStream(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public int read() {
+            if (position == chunk.length && !nextChunk()) {
+                return -1;
+            }
+            return chunk[position++];
+        }
+
+        private boolean nextChunk() {
+            if (next > size + 1) {
+                return false;
+            }
+            String json = next > size
+                    ? "]}"
+                    : (next > 1 ? "," : "") + "{\"id\":" + next + ",\"name\":\"First" + next + " Last\",\"email\":\"member"
+                    + next + "@knitting.be\",\"knownStitches\":3,\"role\":\"USER\"}";
+            next++;
+            chunk = json.getBytes(StandardCharsets.UTF_8);
+            position = 0;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Give every test of the class its own members, so tests can run in parallel without touching each other's data.
+ *
+ * During each test, {@link TestHelper#givenAtLeastOneMemberExists()}, {@link TestHelper#anExistingId()}
+ * and {@link TestHelper#anExclusiveId()} only hand out members the test created itself,
+ * and the members the test creates through the shared rest templates are tracked.
+ * After the test, every member it still owns is deleted, see {@link TestMembers}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@ExtendWith(MemberNamespaceExtension.class)
+public @interface MemberNamespace {
+}
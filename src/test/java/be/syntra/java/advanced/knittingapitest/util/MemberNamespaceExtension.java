@@ -0,0 +1,28 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Binds a new {@link TestMembers} namespace to the thread of every test of a {@link MemberNamespace} class,
+ * and deletes its members after the test.
+ *
+ * A test, its {@code @BeforeEach} and its {@code @AfterEach} methods run on the same thread, also in parallel runs.
+ */
+public class MemberNamespaceExtension implements BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        TestMembers.bind(new TestMembers(TestHelper.RESOURCE_URL));
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        TestMembers members = TestMembers.current();
+        TestMembers.unbind();
+        if (members != null) {
+            members.close();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import be.syntra.java.advanced.knittingapitest.dto.Member;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.testkit.engine.EngineTestKit;
+import org.junit.platform.testkit.engine.Events;
+import org.springframework.http.HttpStatus;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static be.syntra.java.advanced.knittingapitest.util.TestHelper.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+public class MemberNamespaceExtensionTest {
+    private static final List<Long> OWNED_IDS = new CopyOnWriteArrayList<>();
+
+    /**
+     * Test that the members a test gets handed out and creates are its own, and are deleted after the test
+     */
+    @Test
+    void givenNamespacedTest_whenRun_thenShouldOwnAndDeleteItsMembers() {
+        // given
+        OWNED_IDS.clear();
+
+        // when
+        Events events = EngineTestKit.engine("junit-jupiter")
+                .selectors(selectClass(Namespaced.class))
+                .execute()
+                .testEvents();
+
+        // then
+        events.assertStatistics(stats -> stats.started(1).succeeded(1));
+        assertEquals(3, OWNED_IDS.size());
+        for (long id : OWNED_IDS) {
+            assertEquals(HttpStatus.NOT_FOUND, ApiClients.restTemplate(ApiUser.USER)
+                    .getForEntity(RESOURCE_URL + "/" + id, Member.class).getStatusCode());
+        }
+    }
+
+    /**
+     * Test that outside of a namespace, no namespace is bound
+     */
+    @Test
+    void givenTestWithoutNamespace_whenCurrent_thenShouldBeNull() {
+        assertNull(TestMembers.current());
+    }
+
+    @MemberNamespace
+    static class Namespaced {
+        @Test
+        void createMembers() {
+            long existingId = anExistingId();
+            long exclusiveId = anExclusiveId();
+            URI location = ApiClients.restTemplate(ApiUser.ADMIN).postForLocation(RESOURCE_URL, aUniqueMember());
+            long postedId = Long.parseLong(location.getPath().substring(location.getPath().lastIndexOf('/') + 1));
+
+            assertEquals(existingId, anExistingId());
+            assertNotEquals(existingId, exclusiveId);
+            assertEquals(List.of(existingId, exclusiveId, postedId), TestMembers.current().ids());
+            OWNED_IDS.addAll(TestMembers.current().ids());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import be.syntra.java.advanced.knittingapitest.dto.KnittingStitch;
+import be.syntra.java.advanced.knittingapitest.dto.Role;
+
+import static be.syntra.java.advanced.knittingapitest.util.JsonSchema.*;
+
+/**
+ * The schemas of the responses of the members resource.
+ */
+public class MemberSchemas {
+    public static final JsonSchema ADDRESS = object()
+            .required("street", string())
+            .required("number", integer())
+            .optional("poBox", string())
+            .required("zipCode", integer())
+            .required("city", string())
+            .build();
+
+    /**
+     * Schema of {@code GET /members/{id}}
+     */
+    public static final JsonSchema MEMBER = object()
+            .required("id", integer())
+            .required("firstName", string())
+            .required("lastName", string())
+            .required("email", string())
+            .required("phoneNumber", string())
+            .required("birthDate", date())
+            .required("role", enumOf(Role.class))
+            .required("knownStitches", array(enumOf(KnittingStitch.class), 1))
+            .required("address", ADDRESS)
+            .build();
+
+    /**
+     * Schema of the summary of a member in the member list, which leaves out the personal details
+     */
+    public static final JsonSchema MEMBER_LIST_ITEM = object()
+            .required("id", integer())
+            .required("name", string())
+            .required("email", string())
+            .required("knownStitches", integer(1))
+            .required("role", enumOf(Role.class))
+            .build();
+
+    /**
+     * Schema of {@code GET /members}
+     */
+    public static final JsonSchema MEMBER_LIST = object()
+            .required("members", array(MEMBER_LIST_ITEM))
+            .build();
+
+    /**
+     * Get the schema of a response.
+     *
+     * @param method the HTTP method of the request
+     * @param path   the path of the request
+     * @param status the status code of the response
+     * @return the schema of the response body, null when the response has no body to check
+     */
+    public static JsonSchema forResponse(String method, String path, int status) {
+        if (status != 200 || !"GET".equals(method)) {
+            return null;
+        }
+        switch (ClientMetrics.uriTemplate(path)) {
+            case "/members":
+                return MEMBER_LIST;
+            case "/members/{id}":
+                return MEMBER;
+            default:
+                return null;
+        }
+    }
+}
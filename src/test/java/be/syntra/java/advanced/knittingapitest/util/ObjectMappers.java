@@ -0,0 +1,22 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+public class ObjectMappers {
+
+    /**
+     * Create an object mapper configured like the one Spring Boot injects in the tests:
+     * the dto's are deserialized through their all-args constructor and dates are written as ISO strings.
+     *
+     * @return a new object mapper
+     */
+    public static ObjectMapper create() {
+        return Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(new ParameterNamesModule())
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+}
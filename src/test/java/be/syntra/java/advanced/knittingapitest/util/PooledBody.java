@@ -0,0 +1,149 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A response body held in buffers of a {@link ByteBufferPool}, so reading a body allocates no heap copy of it.
+ * The body can be read any number of times, e.g. to validate and then bind it, until it is closed,
+ * which returns its buffers to the pool.
+ *
+ * Written by a single thread; once written, it can be read by any thread.
+ */
+public class PooledBody implements AutoCloseable {
+    private static final ThreadLocal<byte[]> TRANSFER_BUFFER = ThreadLocal.withInitial(() -> new byte[8 * 1024]);
+
+    private final ByteBufferPool pool;
+    private final List<ByteBuffer> buffers = new ArrayList<>();
+    private long size;
+    private boolean closed;
+
+    public PooledBody(ByteBufferPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Append the remaining bytes of a buffer, leaving the buffer at its limit.
+     */
+    public void write(ByteBuffer source) {
+        while (source.hasRemaining()) {
+            ByteBuffer target = writableBuffer();
+            int length = Math.min(source.remaining(), target.remaining());
+            int limit = source.limit();
+            source.limit(source.position() + length);
+            target.put(source);
+            source.limit(limit);
+            size += length;
+        }
+    }
+
+    /**
+     * Append the bytes of an input stream, up to a maximum.
+     *
+     * @param input    the stream to read, which is not closed
+     * @param maxBytes the maximum number of bytes to read
+     * @return whether the end of the stream was reached
+     * @throws IOException when the stream can not be read
+     */
+    public boolean readFrom(InputStream input, long maxBytes) throws IOException {
+        byte[] transfer = TRANSFER_BUFFER.get();
+        while (size < maxBytes) {
+            ByteBuffer target = writableBuffer();
+            int read = input.read(transfer, 0, (int) Math.min(Math.min(transfer.length, target.remaining()), maxBytes - size));
+            if (read < 0) {
+                return true;
+            }
+            target.put(transfer, 0, read);
+            size += read;
+        }
+        return false;
+    }
+
+    private ByteBuffer writableBuffer() {
+        if (closed) {
+            throw new IllegalStateException("The body is closed");
+        }
+        ByteBuffer last = buffers.isEmpty() ? null : buffers.get(buffers.size() - 1);
+        if (last == null || !last.hasRemaining()) {
+            last = pool.acquire();
+            buffers.add(last);
+        }
+        return last;
+    }
+
+    /**
+     * @return the number of bytes in the body
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Get a stream of the body, from its start. The stream does not need to be closed.
+     *
+     * @return a new stream of the body
+     */
+    public InputStream inputStream() {
+        return new BodyInputStream();
+    }
+
+    /**
+     * Return the buffers to the pool. Streams of the body must not be read afterwards.
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            buffers.forEach(pool::release);
+            buffers.clear();
+        }
+    }
+
+    private class BodyInputStream extends InputStream {
+        private int next;
+        private ByteBuffer current;
+
+        /**
+         * Get a read view of the next buffer that has bytes left.
+         *
+         * @return the view, null at the end of the body
+         */
+        private ByteBuffer current() {
+            while (current == null || !current.hasRemaining()) {
+                if (next == buffers.size()) {
+                    return null;
+                }
+                current = buffers.get(next++).duplicate().flip();
+            }
+            return current;
+        }
+
+        @Override
+        public int read() {
+            ByteBuffer source = current();
+            return source == null ? -1 : source.get() & 0xff;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            ByteBuffer source = current();
+            if (source == null) {
+                return -1;
+            }
+            int read = Math.min(length, source.remaining());
+            source.get(target, offset, read);
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return current == null ? 0 : current.remaining();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PooledBodyTest {
+
+    /**
+     * Test that a body spanning several buffers reads back unchanged, any number of times
+     */
+    @Test
+    void givenBodyLargerThanBuffer_whenReadTwice_thenShouldReturnSameBytes() throws IOException {
+        // given
+        ByteBufferPool pool = new ByteBufferPool(1024, 8);
+        byte[] bytes = randomBytes(3000);
+
+        // when
+        try (PooledBody body = new PooledBody(pool)) {
+            body.write(ByteBuffer.wrap(bytes, 0, 1000));
+            boolean complete = body.readFrom(new ByteArrayInputStream(bytes, 1000, 2000), Long.MAX_VALUE);
+
+            // then
+            assertTrue(complete);
+            assertEquals(3000, body.size());
+            assertArrayEquals(bytes, body.inputStream().readAllBytes());
+            assertArrayEquals(bytes, body.inputStream().readAllBytes());
+        }
+    }
+
+    /**
+     * Test that reading stops at the maximum, leaving the rest of the stream unread
+     */
+    @Test
+    void givenStreamLargerThanMaximum_whenReadFrom_thenShouldStopAtMaximum() throws IOException {
+        // given
+        byte[] bytes = randomBytes(3000);
+        InputStream input = new ByteArrayInputStream(bytes);
+
+        // when
+        try (PooledBody body = new PooledBody(new ByteBufferPool(1024, 8))) {
+            boolean complete = body.readFrom(input, 2048);
+
+            // then
+            assertFalse(complete);
+            assertEquals(2048, body.size());
+            assertEquals(952, input.available());
+        }
+    }
+
+    /**
+     * Test that closed bodies return their buffers, so later bodies allocate none
+     */
+    @Test
+    void givenClosedBodies_whenWriteAgain_thenShouldReuseBuffers() {
+        // given
+        ByteBufferPool pool = new ByteBufferPool(1024, 8);
+        byte[] bytes = randomBytes(4000);
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            try (PooledBody body = new PooledBody(pool)) {
+                body.write(ByteBuffer.wrap(bytes));
+            }
+        }
+
+        // then
+        assertEquals(4, pool.getAllocated());
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(1).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,199 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Checks the responses of the calls made through the harness's clients against the {@link MemberSchemas},
+ * so contract drift is caught by every test and during load runs, not only by the schema tests.
+ *
+ * Every invalid response is counted in the {@link ClientMetrics}.
+ * The clients of the tests fail the call with an {@link AssertionError}, the clients of the load drivers only count.
+ * Rest template bodies are read into a {@link PooledBody} to be checked and then bound, without a heap copy;
+ * bodies of more than {@value #MAX_BUFFERED_BYTES} bytes are passed on unchecked,
+ * so large member lists can still be read while they arrive.
+ * Switch the checks off with {@code -Dschema.validate=false}.
+ */
+public class SchemaCheck implements ClientHttpRequestInterceptor, Filter {
+    public static final String ENABLED_PROPERTY = "schema.validate";
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"));
+    private static final int MAX_BUFFERED_BYTES = 1024 * 1024;
+    private static final LongAdder VIOLATIONS = new LongAdder();
+
+    private final boolean failOnViolation;
+
+    /**
+     * @param failOnViolation whether to throw an {@link AssertionError} on an invalid response, rather than only counting it
+     */
+    public SchemaCheck(boolean failOnViolation) {
+        this.failOnViolation = failOnViolation;
+    }
+
+    /**
+     * Check a response against its schema, counting it when it is invalid.
+     *
+     * @param method the HTTP method of the request
+     * @param path   the path of the request
+     * @param status the status code of the response
+     * @param body   the body of the response
+     * @return the violations, empty when the response is valid or has no schema
+     */
+    public static List<String> check(String method, String path, int status, byte[] body) {
+        JsonSchema schema = ENABLED ? MemberSchemas.forResponse(method, path, status) : null;
+        return schema == null ? Collections.emptyList() : check(schema, method, path, body);
+    }
+
+    /**
+     * Check a response against its schema while reading it, e.g. from a {@link PooledBody}, counting it when it is invalid.
+     *
+     * @param method the HTTP method of the request
+     * @param path   the path of the request
+     * @param status the status code of the response
+     * @param body   the body of the response, which is read but not closed
+     * @return the violations, empty when the response is valid or has no schema
+     */
+    public static List<String> check(String method, String path, int status, InputStream body) {
+        JsonSchema schema = ENABLED ? MemberSchemas.forResponse(method, path, status) : null;
+        return schema == null ? Collections.emptyList() : check(schema, method, path, body);
+    }
+
+    /**
+     * Get the number of invalid responses in this JVM.
+     *
+     * @return the number of responses that violated their schema
+     */
+    public static long violations() {
+        return VIOLATIONS.sum();
+    }
+
+    private static List<String> check(JsonSchema schema, String method, String path, byte[] body) {
+        return count(schema.validate(body), method, path);
+    }
+
+    private static List<String> check(JsonSchema schema, String method, String path, InputStream body) {
+        try {
+            return count(schema.validate(body), method, path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<String> count(List<String> violations, String method, String path) {
+        if (!violations.isEmpty()) {
+            VIOLATIONS.increment();
+            ClientMetrics.recordSchemaViolation(method, path);
+        }
+        return violations;
+    }
+
+    /**
+     * Check the response against its schema before passing it on.
+     * The body is read into pooled buffers, which are returned to the pool when the response is closed.
+     */
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        ClientHttpResponse response = execution.execute(request, body);
+        String path = request.getURI().getPath();
+        JsonSchema schema = ENABLED ? MemberSchemas.forResponse(request.getMethodValue(), path, response.getRawStatusCode()) : null;
+        if (schema == null) {
+            return response;
+        }
+        InputStream responseBody = response.getBody();
+        PooledBody pooledBody = new PooledBody(ByteBufferPool.shared());
+        try {
+            if (!pooledBody.readFrom(responseBody, MAX_BUFFERED_BYTES)) {
+                return new PooledResponse(response, pooledBody, new SequenceInputStream(pooledBody.inputStream(), responseBody));
+            }
+            List<String> violations = check(schema, request.getMethodValue(), path, pooledBody.inputStream());
+            if (!violations.isEmpty() && failOnViolation) {
+                throw violation(request.getMethodValue(), path, violations);
+            }
+        } catch (IOException | RuntimeException | AssertionError e) {
+            pooledBody.close();
+            response.close();
+            throw e;
+        }
+        return new PooledResponse(response, pooledBody, pooledBody.inputStream());
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        Response response = ctx.next(requestSpec, responseSpec);
+        String path = URI.create(requestSpec.getURI()).getPath();
+        List<String> violations = check(requestSpec.getMethod(), path, response.getStatusCode(), response.asByteArray());
+        if (!violations.isEmpty() && failOnViolation) {
+            throw violation(requestSpec.getMethod(), path, violations);
+        }
+        return response;
+    }
+
+    private static AssertionError violation(String method, String path, List<String> violations) {
+        return new AssertionError(method + " " + path + " returned a response that violates its schema:\n  "
+                + String.join("\n  ", violations));
+    }
+
+    /**
+     * A response of which the body has been (partly) read into pooled buffers already.
+     */
+    private static class PooledResponse implements ClientHttpResponse {
+        private final ClientHttpResponse response;
+        private final PooledBody pooledBody;
+        private final InputStream body;
+
+        PooledResponse(ClientHttpResponse response, PooledBody pooledBody, InputStream body) {
+            this.response = response;
+            this.pooledBody = pooledBody;
+            this.body = body;
+        }
+
+        @Override
+        public HttpStatus getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public int getRawStatusCode() throws IOException {
+            return response.getRawStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public void close() {
+            response.close();
+            pooledBody.close();
+        }
+    }
+}
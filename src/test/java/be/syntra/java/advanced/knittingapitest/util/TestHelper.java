@@ -4,28 +4,32 @@ import be.syntra.java.advanced.knittingapitest.dto.Address;
 import be.syntra.java.advanced.knittingapitest.dto.KnittingStitch;
 import be.syntra.java.advanced.knittingapitest.dto.Member;
 import be.syntra.java.advanced.knittingapitest.dto.Role;
-import io.restassured.RestAssured;
-import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.http.ResponseEntity;
 
 import java.time.LocalDate;
 import java.time.Month;
-import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class TestHelper {
-    public static final String RESOURCE_URL = "http://localhost:8080/members";
+    public static final String RESOURCE_URL = KnittingApi.baseUrl() + "/members";
+    private static final MemberGenerator MEMBER_GENERATOR = new MemberGenerator(1);
+    private static final AtomicLong MEMBER_SEQUENCE = new AtomicLong();
 
     /**
      * Verifies that at least one member exists on the server.
-     * Creates a new member if none exist.
+     * Creates a new member if none exist, or, in a {@link MemberNamespace} test, if the test owns none.
      *
      * @throws RuntimeException when unable to create a new member
      */
     public static void givenAtLeastOneMemberExists() {
-        if (getNumberOfExistingMembers() == 0) {
-            TestRestTemplate testRestTemplate = new TestRestTemplate().withBasicAuth("admin", "admin");
-            ResponseEntity<?> responseEntity = testRestTemplate.postForEntity(RESOURCE_URL, aMember(), null);
+        TestMembers members = TestMembers.current();
+        if (members != null) {
+            members.anyId();
+            return;
+        }
+        if (memberIdPool().isEmpty()) {
+            ResponseEntity<?> responseEntity = ApiClients.restTemplate(ApiUser.ADMIN).postForEntity(RESOURCE_URL, aMember(), null);
 
             if (!responseEntity.getStatusCode().is2xxSuccessful()) {
                 throw new RuntimeException("Unable to create a member");
@@ -58,6 +62,15 @@ public class TestHelper {
                 .build();
     }
 
+    /**
+     * Get the details for a new member, different from those of every other member returned in this run.
+     *
+     * @return the details for a member with a unique email
+     */
+    public static Member aUniqueMember() {
+        return MEMBER_GENERATOR.member(MEMBER_SEQUENCE.getAndIncrement());
+    }
+
     /**
      * Get incomplete details for a new member.
      *
@@ -85,35 +98,41 @@ public class TestHelper {
 
     /**
      * Get the id of a member that exists on the server.
+     * In a {@link MemberNamespace} test, the member is owned by the test.
      *
      * @return the id of an existing member
      * @throws RuntimeException if no member found on the server
      */
     public static long anExistingId() {
-        int numberOfMembers = getNumberOfExistingMembers();
-
-        if (numberOfMembers == 0) {
-            throw new RuntimeException("No members exist on the server");
+        TestMembers members = TestMembers.current();
+        if (members != null) {
+            return members.anyId();
         }
+        return memberIdPool().randomId();
+    }
 
-        return RestAssured.given()
-                .auth()
-                .preemptive().basic("user", "password")
-                .get(RESOURCE_URL).andReturn()
-                .body()
-                .jsonPath()
-                .getInt(
-                        String.format(
-                                "members[%d].id",
-                                new Random().nextInt(numberOfMembers)
-                        )
-                );
+    /**
+     * Get the id of a member that exists on the server and that no other caller gets until it is deleted.
+     * In a {@link MemberNamespace} test, a new member owned by the test.
+     *
+     * @return the id of an existing member
+     * @throws RuntimeException if no member found on the server
+     */
+    public static long anExclusiveId() {
+        TestMembers members = TestMembers.current();
+        if (members != null) {
+            return members.newId();
+        }
+        return memberIdPool().takeExclusive()
+                .orElseThrow(() -> new RuntimeException("No members exist on the server"));
     }
 
-    private static int getNumberOfExistingMembers() {
-        return RestAssured
-                .given().auth()
-                .preemptive().basic("user", "password")
-                .get(RESOURCE_URL).body().jsonPath().getList("members").size();
+    /**
+     * Get the ids of the members on the server, kept up to date by the calls of the tests.
+     *
+     * @return the member id pool of the API under test
+     */
+    public static MemberIdPool memberIdPool() {
+        return MemberIdPool.of(RESOURCE_URL);
     }
 }
@@ -0,0 +1,106 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import org.springframework.http.HttpMethod;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The members a single test owns: the members it created, that no other test gets handed out.
+ *
+ * The namespace of the running test is bound to its thread, see {@link MemberNamespace}.
+ * Members created and deleted through the shared rest templates on that thread are tracked by {@link MemberIdTracker}.
+ * Closing the namespace deletes every member it still owns.
+ */
+public class TestMembers implements AutoCloseable {
+    private static final ThreadLocal<TestMembers> CURRENT = new ThreadLocal<>();
+
+    private final String resourceUrl;
+    private final Set<Long> ids = new LinkedHashSet<>();
+
+    public TestMembers(String resourceUrl) {
+        this.resourceUrl = resourceUrl;
+    }
+
+    /**
+     * Get the namespace of the test running on this thread.
+     *
+     * @return the namespace, or null outside of {@link MemberNamespace} tests
+     */
+    public static TestMembers current() {
+        return CURRENT.get();
+    }
+
+    static void bind(TestMembers members) {
+        CURRENT.set(members);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    public String getResourceUrl() {
+        return resourceUrl;
+    }
+
+    /**
+     * Get the id of a member owned by this namespace, creating one when it owns none.
+     *
+     * @return the id of an existing member
+     * @throws RuntimeException when unable to create a new member
+     */
+    public synchronized long anyId() {
+        return ids.isEmpty() ? newId() : ids.iterator().next();
+    }
+
+    /**
+     * Create a new member owned by this namespace.
+     *
+     * @return the id of the new member
+     * @throws RuntimeException when unable to create a new member
+     */
+    public synchronized long newId() {
+        URI location = ApiClients.restTemplate(ApiUser.ADMIN).postForLocation(resourceUrl, TestHelper.aUniqueMember());
+        if (location == null) {
+            throw new RuntimeException("Unable to create a member");
+        }
+        String path = location.getPath();
+        long id = Long.parseLong(path.substring(path.lastIndexOf('/') + 1));
+        ids.add(id);
+        return id;
+    }
+
+    /**
+     * Register a member created by the test.
+     */
+    public synchronized void own(long id) {
+        ids.add(id);
+    }
+
+    /**
+     * Register a member deleted by the test.
+     */
+    public synchronized void disown(long id) {
+        ids.remove(id);
+    }
+
+    /**
+     * @return the ids of the members owned by this namespace
+     */
+    public synchronized List<Long> ids() {
+        return new ArrayList<>(ids);
+    }
+
+    /**
+     * Delete every member this namespace still owns.
+     */
+    @Override
+    public void close() {
+        for (long id : ids()) {
+            ApiClients.restTemplate(ApiUser.SUPER_ADMIN).exchange(resourceUrl + "/" + id, HttpMethod.DELETE, null, Void.class);
+        }
+    }
+}
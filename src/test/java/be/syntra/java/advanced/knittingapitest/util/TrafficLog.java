@@ -0,0 +1,240 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A compact, append-only binary log of calls to the members resource, see {@link TrafficRecorder}.
+ *
+ * The log starts with the magic {@code KTRF} and a format version. Every record then holds, as unsigned variable-length
+ * integers (7 bits per byte, least significant first): the start of the call in microseconds since the log was opened,
+ * the method, the user (0 for anonymous), the path, the request body, the status, the latency in microseconds
+ * and the id of the created member. Strings and bodies are written as their length followed by their bytes.
+ *
+ * Records are appended as calls complete, so they are ordered by completion rather than by start.
+ * A record torn by a JVM that stopped while writing it is ignored when the log is read.
+ */
+public class TrafficLog {
+    private static final int MAGIC = 0x4b545246;
+    private static final int VERSION = 1;
+    private static final List<String> METHODS = List.of("GET", "POST", "PUT", "DELETE");
+
+    private TrafficLog() {
+    }
+
+    /**
+     * Create a log, replacing any log in the file.
+     *
+     * @throws IOException when the file can not be written
+     */
+    public static Writer writer(Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        return new Writer(Files.newOutputStream(file));
+    }
+
+    /**
+     * Read a log from the start.
+     *
+     * @throws IOException when the file can not be read or is not a traffic log
+     */
+    public static Reader reader(Path file) throws IOException {
+        return new Reader(Files.newInputStream(file));
+    }
+
+    /**
+     * Read every record of a log, ordered by the start of their call.
+     *
+     * @throws IOException when the file can not be read or is not a traffic log
+     */
+    public static List<TrafficRecord> readByStart(Path file) throws IOException {
+        List<TrafficRecord> records = new ArrayList<>();
+        try (Reader reader = reader(file)) {
+            for (TrafficRecord record = reader.next(); record != null; record = reader.next()) {
+                records.add(record);
+            }
+        }
+        records.sort(Comparator.comparingLong(TrafficRecord::getStartMicros));
+        return records;
+    }
+
+    /**
+     * Get the id in the last segment of a path, e.g. of {@code /members/42} or a {@code Location}.
+     *
+     * @return the id, 0 when the last segment is not a number
+     */
+    static long lastSegmentId(String path) {
+        String segment = path.substring(path.lastIndexOf('/') + 1);
+        if (segment.isEmpty() || segment.length() > 18) {
+            return 0;
+        }
+        for (int i = 0; i < segment.length(); i++) {
+            if (!Character.isDigit(segment.charAt(i))) {
+                return 0;
+            }
+        }
+        return Long.parseLong(segment);
+    }
+
+    /**
+     * Appends records to a log; safe to share between threads.
+     */
+    public static class Writer implements Closeable {
+        private final OutputStream out;
+        private final long openedNanos = System.nanoTime();
+
+        private Writer(OutputStream out) throws IOException {
+            this.out = new BufferedOutputStream(out, 64 * 1024);
+            writeInt(MAGIC);
+            writeVarLong(VERSION);
+        }
+
+        /**
+         * Append a call.
+         *
+         * @param method       the HTTP method, only {@code GET}, {@code POST}, {@code PUT} and {@code DELETE} calls are logged
+         * @param path         the path of the request
+         * @param user         the authenticated user, null for none
+         * @param body         the request body, null or empty for none
+         * @param status       the status code of the response, 0 when no response was received
+         * @param startNanos   the {@link System#nanoTime()} the call started at
+         * @param latencyNanos the latency of the call
+         * @param createdId    the id of the created member, 0 for none
+         * @throws IOException when the log can not be written
+         */
+        public synchronized void append(String method, String path, ApiUser user, byte[] body, int status,
+                                        long startNanos, long latencyNanos, long createdId) throws IOException {
+            int methodIndex = METHODS.indexOf(method);
+            if (methodIndex < 0) {
+                return;
+            }
+            writeVarLong(Math.max(0, startNanos - openedNanos) / 1000);
+            out.write(methodIndex);
+            out.write(user == null ? 0 : user.ordinal() + 1);
+            writeBytes(path.getBytes(StandardCharsets.UTF_8));
+            writeBytes(body == null ? new byte[0] : body);
+            writeVarLong(status);
+            writeVarLong(latencyNanos / 1000);
+            writeVarLong(createdId);
+        }
+
+        private void writeBytes(byte[] bytes) throws IOException {
+            writeVarLong(bytes.length);
+            out.write(bytes);
+        }
+
+        private void writeVarLong(long value) throws IOException {
+            while ((value & ~0x7fL) != 0) {
+                out.write((int) (value & 0x7f) | 0x80);
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+
+        private void writeInt(int value) throws IOException {
+            out.write(value >>> 24);
+            out.write(value >>> 16);
+            out.write(value >>> 8);
+            out.write(value);
+        }
+
+        public synchronized void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            out.close();
+        }
+    }
+
+    /**
+     * Reads the records of a log one at a time, in the order they were appended.
+     */
+    public static class Reader implements Closeable {
+        private final DataInputStream in;
+
+        private Reader(InputStream in) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(in, 64 * 1024));
+            try {
+                if (this.in.readInt() != MAGIC) {
+                    throw new IOException("Not a traffic log");
+                }
+                long version = readVarLong();
+                if (version != VERSION) {
+                    throw new IOException("Unsupported traffic log version " + version);
+                }
+            } catch (IOException e) {
+                this.in.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Read the next record.
+         *
+         * @return the record, null at the end of the log
+         * @throws IOException when the log can not be read
+         */
+        public TrafficRecord next() throws IOException {
+            in.mark(1);
+            if (in.read() < 0) {
+                return null;
+            }
+            in.reset();
+            try {
+                long startMicros = readVarLong();
+                String method = METHODS.get(in.readUnsignedByte());
+                int user = in.readUnsignedByte();
+                return TrafficRecord.builder()
+                        .startMicros(startMicros)
+                        .method(method)
+                        .user(user == 0 ? null : ApiUser.values()[user - 1])
+                        .path(new String(readBytes(), StandardCharsets.UTF_8))
+                        .body(readBytes())
+                        .status((int) readVarLong())
+                        .latencyMicros(readVarLong())
+                        .createdId(readVarLong())
+                        .build();
+            } catch (EOFException e) {
+                return null;
+            }
+        }
+
+        private byte[] readBytes() throws IOException {
+            byte[] bytes = new byte[(int) readVarLong()];
+            in.readFully(bytes);
+            return bytes;
+        }
+
+        private long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; ; shift += 7) {
+                int b = in.readUnsignedByte();
+                value |= (long) (b & 0x7f) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrafficLogTest {
+
+    /**
+     * Test that calls are read back as they were appended, ordered by their start
+     */
+    @Test
+    void givenAppendedCalls_whenReadByStart_thenShouldReturnEveryCallOrderedByStart(@TempDir Path directory) throws IOException {
+        // given
+        Path file = directory.resolve("traffic.bin");
+        byte[] body = "{\"firstName\":\"Jane\"}".getBytes(StandardCharsets.UTF_8);
+        try (TrafficLog.Writer writer = TrafficLog.writer(file)) {
+            long now = System.nanoTime();
+            writer.append("POST", "/members", ApiUser.ADMIN, body, 201, now + 5_000_000, 3_000_000, 4242);
+            writer.append("GET", "/members/4242", null, null, 401, now + 9_000_000, 250_000, 0);
+            writer.append("HEAD", "/members", ApiUser.USER, null, 200, now, 1_000, 0);
+            writer.append("DELETE", "/members/4242", ApiUser.SUPER_ADMIN, null, 0, now + 1_000_000, 1_000_000_000, 0);
+        }
+
+        // when
+        List<TrafficRecord> records = TrafficLog.readByStart(file);
+
+        // then
+        assertEquals(3, records.size());
+        TrafficRecord delete = records.get(0);
+        assertEquals("DELETE", delete.getMethod());
+        assertEquals(ApiUser.SUPER_ADMIN, delete.getUser());
+        assertEquals(0, delete.getStatus());
+        assertEquals(1_000_000, delete.getLatencyMicros());
+        TrafficRecord post = records.get(1);
+        assertEquals("POST", post.getMethod());
+        assertEquals("/members", post.uriTemplate());
+        assertArrayEquals(body, post.getBody());
+        assertEquals(201, post.getStatus());
+        assertEquals(4242, post.getCreatedId());
+        TrafficRecord get = records.get(2);
+        assertNull(get.getUser());
+        assertEquals(4242, get.pathId());
+        assertEquals(0, get.getBody().length);
+        assertEquals(4000, get.getStartMicros() - post.getStartMicros(), 1);
+    }
+
+    /**
+     * Test that a record torn by a JVM that stopped while writing it is ignored
+     */
+    @Test
+    void givenTornLastRecord_whenRead_thenShouldIgnoreIt(@TempDir Path directory) throws IOException {
+        // given
+        Path file = directory.resolve("traffic.bin");
+        try (TrafficLog.Writer writer = TrafficLog.writer(file)) {
+            writer.append("GET", "/members", ApiUser.USER, null, 200, System.nanoTime(), 1_000_000, 0);
+            writer.append("GET", "/members/1", ApiUser.USER, null, 200, System.nanoTime(), 1_000_000, 0);
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+        // when
+        List<TrafficRecord> records = TrafficLog.readByStart(file);
+
+        // then
+        assertEquals(1, records.size());
+        assertEquals("/members", records.get(0).getPath());
+    }
+
+    /**
+     * Test that a file that is not a traffic log is refused
+     */
+    @Test
+    void givenOtherFile_whenRead_thenShouldThrow(@TempDir Path directory) throws IOException {
+        // given
+        Path file = directory.resolve("client-metrics.json");
+        Files.write(file, "[]\n".getBytes(StandardCharsets.UTF_8));
+
+        // when / then
+        assertThrows(IOException.class, () -> TrafficLog.readByStart(file));
+    }
+}
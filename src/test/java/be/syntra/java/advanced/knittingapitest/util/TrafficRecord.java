@@ -0,0 +1,49 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * A call to the members resource, as kept in a {@link TrafficLog}.
+ */
+@Value
+@Builder
+public class TrafficRecord {
+    /**
+     * Start of the call, in microseconds since the log was opened
+     */
+    long startMicros;
+    String method;
+    /**
+     * The authenticated user, null for none
+     */
+    ApiUser user;
+    String path;
+    /**
+     * The request body, empty for none
+     */
+    byte[] body;
+    /**
+     * Status code of the response, 0 when no response was received
+     */
+    int status;
+    long latencyMicros;
+    /**
+     * Id of the member the call created, from the {@code Location} of the response; 0 for none
+     */
+    long createdId;
+
+    /**
+     * @return the uri template of the path, {@code /members} or {@code /members/{id}}
+     */
+    public String uriTemplate() {
+        return ClientMetrics.uriTemplate(path);
+    }
+
+    /**
+     * @return the id in the path, 0 for the collection
+     */
+    public long pathId() {
+        return TrafficLog.lastSegmentId(path);
+    }
+}
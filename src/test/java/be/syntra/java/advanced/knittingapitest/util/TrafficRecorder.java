@@ -0,0 +1,96 @@
+package be.syntra.java.advanced.knittingapitest.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Records the calls the harness's clients make to the members resource in a {@link TrafficLog},
+ * when the {@code traffic.record} system property names the file to write it to,
+ * e.g. {@code mvn test -Dtraffic.record=target/traffic.bin}. The log is closed when the JVM exits.
+ *
+ * Calls are recorded where they are timed, see {@link CallTimer} and the asynchronous clients,
+ * with their request body; response bodies are not recorded, as a replay gets its own.
+ */
+public class TrafficRecorder {
+    public static final String FILE_PROPERTY = "traffic.record";
+
+    private static final TrafficLog.Writer WRITER = open(System.getProperty(FILE_PROPERTY));
+    private static final ObjectMapper OBJECT_MAPPER = ObjectMappers.create();
+
+    private TrafficRecorder() {
+    }
+
+    private static TrafficLog.Writer open(String file) {
+        if (file == null || file.isEmpty()) {
+            return null;
+        }
+        Path path = Paths.get(file);
+        try {
+            TrafficLog.Writer writer = TrafficLog.writer(path);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Unable to close the traffic log " + path, e);
+                }
+            }, "traffic-log-close"));
+            return writer;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to create the traffic log " + path, e);
+        }
+    }
+
+    /**
+     * @return whether calls are recorded in this JVM
+     */
+    public static boolean isRecording() {
+        return WRITER != null;
+    }
+
+    /**
+     * Record a call, when it is a call to the members resource and calls are recorded.
+     *
+     * @param method       the HTTP method
+     * @param path         the path of the request
+     * @param user         the authenticated user, null for none
+     * @param body         the request body as bytes, a string or an object to write as JSON; null for none
+     * @param status       the status code of the response, 0 when no response was received
+     * @param startNanos   the {@link System#nanoTime()} the call started at
+     * @param latencyNanos the latency of the call
+     * @param location     the {@code Location} of the response, null for none
+     * @throws UncheckedIOException when the log can not be written
+     */
+    public static void record(String method, String path, ApiUser user, Object body, int status,
+                              long startNanos, long latencyNanos, URI location) {
+        if (WRITER == null) {
+            return;
+        }
+        String uriTemplate = ClientMetrics.uriTemplate(path);
+        if (!uriTemplate.equals("/members") && !uriTemplate.equals("/members/{id}")) {
+            return;
+        }
+        long createdId = status == 201 && location != null ? TrafficLog.lastSegmentId(location.getPath()) : 0;
+        try {
+            WRITER.append(method, path, user, bytes(body), status, startNanos, latencyNanos, createdId);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to record " + method + " " + path, e);
+        }
+    }
+
+    private static byte[] bytes(Object body) throws JsonProcessingException {
+        if (body == null || body instanceof byte[]) {
+            return (byte[]) body;
+        }
+        if (body instanceof String) {
+            return ((String) body).getBytes(StandardCharsets.UTF_8);
+        }
+        return OBJECT_MAPPER.writeValueAsBytes(body);
+    }
+}